@@ -1,11 +1,13 @@
 package sample.cafekiosk.spring.api;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class ApiControllerAdvice {
@@ -19,4 +21,27 @@ public class ApiControllerAdvice {
                 null
         );
     }
+
+    /**
+     * 재고 차감이 다른 주문과 충돌했다. (optimistic 차감 방식에서 재시도를 다 쓴 경우) 같은 주문을 다시 보내면 된다.
+     */
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ApiResponse<Object> optimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return ApiResponse.of(
+                HttpStatus.CONFLICT,
+                e.getMessage(),
+                null
+        );
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ApiResponse<Object> rejectedExecutionException(RejectedExecutionException e) {
+        return ApiResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                e.getMessage(),
+                null
+        );
+    }
 }
@@ -2,24 +2,124 @@ package sample.cafekiosk.spring.api.controller.order;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.IdempotentOrderService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderSubmissionService;
+import sample.cafekiosk.spring.api.service.order.OrderWriter;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderSubmissionResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderWriteStatisticsResponse;
 import sample.cafekiosk.spring.api.service.response.OrderResponse;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderWriter orderWriter;
+    private final IdempotentOrderService idempotentOrderService;
+    private final OrderSubmissionService orderSubmissionService;
 
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 요청해도 주문을 한 번만 만들고 처음 결과를 돌려준다.
+     * 이때 본문에 주문 시각이 있으면 그 시각으로 등록한다. (오프라인 동안 쌓인 주문이 주문한 날의 매출로 잡히게)
+     */
     @PostMapping("/api/v1/orders/new")
-    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request) {
-        return ApiResponse.ok(orderService.createOrder(request.toServiceRequest(), LocalDateTime.now()));
+    public ApiResponse<OrderResponse> createOrder(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                  @Valid @RequestBody OrderCreateRequest request) {
+        if (idempotencyKey == null) {
+            return ApiResponse.ok(orderWriter.createOrder(request.toServiceRequest(), LocalDateTime.now()));
+        }
+        LocalDateTime registeredDateTime = request.getRegisteredDateTime() != null ? request.getRegisteredDateTime() : LocalDateTime.now();
+        return ApiResponse.ok(idempotentOrderService.createOrder(idempotencyKey, request.toServiceRequest(), registeredDateTime));
+    }
+
+    /**
+     * 단건 주문 저장 경로(cafekiosk.order.write-mode)의 묶음 크기 / 커밋 시간 분포
+     */
+    @GetMapping("/api/v1/orders/write-statistics")
+    public ApiResponse<OrderWriteStatisticsResponse> getWriteStatistics() {
+        return ApiResponse.ok(orderWriter.getStatistics());
+    }
+
+    @PostMapping("/api/v1/orders/batch")
+    public ApiResponse<OrderBatchResponse> createOrders(@Valid @RequestBody OrderBatchCreateRequest request) {
+        return ApiResponse.ok(orderService.createOrders(request.toServiceRequest(), LocalDateTime.now()));
+    }
+
+    /**
+     * 주문을 대기열에 넣고 바로 202 와 접수 토큰을 돌려준다. 결과는 토큰으로 조회하거나 SSE 로 받는다.
+     */
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping("/api/v1/orders/async")
+    public ApiResponse<OrderSubmissionResponse> submitOrder(@Valid @RequestBody OrderCreateRequest request) {
+        return ApiResponse.of(HttpStatus.ACCEPTED, orderSubmissionService.submit(request.toServiceRequest()));
+    }
+
+    /**
+     * waitMs 를 주면 처리가 끝날 때까지 그만큼 기다렸다가 응답한다. (long polling)
+     */
+    @GetMapping("/api/v1/orders/async/{token}")
+    public ApiResponse<OrderSubmissionResponse> getSubmission(@PathVariable("token") String token,
+                                                              @RequestParam(value = "waitMs", defaultValue = "0") long waitMillis) {
+        return ApiResponse.ok(orderSubmissionService.awaitSubmission(token, waitMillis));
+    }
+
+    @GetMapping(value = "/api/v1/orders/async/{token}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSubmission(@PathVariable("token") String token) {
+        SseEmitter emitter = new SseEmitter(orderSubmissionService.getStreamTimeoutMillis());
+        orderSubmissionService.subscribe(token, response -> send(emitter, response));
+        return emitter;
+    }
+
+    @PostMapping("/api/v1/orders/{orderId}/payment")
+    public ApiResponse<OrderResponse> completePayment(@PathVariable("orderId") Long orderId) {
+        return ApiResponse.ok(orderService.completePayment(orderId));
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public ApiResponse<OrderResponse> getOrder(@PathVariable("orderId") Long orderId) {
+        return ApiResponse.ok(orderService.getOrder(orderId));
+    }
+
+    @GetMapping("/api/v1/orders")
+    public ApiResponse<List<OrderResponse>> getOrders(@RequestParam("orderIds") List<Long> orderIds) {
+        return ApiResponse.ok(orderService.getOrders(orderIds));
+    }
+
+    private void send(SseEmitter emitter, OrderSubmissionResponse response) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(response.getStatus().name())
+                    .data(ApiResponse.ok(response)));
+            if (response.getStatus().isTerminal()) {
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            // 클라이언트가 먼저 끊었다 -> 결과는 조회 API 로 다시 받을 수 있다.
+            emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            // 시간이 초과되어 이미 닫힌 스트림
+        }
     }
 }
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderBatchCreateServiceRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@NoArgsConstructor
+public class OrderBatchCreateRequest {
+
+    @NotEmpty(message = "주문 리스트는 필수입니다.")
+    private List<@Valid OrderCreateRequest> orders;
+
+    @Builder
+    private OrderBatchCreateRequest(List<OrderCreateRequest> orders) {
+        this.orders = orders;
+    }
+
+    public OrderBatchCreateServiceRequest toServiceRequest() {
+        return OrderBatchCreateServiceRequest.builder()
+                .orders(orders.stream()
+                        .map(OrderCreateRequest::toServiceRequest)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
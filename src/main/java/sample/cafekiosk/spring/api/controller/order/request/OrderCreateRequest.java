@@ -1,10 +1,12 @@
 package sample.cafekiosk.spring.api.controller.order.request;
 
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PastOrPresent;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -14,9 +16,16 @@ public class OrderCreateRequest {
     @NotEmpty(message = "상품 번호 리스트는 필수입니다.")
     private List<String> productNumbers;
 
+    /**
+     * 키오스크에서 주문한 시각. 저널 재전송처럼 나중에 보내는 주문만 채운다. (Idempotency-Key 가 있을 때만 쓴다)
+     */
+    @PastOrPresent(message = "주문 시각은 현재 시각 이후일 수 없습니다.")
+    private LocalDateTime registeredDateTime;
+
     @Builder
-    private OrderCreateRequest(List<String> productNumbers) {
+    private OrderCreateRequest(List<String> productNumbers, LocalDateTime registeredDateTime) {
         this.productNumbers = productNumbers;
+        this.registeredDateTime = registeredDateTime;
     }
 
 
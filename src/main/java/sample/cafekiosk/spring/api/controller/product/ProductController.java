@@ -1,31 +1,69 @@
 package sample.cafekiosk.spring.api.controller.product;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.ProductImportService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductCatalogCacheStatisticsResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SecondLevelCacheRegionResponse;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @PostMapping("/api/v1/products/new")
     public ApiResponse<ProductResponse> createProduct(@Valid @RequestBody ProductCreateRequest request) {
         return ApiResponse.ok(productService.createProduct(request.toServiceRequest()));
     }
 
-    @GetMapping("/api/v1/products/selling")
-    public ApiResponse<List<ProductResponse>> getSellingProducts(){
-        return ApiResponse.ok(productService.getSellingProducts());
+    /**
+     * 요청 본문을 한 줄씩 읽으면서 등록한다. (본문 전체를 메모리에 올리지 않는다)
+     */
+    @PostMapping(value = "/api/v1/products/import", consumes = "application/x-ndjson")
+    public ApiResponse<ProductImportResponse> importProductsFromNdjson(HttpServletRequest request) throws IOException {
+        return ApiResponse.ok(productImportService.importProducts(request.getReader(), ProductImportFormat.NDJSON));
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/api/v1/products/import", consumes = "text/csv")
+    public ApiResponse<ProductImportResponse> importProductsFromCsv(HttpServletRequest request) throws IOException {
+        return ApiResponse.ok(productImportService.importProducts(request.getReader(), ProductImportFormat.CSV));
+    }
+
+    /**
+     * 캐시에 미리 직렬화해 둔 ApiResponse 본문을 그대로 내려준다.
+     */
+    @GetMapping(value = "/api/v1/products/selling", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getSellingProducts(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(productService.getSellingProductsBody());
+    }
+
+    @GetMapping("/api/v1/products/selling/cache-statistics")
+    public ApiResponse<ProductCatalogCacheStatisticsResponse> getCatalogCacheStatistics() {
+        return ApiResponse.ok(productService.getCatalogCacheStatistics());
+    }
+
+    @GetMapping("/api/v1/products/second-level-cache/statistics")
+    public ApiResponse<List<SecondLevelCacheRegionResponse>> getSecondLevelCacheStatistics() {
+        return ApiResponse.ok(productService.getSecondLevelCacheStatistics());
+    }
+}
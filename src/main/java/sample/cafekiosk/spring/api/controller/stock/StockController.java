@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.api.controller.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.stock.StockContentionMonitor;
+import sample.cafekiosk.spring.api.service.stock.response.StockContentionResponse;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+public class StockController {
+
+    private final StockContentionMonitor stockContentionMonitor;
+
+    /**
+     * 상품별 재고 차감 경합 지표. shardRecommended 가 true 인 상품이 분할 후보다.
+     */
+    @GetMapping("/api/v1/stocks/contention")
+    public ApiResponse<List<StockContentionResponse>> getContention() {
+        return ApiResponse.ok(stockContentionMonitor.getStatistics());
+    }
+}
@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.api.controller.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.stock.StockShardService;
+import sample.cafekiosk.spring.api.service.stock.response.StockShardResponse;
+
+import java.util.List;
+
+/**
+ * 재고 분할 API. cafekiosk.stock.deduction-mode=sharded 일 때만 열린다.
+ */
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "sharded")
+@RequiredArgsConstructor
+@RestController
+public class StockShardController {
+
+    private final StockShardService stockShardService;
+
+    /**
+     * 재고를 shardCount 개로 분할한다.
+     */
+    @PostMapping("/api/v1/stocks/{productNumber}/shards")
+    public ApiResponse<List<StockShardResponse>> shard(@PathVariable("productNumber") String productNumber,
+                                                       @RequestParam("shardCount") int shardCount) {
+        return ApiResponse.ok(stockShardService.shard(productNumber, shardCount));
+    }
+}
@@ -0,0 +1,124 @@
+package sample.cafekiosk.spring.api.service.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Idempotency-Key 별 처리 결과를 들고 있는 인메모리 저장소
+ *
+ * 결과는 CompletableFuture 로 들고 있어서, 처리 중인 키로 들어온 요청은 같은 결과를 기다린다.
+ * 크기는 maxSize 로 제한하고 ttl 이 지난 항목은 버린다.
+ * TTL 이 모두 같으므로 등록 순서가 곧 만료 순서다. 앞에서부터 만료된 항목만 지우면 된다.
+ */
+public class IdempotencyStore<T> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, Entry<T>> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public IdempotencyStore(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 키가 없으면 새 항목을 등록해서 반환하고, 이미 있으면 기존 항목을 반환한다.
+     * 반환된 항목의 result 가 넘겨준 result 와 같으면 호출한 쪽이 처리를 맡은 것이다.
+     */
+    public Entry<T> putIfAbsent(String key, String requestHash, CompletableFuture<T> result, long nowMillis) {
+        lock.lock();
+        try {
+            evictExpired(nowMillis);
+
+            Entry<T> existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            Entry<T> entry = new Entry<>(requestHash, result, nowMillis);
+            entries.put(key, entry);
+            evictOverflow();
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 처리에 실패한 항목을 지운다. (실패한 결과는 재사용하지 않고, 다음 요청이 다시 처리한다)
+     */
+    public void remove(String key, Entry<T> entry) {
+        lock.lock();
+        try {
+            entries.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictExpired(long nowMillis) {
+        Iterator<Entry<T>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().isExpired(nowMillis, ttlMillis)) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry<T>>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public static class Entry<T> {
+
+        private final String requestHash;
+        private final CompletableFuture<T> result;
+        private final long createdAtMillis;
+
+        private Entry(String requestHash, CompletableFuture<T> result, long createdAtMillis) {
+            this.requestHash = requestHash;
+            this.result = result;
+            this.createdAtMillis = createdAtMillis;
+        }
+
+        public String getRequestHash() {
+            return requestHash;
+        }
+
+        public CompletableFuture<T> getResult() {
+            return result;
+        }
+
+        private boolean isExpired(long nowMillis, long ttlMillis) {
+            return nowMillis - createdAtMillis >= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.config.ExecutionMode;
+import sample.cafekiosk.spring.domain.history.mail.MailHistory;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 메일 outbox 디스패처
+ *
+ * 1. 전송할 메일을 batch-size 만큼 잠그고 SENDING 으로 바꾼 뒤 바로 커밋한다. (전송하는 동안 DB 잠금을 잡고 있지 않는다)
+ * 2. 트랜잭션 밖에서 concurrency 개의 스레드로 동시에 전송한다. (cafekiosk.execution.mode=virtual 이면 가상 스레드)
+ * 3. 결과를 한 트랜잭션에서 반영한다. 성공한 메일의 MailHistory 는 saveAll 로 한 번에 저장하고,
+ *    실패한 메일은 backoff-ms * 2^(시도횟수-1) 뒤에 다시 보내고, max-attempts 를 넘기면 FAILED 로 남긴다.
+ *
+ * 전송 후 결과 반영 전에 죽으면 점유가 만료된 뒤 다시 전송된다. (at-least-once)
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+    private static final Duration SENDING_LEASE = Duration.ofMinutes(5);
+    private static final List<MailOutboxStatus> DISPATCHABLE_STATUSES = List.of(MailOutboxStatus.PENDING, MailOutboxStatus.SENDING);
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSendHistoryRepository mailSendHistoryRepository;
+    private final MailSendClient mailSendClient;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    private final ExecutorService sendExecutor;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+                                MailSendHistoryRepository mailSendHistoryRepository,
+                                MailSendClient mailSendClient,
+                                PlatformTransactionManager transactionManager,
+                                ExecutionMode executionMode,
+                                @Value("${cafekiosk.mail.outbox.batch-size:50}") int batchSize,
+                                @Value("${cafekiosk.mail.outbox.concurrency:4}") int concurrency,
+                                @Value("${cafekiosk.mail.outbox.max-attempts:5}") int maxAttempts,
+                                @Value("${cafekiosk.mail.outbox.backoff-ms:1000}") long backoffMillis) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSendHistoryRepository = mailSendHistoryRepository;
+        this.mailSendClient = mailSendClient;
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.sendExecutor = Executors.newFixedThreadPool(concurrency, executionMode.threadFactory("mail-send-"));
+    }
+
+    public int dispatchPending() {
+        return dispatchPending(LocalDateTime.now());
+    }
+
+    /**
+     * now 시점에 보낼 수 있는 메일을 한 묶음(batch-size) 전송한다.
+     *
+     * @return 이번에 전송을 시도한 메일 수
+     */
+    public int dispatchPending(LocalDateTime now) {
+        dispatchLock.lock();
+        try {
+            List<MailOutbox> claimed = claim(now);
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+
+            List<SendResult> results = send(claimed);
+            complete(results, now);
+            return claimed.size();
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * 보낼 메일이 없거나 한 묶음보다 적게 남을 때까지 전송한다.
+     */
+    public void dispatchAll() {
+        int dispatchedCount;
+        do {
+            dispatchedCount = dispatchPending();
+        } while (dispatchedCount == batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    private List<MailOutbox> claim(LocalDateTime now) {
+        return requiresNewTransactionTemplate.execute(status -> {
+            List<MailOutbox> outboxes = mailOutboxRepository.findDispatchable(DISPATCHABLE_STATUSES, now, PageRequest.of(0, batchSize));
+            outboxes.forEach(outbox -> outbox.startSending(now.plus(SENDING_LEASE)));
+            return outboxes;
+        });
+    }
+
+    private List<SendResult> send(List<MailOutbox> outboxes) {
+        List<CompletableFuture<SendResult>> futures = outboxes.stream()
+                .map(outbox -> CompletableFuture.supplyAsync(() -> send(outbox), sendExecutor))
+                .collect(Collectors.toList());
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private SendResult send(MailOutbox outbox) {
+        try {
+            boolean sent = mailSendClient.sendMail(outbox.getFromEmail(), outbox.getEmail(), outbox.getSubject(), outbox.getContent());
+            return sent ? SendResult.success(outbox) : SendResult.failure(outbox, "메일 전송 결과가 실패입니다.");
+        } catch (RuntimeException e) {
+            log.warn("메일 전송 실패 outboxId={}", outbox.getId(), e);
+            return SendResult.failure(outbox, e.getMessage());
+        }
+    }
+
+    private void complete(List<SendResult> results, LocalDateTime now) {
+        requiresNewTransactionTemplate.executeWithoutResult(status -> {
+            Map<Long, MailOutbox> outboxes = mailOutboxRepository.findAllById(results.stream().map(SendResult::getOutboxId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(MailOutbox::getId, Function.identity()));
+
+            List<MailHistory> histories = new ArrayList<>();
+            for (SendResult result : results) {
+                MailOutbox outbox = outboxes.get(result.getOutboxId());
+                if (result.isSuccess()) {
+                    outbox.markSent();
+                    histories.add(outbox.toHistory());
+                } else if (outbox.getAttemptCount() >= maxAttempts) {
+                    outbox.markFailed(result.getError());
+                } else {
+                    outbox.retryAt(now.plus(backoff(outbox.getAttemptCount())), result.getError());
+                }
+            }
+            mailSendHistoryRepository.saveAll(histories);
+        });
+    }
+
+    private Duration backoff(int attemptCount) {
+        return Duration.ofMillis(backoffMillis << Math.min(attemptCount - 1, 20));
+    }
+
+    private static class SendResult {
+
+        private final Long outboxId;
+        private final boolean success;
+        private final String error;
+
+        private SendResult(Long outboxId, boolean success, String error) {
+            this.outboxId = outboxId;
+            this.success = success;
+            this.error = error;
+        }
+
+        private static SendResult success(MailOutbox outbox) {
+            return new SendResult(outbox.getId(), true, null);
+        }
+
+        private static SendResult failure(MailOutbox outbox, String error) {
+            return new SendResult(outbox.getId(), false, error);
+        }
+
+        private Long getOutboxId() {
+            return outboxId;
+        }
+
+        private boolean isSuccess() {
+            return success;
+        }
+
+        private String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.domain.mail.MailEnqueuedEvent;
+
+/**
+ * outbox 를 주기적으로 비운다. 메일이 쌓인 트랜잭션이 커밋되면 @Async 로 바로 한 번 더 비운다.
+ * 테스트처럼 직접 dispatchPending() 을 호출해야 할 때는 cafekiosk.mail.outbox.scheduling.enabled=false 로 끈다.
+ */
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cafekiosk.mail.outbox.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+@Component
+public class MailOutboxScheduler {
+
+    private final MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Scheduled(fixedDelayString = "${cafekiosk.mail.outbox.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        mailOutboxDispatcher.dispatchAll();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onMailEnqueued(MailEnqueuedEvent event) {
+        mailOutboxDispatcher.dispatchAll();
+    }
+}
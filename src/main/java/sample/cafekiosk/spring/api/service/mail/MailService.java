@@ -1,30 +1,29 @@
 package sample.cafekiosk.spring.api.service.mail;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import sample.cafekiosk.spring.client.mail.MailSendClient;
-import sample.cafekiosk.spring.domain.history.mail.MailHistory;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.mail.MailEnqueuedEvent;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
 
+import java.time.LocalDateTime;
+
+/**
+ * 메일은 바로 보내지 않고 호출한 쪽 트랜잭션에서 outbox 에 쌓는다.
+ * 실제 전송과 MailHistory 기록은 MailOutboxDispatcher 가 한다.
+ */
 @RequiredArgsConstructor
 @Service
 public class MailService {
 
-    private final MailSendClient mailSendClient;
-    private final MailSendHistoryRepository mailSendHistoryRepository;
-    public boolean sendMail(String fromEmail, String email, String subject, String content) {
-
-        boolean result = mailSendClient.sendMail(fromEmail, email, subject, content);
+    private final MailOutboxRepository mailOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-        if(result){
-            mailSendHistoryRepository.save(MailHistory.builder()
-                    .fromEmail(fromEmail)
-                    .email(email)
-                    .subject(subject)
-                    .content(content)
-                    .build());
-            return true;
-        }
-        return false;
+    @Transactional
+    public void sendMail(String fromEmail, String email, String subject, String content) {
+        mailOutboxRepository.save(MailOutbox.create(fromEmail, email, subject, content, LocalDateTime.now()));
+        eventPublisher.publishEvent(new MailEnqueuedEvent());
     }
 }
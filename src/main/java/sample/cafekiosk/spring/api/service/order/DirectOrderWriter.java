@@ -0,0 +1,60 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderWriteStatisticsResponse;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 요청마다 트랜잭션을 하나씩 연다. group-commit 과 비교할 수 있게 같은 지표를 남긴다. (묶음 크기는 항상 1)
+ * 재고 차감이 충돌하면 차감 방식에 따라 트랜잭션이 끝난 뒤 주문을 다시 실행한다. (StockDeductor.retryOnConflict)
+ */
+@ConditionalOnProperty(name = "cafekiosk.order.write-mode", havingValue = "direct", matchIfMissing = true)
+@Component
+public class DirectOrderWriter implements OrderWriter {
+
+    private final OrderService orderService;
+    private final StockDeductor stockDeductor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Histogram batchSizeHistogram = new Histogram();
+    private final Histogram commitLatencyHistogram = new Histogram();
+
+    public DirectOrderWriter(OrderService orderService, StockDeductor stockDeductor, PlatformTransactionManager transactionManager) {
+        this.orderService = orderService;
+        this.stockDeductor = stockDeductor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime, Consumer<OrderResponse> afterSave) {
+        long startNanos = System.nanoTime();
+        try {
+            return stockDeductor.retryOnConflict(() -> transactionTemplate.execute(status -> {
+                OrderResponse response = orderService.createOrder(request, registeredDateTime);
+                afterSave.accept(response);
+                return response;
+            }));
+        } finally {
+            batchSizeHistogram.record(1);
+            commitLatencyHistogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+    }
+
+    @Override
+    public OrderWriteStatisticsResponse getStatistics() {
+        return OrderWriteStatisticsResponse.builder()
+                .writeMode("direct")
+                .batchSize(batchSizeHistogram.toResponse())
+                .commitLatencyMicros(commitLatencyHistogram.toResponse())
+                .build();
+    }
+}
@@ -0,0 +1,357 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderWriteStatisticsResponse;
+import sample.cafekiosk.spring.api.service.pricing.PricingEngine;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.config.ExecutionMode;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.pricing.PricingTable;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 단일 writer group commit
+ *
+ * 요청 스레드는 주문을 buffer-size 크기의 링 버퍼(ArrayBlockingQueue)에 넣고 결과를 기다린다.
+ * writer 스레드 하나가 버퍼에 쌓인 주문을 max-batch-size 개까지 꺼내 한 트랜잭션에서 처리한다.
+ * 1. 묶음 전체의 상품을 한 번에 읽고, 재고는 상품번호 순으로 한 번에 잠가서 Map 으로 들고 있는다.
+ * 2. 들어온 순서대로 주문마다 재고를 확인하고 메모리에서 차감한다. 부족하거나 없는 상품이 있으면 그 주문만 실패시킨다.
+ * 3. 주문을 saveAll 로 저장하고, 주문마다 afterSave 를 실행한 뒤 커밋한다. (재고 UPDATE 는 상품마다 한 번)
+ * 4. 커밋이 끝나면 각 요청 스레드에 결과를 넘긴다.
+ *
+ * 한 주문 때문에 묶음 트랜잭션이 실패하면(afterSave 의 unique 제약 위반 등) 묶음의 주문을 하나씩 따로 커밋해서 그 주문만 실패시킨다.
+ *
+ * 재고를 Stock 행에서 직접 차감하므로 재고가 메모리(ledger)나 분할 재고(sharded)에 있는 차감 방식과는 같이 쓸 수 없다.
+ * 묶음 크기와 커밋 시간 분포는 getStatistics() 로 보고 max-batch-size 를 조정한다. (클수록 처리량↑, 꼬리 지연↑)
+ */
+@Slf4j
+@ConditionalOnProperty(name = "cafekiosk.order.write-mode", havingValue = "group-commit")
+@Component
+public class GroupCommitOrderWriter implements OrderWriter {
+
+    private static final Set<String> UNSUPPORTED_DEDUCTION_MODES = Set.of("ledger", "sharded");
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final ProductRepository productRepository;
+    private final StockRepository stockRepository;
+    private final OrderRepository orderRepository;
+    private final PricingEngine pricingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<OrderCommand> ringBuffer;
+    private final int maxBatchSize;
+    private final long publishTimeoutMillis;
+    private final long resultTimeoutMillis;
+
+    private final Thread writerThread;
+    private final Histogram batchSizeHistogram = new Histogram();
+    private final Histogram commitLatencyHistogram = new Histogram();
+    private volatile boolean running;
+
+    public GroupCommitOrderWriter(ProductRepository productRepository,
+                                  StockRepository stockRepository,
+                                  OrderRepository orderRepository,
+                                  PricingEngine pricingEngine,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${cafekiosk.stock.deduction-mode:dirty-checking}") String deductionMode,
+                                  @Value("${cafekiosk.order.group-commit.buffer-size:4096}") int bufferSize,
+                                  @Value("${cafekiosk.order.group-commit.max-batch-size:256}") int maxBatchSize,
+                                  @Value("${cafekiosk.order.group-commit.publish-timeout-ms:1000}") long publishTimeoutMillis,
+                                  @Value("${cafekiosk.order.group-commit.result-timeout-ms:10000}") long resultTimeoutMillis) {
+        if (UNSUPPORTED_DEDUCTION_MODES.contains(deductionMode)) {
+            throw new IllegalStateException("group-commit 주문 처리는 재고 차감 방식 " + deductionMode + " 와 같이 쓸 수 없습니다.");
+        }
+        this.productRepository = productRepository;
+        this.stockRepository = stockRepository;
+        this.orderRepository = orderRepository;
+        this.pricingEngine = pricingEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ringBuffer = new ArrayBlockingQueue<>(bufferSize);
+        this.maxBatchSize = maxBatchSize;
+        this.publishTimeoutMillis = publishTimeoutMillis;
+        this.resultTimeoutMillis = resultTimeoutMillis;
+        // writer 는 계속 도는 스레드 하나이므로 실행 모드와 상관없이 플랫폼 스레드로 둔다.
+        this.writerThread = ExecutionMode.PLATFORM.threadFactory("order-group-commit-writer-").newThread(this::runWriter);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread.start();
+    }
+
+    /**
+     * 받기 중단 -> 버퍼에 남은 주문 처리 -> writer 종료
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writerThread.isAlive()) {
+            writerThread.join();
+        }
+    }
+
+    @Override
+    public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime, Consumer<OrderResponse> afterSave) {
+        OrderCommand command = new OrderCommand(request.getProductNumbers(), registeredDateTime, afterSave);
+        publish(command);
+        return await(command);
+    }
+
+    @Override
+    public OrderWriteStatisticsResponse getStatistics() {
+        return OrderWriteStatisticsResponse.builder()
+                .writeMode("group-commit")
+                .batchSize(batchSizeHistogram.toResponse())
+                .commitLatencyMicros(commitLatencyHistogram.toResponse())
+                .build();
+    }
+
+    private void publish(OrderCommand command) {
+        try {
+            if (running && ringBuffer.offer(command, publishTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new RejectedExecutionException("주문 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private OrderResponse await(OrderCommand command) {
+        try {
+            return command.result.get(resultTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // 이미 버퍼에 들어간 주문은 나중에라도 처리될 수 있다.
+            throw new IllegalStateException("주문 처리 결과를 기다리는 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 처리 결과를 기다리다 중단되었습니다.");
+        }
+    }
+
+    private void runWriter() {
+        while (running || !ringBuffer.isEmpty()) {
+            List<OrderCommand> batch = nextBatch();
+            if (!batch.isEmpty()) {
+                commit(batch);
+            }
+        }
+    }
+
+    private List<OrderCommand> nextBatch() {
+        List<OrderCommand> batch = new ArrayList<>(maxBatchSize);
+        try {
+            OrderCommand first = ringBuffer.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return batch;
+            }
+            batch.add(first);
+        } catch (InterruptedException e) {
+            // writer 가 중단되면 더 받지 않고 남은 주문만 처리한다.
+            running = false;
+            return batch;
+        }
+
+        ringBuffer.drainTo(batch, maxBatchSize - 1);
+        return batch;
+    }
+
+    private void commit(List<OrderCommand> batch) {
+        try {
+            commitInTransaction(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("주문 저장 실패", e);
+                batch.get(0).fail(e);
+                return;
+            }
+            // 롤백된 묶음에 다른 주문까지 묶여 실패하지 않도록 주문마다 따로 커밋한다.
+            log.warn("주문 묶음 저장 실패, 주문마다 다시 저장합니다. batchSize={}", batch.size(), e);
+            batch.forEach(this::commitAlone);
+            return;
+        }
+
+        batch.forEach(OrderCommand::complete);
+    }
+
+    private void commitAlone(OrderCommand command) {
+        command.reset();
+        try {
+            commitInTransaction(List.of(command));
+        } catch (RuntimeException e) {
+            log.warn("주문 저장 실패", e);
+            command.fail(e);
+            return;
+        }
+
+        command.complete();
+    }
+
+    private void commitInTransaction(List<OrderCommand> batch) {
+        batchSizeHistogram.record(batch.size());
+        long startNanos = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+        } finally {
+            commitLatencyHistogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+    }
+
+    private void write(List<OrderCommand> batch) {
+        Map<String, Product> productMap = productRepository.findAllByNaturalIds(distinctProductNumbers(batch)).stream()
+                .collect(Collectors.toMap(Product::getProductNumber, Function.identity()));
+        Map<String, Stock> stockMap = findStocksForUpdate(productMap.values());
+
+        PricingTable pricingTable = pricingEngine.getTable();
+        List<Order> orders = new ArrayList<>(batch.size());
+        List<OrderCommand> accepted = new ArrayList<>(batch.size());
+        for (OrderCommand command : batch) {
+            List<Product> products = command.productNumbers.stream()
+                    .map(productMap::get)
+                    .collect(Collectors.toList());
+            if (products.contains(null)) {
+                command.reject("존재하지 않는 상품이 있습니다.");
+                continue;
+            }
+
+            Map<String, Integer> quantities = countStockQuantities(products);
+            if (!hasEnoughStock(stockMap, quantities)) {
+                command.reject(StockDeductor.NOT_ENOUGH_STOCK_MESSAGE);
+                continue;
+            }
+            quantities.forEach((productNumber, quantity) -> stockMap.get(productNumber).deductQuantity(quantity));
+
+            Order order = Order.create(products, command.registeredDateTime, pricingTable);
+            orders.add(order);
+            accepted.add(command);
+        }
+        orderRepository.saveAll(orders);
+
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).accept(orders.get(i));
+        }
+    }
+
+    private List<String> distinctProductNumbers(List<OrderCommand> batch) {
+        return batch.stream()
+                .flatMap(command -> command.productNumbers.stream())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Stock> findStocksForUpdate(Iterable<Product> products) {
+        List<String> stockProductNumbers = new ArrayList<>();
+        for (Product product : products) {
+            if (ProductType.containsStockType(product.getType())) {
+                stockProductNumbers.add(product.getProductNumber());
+            }
+        }
+        if (stockProductNumbers.isEmpty()) {
+            return Map.of();
+        }
+
+        return stockRepository.findAllForUpdateByProductNumberIn(stockProductNumbers).stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, Function.identity()));
+    }
+
+    private Map<String, Integer> countStockQuantities(List<Product> products) {
+        return products.stream()
+                .filter(product -> ProductType.containsStockType(product.getType()))
+                .collect(Collectors.groupingBy(Product::getProductNumber, Collectors.summingInt(product -> 1)));
+    }
+
+    private boolean hasEnoughStock(Map<String, Stock> stockMap, Map<String, Integer> quantities) {
+        return quantities.entrySet().stream()
+                .allMatch(entry -> {
+                    Stock stock = stockMap.get(entry.getKey());
+                    return stock != null && !stock.isQuantityLessThan(entry.getValue());
+                });
+    }
+
+    /**
+     * 링 버퍼에 들어가는 주문 한 건. 처리 결과는 커밋이 끝난 뒤에 요청 스레드로 넘긴다.
+     */
+    private static class OrderCommand {
+
+        private final List<String> productNumbers;
+        private final LocalDateTime registeredDateTime;
+        private final Consumer<OrderResponse> afterSave;
+        private final CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+
+        private OrderResponse response;
+        private String rejectedMessage;
+
+        private OrderCommand(List<String> productNumbers, LocalDateTime registeredDateTime, Consumer<OrderResponse> afterSave) {
+            this.productNumbers = productNumbers;
+            this.registeredDateTime = registeredDateTime;
+            this.afterSave = afterSave;
+        }
+
+        /**
+         * 저장된 주문으로 결과를 만들고 afterSave 를 실행한다. (묶음 트랜잭션 안)
+         */
+        private void accept(Order order) {
+            this.response = OrderResponse.of(order);
+            afterSave.accept(response);
+        }
+
+        private void reject(String message) {
+            this.rejectedMessage = message;
+        }
+
+        /**
+         * 롤백된 묶음에서 정한 결과를 버린다.
+         */
+        private void reset() {
+            this.response = null;
+            this.rejectedMessage = null;
+        }
+
+        private void complete() {
+            if (response != null) {
+                result.complete(response);
+            } else {
+                result.completeExceptionally(new IllegalArgumentException(rejectedMessage));
+            }
+        }
+
+        private void fail(RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
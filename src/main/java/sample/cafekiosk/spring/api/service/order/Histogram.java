@@ -0,0 +1,99 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import sample.cafekiosk.spring.api.service.order.response.HistogramResponse;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그-선형 버킷 히스토그램
+ *
+ * 0 ~ 7 은 값마다 한 칸, 그 위로는 2의 거듭제곱 구간마다 8칸으로 나눠서 센다. (백분위 오차 12.5% 이내)
+ * 기록은 lock-free 이고, 조회는 기록 중인 값과 조금 어긋날 수 있다.
+ */
+class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(indexOf(recorded));
+        totalCount.increment();
+        sum.add(recorded);
+        max.accumulate(recorded);
+    }
+
+    long getCount() {
+        return totalCount.sum();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * percentile(0 ~ 100) 위치의 값이 들어 있는 칸의 상한을 돌려준다. (최댓값을 넘지 않는다)
+     */
+    long percentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    HistogramResponse toResponse() {
+        long count = getCount();
+
+        return HistogramResponse.builder()
+                .count(count)
+                .mean(count == 0 ? 0 : (double) sum.sum() / count)
+                .p50(percentile(50))
+                .p90(percentile(90))
+                .p99(percentile(99))
+                .max(getMax())
+                .build();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        long upperBound = lowerBound + (1L << shift) - 1;
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
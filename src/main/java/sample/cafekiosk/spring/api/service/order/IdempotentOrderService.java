@@ -0,0 +1,174 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.idempotency.IdempotencyStore;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+import sample.cafekiosk.spring.domain.idempotency.IdempotencyRecord;
+import sample.cafekiosk.spring.domain.idempotency.IdempotencyRecordRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Idempotency-Key 가 붙은 주문 생성
+ *
+ * 1. 인메모리 저장소에 키가 있으면 그 결과를 그대로 돌려준다. 처리 중이면 끝날 때까지 기다린다.
+ * 2. 없으면 idempotency_record 를 본다. (재시작했거나 다른 인스턴스가 처리한 경우) 주문 id 로 주문만 다시 읽는다.
+ * 3. 둘 다 없으면 OrderWriter 로 주문을 만들고, 주문을 저장한 트랜잭션 안에서 기록도 저장한다.
+ *    다른 인스턴스가 같은 키를 먼저 커밋했으면 unique 제약에 걸려 이번 주문은 롤백되고, 먼저 커밋된 결과를 돌려준다.
+ *
+ * 실패한 요청은 결과를 남기지 않는다. 같은 키로 다시 요청하면 다시 처리한다.
+ */
+@Service
+public class IdempotentOrderService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderWriter orderWriter;
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyStore<OrderResponse> idempotencyStore;
+    private final long waitTimeoutMillis;
+    private final long retentionMillis;
+
+    public IdempotentOrderService(OrderWriter orderWriter,
+                                  OrderService orderService,
+                                  IdempotencyRecordRepository idempotencyRecordRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${cafekiosk.order.idempotency.max-size:10000}") int maxSize,
+                                  @Value("${cafekiosk.order.idempotency.ttl-ms:600000}") long ttlMillis,
+                                  @Value("${cafekiosk.order.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                                  @Value("${cafekiosk.order.idempotency.retention-ms:86400000}") long retentionMillis) {
+        this.orderWriter = orderWriter;
+        this.orderService = orderService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idempotencyStore = new IdempotencyStore<>(maxSize, ttlMillis);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    public OrderResponse createOrder(String idempotencyKey, OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        validateKey(idempotencyKey);
+        String requestHash = hash(request);
+
+        while (true) {
+            CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+            IdempotencyStore.Entry<OrderResponse> entry = idempotencyStore.putIfAbsent(idempotencyKey, requestHash, result, System.currentTimeMillis());
+
+            if (entry.getResult() != result) {
+                validateSameRequest(entry.getRequestHash(), requestHash);
+                Optional<OrderResponse> completed = await(entry);
+                if (completed.isPresent()) {
+                    return completed.get();
+                }
+                continue; // 먼저 들어온 요청이 실패했다 -> 다시 처리
+            }
+
+            try {
+                OrderResponse response = createOrReplay(idempotencyKey, requestHash, request, registeredDateTime);
+                result.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                idempotencyStore.remove(idempotencyKey, entry);
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 기록을 지운다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredRecords() {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyRecordRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(Duration.ofMillis(retentionMillis))));
+    }
+
+    public void clearCache() {
+        idempotencyStore.clear();
+    }
+
+    private OrderResponse createOrReplay(String idempotencyKey, String requestHash, OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findByIdempotencyKey(idempotencyKey);
+        if (record.isPresent()) {
+            return replay(record.get(), requestHash);
+        }
+
+        try {
+            return orderWriter.createOrder(request, registeredDateTime, response -> {
+                IdempotencyRecord newRecord = IdempotencyRecord.create(idempotencyKey, requestHash);
+                newRecord.complete(response.getId());
+                idempotencyRecordRepository.saveAndFlush(newRecord);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 같은 키를 먼저 선점하고 커밋했다.
+            return idempotencyRecordRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(existing -> replay(existing, requestHash))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private OrderResponse replay(IdempotencyRecord record, String requestHash) {
+        validateSameRequest(record.getRequestHash(), requestHash);
+        return orderService.getOrder(record.getOrderId());
+    }
+
+    private Optional<OrderResponse> await(IdempotencyStore.Entry<OrderResponse> entry) {
+        try {
+            return Optional.of(entry.getResult().get(waitTimeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("같은 Idempotency-Key 의 주문이 아직 처리 중입니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("같은 Idempotency-Key 의 주문을 기다리다 중단되었습니다.");
+        }
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 1자 이상 100자 이하여야 합니다.");
+        }
+    }
+
+    private void validateSameRequest(String expectedHash, String requestHash) {
+        if (!expectedHash.equals(requestHash)) {
+            throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 상품번호 순서는 주문 내용에 영향이 없으므로 정렬해서 해시한다.
+     */
+    private String hash(OrderCreateServiceRequest request) {
+        String canonical = request.getProductNumbers().stream()
+                .sorted()
+                .collect(Collectors.joining(","));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
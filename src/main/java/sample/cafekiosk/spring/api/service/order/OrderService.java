@@ -4,18 +4,26 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderBatchCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResult;
+import sample.cafekiosk.spring.api.service.pricing.PricingEngine;
 import sample.cafekiosk.spring.api.service.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.sales.DailySalesService;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductLine;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.pricing.PricingTable;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
-import sample.cafekiosk.spring.domain.stock.Stock;
-import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,13 +35,16 @@ public class OrderService {
 
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
 
-    private final StockRepository stockRepository;
+    private final StockDeductor stockDeductor;
+    private final DailySalesService dailySalesService;
+    private final PricingEngine pricingEngine;
 
     /**
      * 재고 감소 -> 동시성 고민
      * optimistic lock / pessimistic lock / ...
-     * 
+     * 차감 방식은 StockDeductor 구현체로 분리 (cafekiosk.stock.deduction-mode)
      */
     public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
         List<String> productNumbers = request.getProductNumbers();
@@ -41,14 +52,136 @@ public class OrderService {
 
         deductStockQuantities(products);
 
-        Order order = Order.create(products, registeredDateTime);
+        Order order = Order.create(products, registeredDateTime, pricingEngine.getTable());
         Order savedOrder = orderRepository.save(order);
 
         return OrderResponse.of(savedOrder);
     }
 
+    /**
+     * 여러 주문을 한 트랜잭션에서 처리한다.
+     * 상품 조회 1번, 재고 차감은 상품별 합계로 1번 시도하고, 재고가 부족하면 주문 단위로 다시 차감해서
+     * 처리할 수 있는 주문만 저장한다. 실패한 주문은 결과에 사유를 담는다.
+     */
+    public OrderBatchResponse createOrders(OrderBatchCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        List<OrderCreateServiceRequest> orderRequests = request.getOrders();
+        OrderBatchResult[] results = new OrderBatchResult[orderRequests.size()];
+
+        Map<String, Product> productMap = createProductMapBy(orderRequests);
+
+        Map<Integer, List<Product>> candidateOrders = new LinkedHashMap<>();
+        for (int index = 0; index < orderRequests.size(); index++) {
+            List<Product> products = orderRequests.get(index).getProductNumbers().stream()
+                    .map(productMap::get)
+                    .collect(Collectors.toList());
+
+            if (products.contains(null)) {
+                results[index] = OrderBatchResult.failure(index, "존재하지 않는 상품이 있습니다.");
+                continue;
+            }
+            candidateOrders.put(index, products);
+        }
+
+        Map<Integer, List<Product>> acceptedOrders = deductStockQuantitiesOfBatch(candidateOrders, results);
+
+        PricingTable pricingTable = pricingEngine.getTable();
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        acceptedOrders.forEach((index, products) -> orders.put(index, Order.create(products, registeredDateTime, pricingTable)));
+        orderRepository.saveAll(orders.values());
+
+        orders.forEach((index, order) -> results[index] = OrderBatchResult.success(index, OrderResponse.of(order)));
+
+        return OrderBatchResponse.of(Arrays.asList(results));
+    }
+
+    /**
+     * 결제완료 처리와 일자별 매출 집계 반영을 한 트랜잭션에서 한다.
+     */
+    public OrderResponse completePayment(Long orderId) {
+        Order order = orderRepository.findWithOrderProductsById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("주문이 존재하지 않습니다."));
+
+        order.completePayment();
+        dailySalesService.record(order);
+
+        return OrderResponse.of(order);
+    }
+
+    /**
+     * 주문 + 주문 상품을 fetch join 으로 한 번에 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(Long orderId) {
+        Order order = orderRepository.findWithOrderProductsById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("주문이 존재하지 않습니다."));
+
+        return OrderResponse.of(order);
+    }
+
+    /**
+     * 여러 주문은 주문 1번 + 주문 상품 projection 1번으로 읽는다. (주문 수와 상관없이 쿼리 2번)
+     * 요청한 주문 id 순서대로 돌려주고, 없는 주문이 하나라도 있으면 예외가 발생한다.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrders(List<Long> orderIds) {
+        Map<Long, Order> orderMap = orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, order -> order));
+
+        List<Long> missingOrderIds = orderIds.stream()
+                .filter(orderId -> !orderMap.containsKey(orderId))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!missingOrderIds.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 주문이 있습니다. " + missingOrderIds);
+        }
+
+        Map<Long, List<OrderProductLine>> orderProductLineMap = orderProductRepository.findLinesByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderProductLine::getOrderId));
+
+        return orderIds.stream()
+                .map(orderId -> OrderResponse.of(orderMap.get(orderId), orderProductLineMap.getOrDefault(orderId, List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Product> createProductMapBy(List<OrderCreateServiceRequest> orderRequests) {
+        List<String> productNumbers = orderRequests.stream()
+                .flatMap(orderRequest -> orderRequest.getProductNumbers().stream())
+                .distinct()
+                .collect(Collectors.toList());
+
+        return productRepository.findAllByNaturalIds(productNumbers).stream()
+                .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    }
+
+    private Map<Integer, List<Product>> deductStockQuantitiesOfBatch(Map<Integer, List<Product>> candidateOrders, OrderBatchResult[] results) {
+        List<String> stockProductNumbers = candidateOrders.values().stream()
+                .flatMap(products -> extractStockProductNumbers(products).stream())
+                .collect(Collectors.toList());
+
+        try {
+            stockDeductor.deduct(createCountingMapBy(stockProductNumbers));
+            return candidateOrders;
+        } catch (IllegalArgumentException e) {
+            return deductStockQuantitiesOneByOne(candidateOrders, results);
+        }
+    }
+
+    private Map<Integer, List<Product>> deductStockQuantitiesOneByOne(Map<Integer, List<Product>> candidateOrders, OrderBatchResult[] results) {
+        Map<Integer, List<Product>> acceptedOrders = new LinkedHashMap<>();
+
+        candidateOrders.forEach((index, products) -> {
+            try {
+                deductStockQuantities(products);
+                acceptedOrders.put(index, products);
+            } catch (IllegalArgumentException e) {
+                results[index] = OrderBatchResult.failure(index, e.getMessage());
+            }
+        });
+        return acceptedOrders;
+    }
+
     private List<Product> findProductsBy(List<String> productNumbers) {
-        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
+        List<Product> products = productRepository.findAllByNaturalIds(productNumbers);
 
         Map<String, Product> productMap = products.stream()
                 .collect(Collectors.toMap(Product::getProductNumber, p -> p));
@@ -62,20 +195,9 @@ public class OrderService {
     private void deductStockQuantities(List<Product> products) {
         List<String> stockProductNumbers = extractStockProductNumbers(products);
 
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
-
-        Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
+        Map<String, Integer> productCountingMap = createCountingMapBy(stockProductNumbers);
 
-        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
-
-            if (stock.isQuantityLessThan(quantity)) {
-                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
-            }
-
-            stock.deductQuantity(quantity);
-        }
+        stockDeductor.deduct(productCountingMap);
     }
 
     private List<String> extractStockProductNumbers(List<Product> products) {
@@ -86,16 +208,9 @@ public class OrderService {
         return stockProductNumbers;
     }
 
-    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
-        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
-        Map<String, Stock> stockMap = stocks.stream()
-                .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
-        return stockMap;
-    }
-
-    private Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
-        Map<String, Long> productCountingMap = stockProductNumbers.stream()
-                .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
+    private Map<String, Integer> createCountingMapBy(List<String> stockProductNumbers) {
+        Map<String, Integer> productCountingMap = stockProductNumbers.stream()
+                .collect(Collectors.groupingBy(p -> p, Collectors.summingInt(p -> 1)));
         return productCountingMap;
     }
 }
@@ -3,45 +3,47 @@ package sample.cafekiosk.spring.api.service.order;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.DailySales;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @RequiredArgsConstructor
 @Service
 public class OrderStatisticService {
 
     private final OrderRepository orderRepository;
+    private final DailySalesRepository dailySalesRepository;
     private final MailService mailService;
 
     public boolean sendOrderStatisticsMail(LocalDate orderDate, String email) {
-        // 해당 일자에 결제완료된 주문을 가져와서
-        List<Order> orders = orderRepository.findOrderBy(
-                orderDate.atStartOfDay(),
-                orderDate.plusDays(1).atStartOfDay(),
-                OrderStatus.PAYMENT_COMPLETED
-        );
-
-        // 총 매출 합계를 계산하고
-        int totalAmount = orders.stream()
-                .mapToInt(Order::getTotalPrice)
-                .sum();
-
+        // 해당 일자의 매출 합계를 가져와서
+        long totalAmount = findTotalAmount(orderDate);
 
-        // 메일 전송
-        boolean result = mailService.sendMail(
+        // 메일 전송 (outbox 에 쌓고, 전송 실패는 MailOutboxDispatcher 가 재시도한다)
+        mailService.sendMail(
                 "no-reply@cafekiosk.com",
                 email,
                 String.format("[매출 통계] %s", orderDate),
                 String.format("총 매출 합계는 %s원 입니다.", totalAmount)
         );
-
-        if (!result) {
-            throw new IllegalArgumentException("매출 통계 메일 전송에 실패했습니다.");
-        }
         return true;
     }
+
+    /**
+     * 일자별 매출 집계(daily_sales) 행 하나를 읽는다.
+     * 집계 행은 만들어질 때 그 일자의 결제완료 주문을 모두 담으므로 행이 있으면 행만 믿는다. (DailySalesService 참고)
+     * 집계 행이 없는 일자(결제완료 주문이 아직 없는 일자 등)는 DB 에서 sum / count 로 계산한다. (주문 엔티티는 읽지 않는다)
+     */
+    private long findTotalAmount(LocalDate orderDate) {
+        return dailySalesRepository.findById(orderDate)
+                .map(DailySales::getTotalAmount)
+                .orElseGet(() -> orderRepository.sumSalesBy(
+                        orderDate.atStartOfDay(),
+                        orderDate.plusDays(1).atStartOfDay(),
+                        OrderStatus.PAYMENT_COMPLETED
+                ).getTotalAmount());
+    }
 }
@@ -0,0 +1,147 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderSubmissionResponse;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 비동기로 접수한 주문 한 건의 처리 상태
+ *
+ * 상태가 바뀌면 구독자에게 notifyExecutor 로 알린다. (주문 처리 스레드가 느린 클라이언트를 기다리지 않게)
+ * 구독자마다 상태는 순서대로 한 번씩만 전달하고, 앞 상태가 늦게 도착하면 버린다. 종료 상태는 반드시 전달한다.
+ */
+class OrderSubmission {
+
+    private final String token;
+    private final OrderCreateServiceRequest request;
+    private final LocalDateTime submittedDateTime;
+    private final Executor notifyExecutor;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<OrderSubmissionResponse> completion = new CompletableFuture<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile OrderSubmissionResponse current;
+    private volatile long completedAtMillis;
+
+    OrderSubmission(String token, OrderCreateServiceRequest request, LocalDateTime submittedDateTime, Executor notifyExecutor) {
+        this.token = token;
+        this.request = request;
+        this.submittedDateTime = submittedDateTime;
+        this.notifyExecutor = notifyExecutor;
+        this.current = response(OrderSubmissionStatus.QUEUED, null, null);
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    OrderCreateServiceRequest getRequest() {
+        return request;
+    }
+
+    OrderSubmissionResponse getCurrent() {
+        return current;
+    }
+
+    CompletableFuture<OrderSubmissionResponse> getCompletion() {
+        return completion;
+    }
+
+    boolean isExpired(long nowMillis, long ttlMillis) {
+        return completion.isDone() && nowMillis - completedAtMillis > ttlMillis;
+    }
+
+    void startProcessing() {
+        change(response(OrderSubmissionStatus.PROCESSING, null, null));
+    }
+
+    void complete(OrderResponse order) {
+        change(response(OrderSubmissionStatus.COMPLETED, order, null));
+    }
+
+    void fail(String message) {
+        change(response(OrderSubmissionStatus.FAILED, null, message));
+    }
+
+    /**
+     * 현재 상태를 바로 전달하고, 이후 바뀌는 상태를 종료될 때까지 전달한다.
+     */
+    void subscribe(Consumer<OrderSubmissionResponse> listener) {
+        Subscriber subscriber = new Subscriber(listener);
+
+        lock.lock();
+        try {
+            if (!current.getStatus().isTerminal()) {
+                subscribers.add(subscriber);
+            }
+        } finally {
+            lock.unlock();
+        }
+        subscriber.deliver(current);
+    }
+
+    private void change(OrderSubmissionResponse changed) {
+        lock.lock();
+        try {
+            if (current.getStatus().isTerminal()) {
+                return;
+            }
+            current = changed;
+            if (changed.getStatus().isTerminal()) {
+                completedAtMillis = System.currentTimeMillis();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        subscribers.forEach(subscriber -> notifyExecutor.execute(() -> subscriber.deliver(changed)));
+        if (changed.getStatus().isTerminal()) {
+            subscribers.clear();
+            completion.complete(changed);
+        }
+    }
+
+    private OrderSubmissionResponse response(OrderSubmissionStatus status, OrderResponse order, String message) {
+        return OrderSubmissionResponse.builder()
+                .token(token)
+                .status(status)
+                .submittedDateTime(submittedDateTime)
+                .order(order)
+                .message(message)
+                .build();
+    }
+
+    private static class Subscriber {
+
+        private final Consumer<OrderSubmissionResponse> listener;
+        private final ReentrantLock deliverLock = new ReentrantLock();
+        private int lastOrdinal = -1;
+
+        private Subscriber(Consumer<OrderSubmissionResponse> listener) {
+            this.listener = listener;
+        }
+
+        private void deliver(OrderSubmissionResponse response) {
+            deliverLock.lock();
+            try {
+                int ordinal = response.getStatus().ordinal();
+                if (ordinal <= lastOrdinal) {
+                    return;
+                }
+                lastOrdinal = ordinal;
+                listener.accept(response);
+            } finally {
+                deliverLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sample.cafekiosk.spring.api.service.order.request.OrderBatchCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResult;
+import sample.cafekiosk.spring.api.service.order.response.OrderSubmissionResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.config.ExecutionMode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 비동기 주문 접수
+ *
+ * 주문을 queue-capacity 크기의 대기열에 넣고 토큰만 바로 돌려준다. 대기열이 가득 차면 받지 않는다. (RejectedExecutionException -> 503)
+ * 접수 스레드는 대기열에서 batch-size 개씩 꺼내 묶고, 처리 스레드는 묶음 하나를 OrderService.createOrders 로 한 트랜잭션에서 저장한다.
+ * 한 묶음을 저장하는 동안 다음 묶음을 모은다. 같은 상품이 여러 주문에 있으면 재고는 상품별 합계로 한 번만 차감된다.
+ *
+ * 주문 등록 시각은 접수 시각이 아니라 묶음을 처리한 시각이다.
+ * 대기열은 메모리에만 있으므로 처리 전에 서버가 죽으면 접수한 주문은 사라진다. (정상 종료 때는 남은 주문을 처리하고 내려간다)
+ */
+@Slf4j
+@Service
+public class OrderSubmissionService {
+
+    private static final long MAX_WAIT_MILLIS = 30_000;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final OrderService orderService;
+    private final StockDeductor stockDeductor;
+    private final BlockingQueue<OrderSubmission> queue;
+    private final Map<String, OrderSubmission> submissions = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final long resultTtlMillis;
+    private final long streamTimeoutMillis;
+
+    private final Thread intakeThread;
+    private final ExecutorService processExecutor;
+    private final ExecutorService notifyExecutor;
+    private volatile boolean running;
+
+    public OrderSubmissionService(OrderService orderService,
+                                  StockDeductor stockDeductor,
+                                  ExecutionMode executionMode,
+                                  @Value("${cafekiosk.order.async.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${cafekiosk.order.async.batch-size:100}") int batchSize,
+                                  @Value("${cafekiosk.order.async.result-ttl-ms:600000}") long resultTtlMillis,
+                                  @Value("${cafekiosk.order.async.notify-concurrency:4}") int notifyConcurrency,
+                                  @Value("${cafekiosk.order.async.stream-timeout-ms:30000}") long streamTimeoutMillis) {
+        this.orderService = orderService;
+        this.stockDeductor = stockDeductor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.resultTtlMillis = resultTtlMillis;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.intakeThread = executionMode.threadFactory("order-submission-intake-").newThread(this::runIntake);
+        this.processExecutor = Executors.newSingleThreadExecutor(executionMode.threadFactory("order-submission-process-"));
+        this.notifyExecutor = Executors.newFixedThreadPool(notifyConcurrency, executionMode.threadFactory("order-submission-notify-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        intakeThread.start();
+    }
+
+    /**
+     * 접수 중단 -> 대기열에 남은 주문 처리 -> 처리 스레드 종료
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (intakeThread.isAlive()) {
+            intakeThread.join();
+        }
+        processExecutor.shutdown();
+        processExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        notifyExecutor.shutdown();
+    }
+
+    public OrderSubmissionResponse submit(OrderCreateServiceRequest request) {
+        if (!running) {
+            throw new RejectedExecutionException("주문 접수를 중단했습니다.");
+        }
+
+        OrderSubmission submission = new OrderSubmission(UUID.randomUUID().toString(), request, LocalDateTime.now(), notifyExecutor);
+        submissions.put(submission.getToken(), submission);
+        if (!queue.offer(submission)) {
+            submissions.remove(submission.getToken());
+            throw new RejectedExecutionException("주문 접수 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        return submission.getCurrent();
+    }
+
+    public OrderSubmissionResponse getSubmission(String token) {
+        return findSubmission(token).getCurrent();
+    }
+
+    /**
+     * 처리가 끝날 때까지 최대 waitMillis(최대 30초) 기다린 뒤 그 시점의 상태를 돌려준다. (long polling)
+     */
+    public OrderSubmissionResponse awaitSubmission(String token, long waitMillis) {
+        OrderSubmission submission = findSubmission(token);
+        if (waitMillis <= 0) {
+            return submission.getCurrent();
+        }
+
+        try {
+            return submission.getCompletion().get(Math.min(waitMillis, MAX_WAIT_MILLIS), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return submission.getCurrent();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return submission.getCurrent();
+        }
+    }
+
+    /**
+     * 현재 상태와 이후 바뀌는 상태를 처리가 끝날 때까지 listener 로 전달한다. (SSE)
+     */
+    public void subscribe(String token, Consumer<OrderSubmissionResponse> listener) {
+        findSubmission(token).subscribe(listener);
+    }
+
+    public long getStreamTimeoutMillis() {
+        return streamTimeoutMillis;
+    }
+
+    /**
+     * 처리가 끝나고 result-ttl-ms 가 지난 결과를 지운다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.async.purge-interval-ms:60000}")
+    public void purgeExpiredSubmissions() {
+        long nowMillis = System.currentTimeMillis();
+        submissions.values().removeIf(submission -> submission.isExpired(nowMillis, resultTtlMillis));
+    }
+
+    private OrderSubmission findSubmission(String token) {
+        OrderSubmission submission = submissions.get(token);
+        if (submission == null) {
+            throw new IllegalArgumentException("접수된 주문이 존재하지 않습니다.");
+        }
+        return submission;
+    }
+
+    private void runIntake() {
+        CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+
+        while (running || !queue.isEmpty()) {
+            List<OrderSubmission> batch = nextBatch(inFlight);
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            batch.forEach(OrderSubmission::startProcessing);
+            inFlight = CompletableFuture.runAsync(() -> process(batch), processExecutor);
+        }
+        inFlight.join();
+    }
+
+    /**
+     * 첫 주문이 들어오면 앞 묶음이 끝날 때까지 기다리면서 쌓인 주문을 batch-size 까지 함께 꺼낸다.
+     */
+    private List<OrderSubmission> nextBatch(CompletableFuture<Void> inFlight) {
+        List<OrderSubmission> batch = new ArrayList<>(batchSize);
+        OrderSubmission first = pollFirst();
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        inFlight.join();
+        queue.drainTo(batch, batchSize - 1);
+        return batch;
+    }
+
+    private OrderSubmission pollFirst() {
+        try {
+            return queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // 접수 스레드가 중단되면 더 받지 않고 남은 주문만 처리한다.
+            running = false;
+            return queue.poll();
+        }
+    }
+
+    private void process(List<OrderSubmission> batch) {
+        OrderBatchCreateServiceRequest request = OrderBatchCreateServiceRequest.builder()
+                .orders(batch.stream()
+                        .map(OrderSubmission::getRequest)
+                        .collect(Collectors.toList()))
+                .build();
+
+        try {
+            OrderBatchResponse response = stockDeductor.retryOnConflict(() -> orderService.createOrders(request, LocalDateTime.now()));
+            for (OrderBatchResult result : response.getResults()) {
+                OrderSubmission submission = batch.get(result.getIndex());
+                if (result.isSuccess()) {
+                    submission.complete(result.getOrder());
+                } else {
+                    submission.fail(result.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("비동기 주문 처리 실패 batchSize={}", batch.size(), e);
+            batch.forEach(submission -> submission.fail("주문을 처리하지 못했습니다. 다시 주문해 주세요."));
+        }
+    }
+}
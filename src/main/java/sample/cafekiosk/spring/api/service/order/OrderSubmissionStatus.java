@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum OrderSubmissionStatus {
+
+    QUEUED("접수", false),
+    PROCESSING("처리중", false),
+    COMPLETED("주문완료", true),
+    FAILED("주문실패", true);
+
+    private final String text;
+    private final boolean terminal;
+}
@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderWriteStatisticsResponse;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 단건 주문 생성 경로
+ * cafekiosk.order.write-mode 설정으로 구현체를 선택한다.
+ *
+ * direct: 요청 스레드마다 OrderService.createOrder 트랜잭션을 연다. (기존 방식)
+ * group-commit: 요청 스레드는 주문을 넘기고 기다리기만 하고, 한 스레드가 모아서 한 트랜잭션으로 저장한다.
+ */
+public interface OrderWriter {
+
+    default OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        return createOrder(request, registeredDateTime, response -> {});
+    }
+
+    /**
+     * afterSave 는 주문을 저장한 트랜잭션 안에서 실행한다. (Idempotency-Key 기록 등 주문과 같이 커밋해야 하는 저장)
+     * afterSave 가 예외를 던지면 그 주문도 롤백되고 요청 스레드로 예외가 그대로 넘어온다.
+     */
+    OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime, Consumer<OrderResponse> afterSave);
+
+    /**
+     * 커밋 한 번에 저장한 주문 수와 커밋까지 걸린 시간(µs) 분포
+     */
+    OrderWriteStatisticsResponse getStatistics();
+}
@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class OrderBatchCreateServiceRequest {
+
+    private List<OrderCreateServiceRequest> orders;
+
+    @Builder
+    private OrderBatchCreateServiceRequest(List<OrderCreateServiceRequest> orders) {
+        this.orders = orders;
+    }
+}
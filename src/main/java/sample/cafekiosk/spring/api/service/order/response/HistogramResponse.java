@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class HistogramResponse {
+
+    private long count;
+    private double mean;
+    private long p50;
+    private long p90;
+    private long p99;
+    private long max;
+
+    @Builder
+    private HistogramResponse(long count, double mean, long p50, long p90, long p99, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+}
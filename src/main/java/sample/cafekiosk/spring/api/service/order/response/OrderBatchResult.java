@@ -0,0 +1,38 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+
+@Getter
+public class OrderBatchResult {
+
+    private int index;
+    private boolean success;
+    private OrderResponse order;
+    private String message;
+
+    @Builder
+    private OrderBatchResult(int index, boolean success, OrderResponse order, String message) {
+        this.index = index;
+        this.success = success;
+        this.order = order;
+        this.message = message;
+    }
+
+    public static OrderBatchResult success(int index, OrderResponse order) {
+        return OrderBatchResult.builder()
+                .index(index)
+                .success(true)
+                .order(order)
+                .build();
+    }
+
+    public static OrderBatchResult failure(int index, String message) {
+        return OrderBatchResult.builder()
+                .index(index)
+                .success(false)
+                .message(message)
+                .build();
+    }
+}
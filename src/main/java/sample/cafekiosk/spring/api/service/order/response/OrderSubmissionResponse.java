@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.order.OrderSubmissionStatus;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class OrderSubmissionResponse {
+
+    private String token;
+    private OrderSubmissionStatus status;
+    private LocalDateTime submittedDateTime;
+    private OrderResponse order;
+    private String message;
+
+    @Builder
+    private OrderSubmissionResponse(String token, OrderSubmissionStatus status, LocalDateTime submittedDateTime, OrderResponse order, String message) {
+        this.token = token;
+        this.status = status;
+        this.submittedDateTime = submittedDateTime;
+        this.order = order;
+        this.message = message;
+    }
+}
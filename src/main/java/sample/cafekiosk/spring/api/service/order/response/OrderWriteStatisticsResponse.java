@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class OrderWriteStatisticsResponse {
+
+    private String writeMode;
+    private HistogramResponse batchSize;
+    private HistogramResponse commitLatencyMicros;
+
+    @Builder
+    private OrderWriteStatisticsResponse(String writeMode, HistogramResponse batchSize, HistogramResponse commitLatencyMicros) {
+        this.writeMode = writeMode;
+        this.batchSize = batchSize;
+        this.commitLatencyMicros = commitLatencyMicros;
+    }
+}
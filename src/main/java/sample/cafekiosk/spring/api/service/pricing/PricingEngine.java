@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.service.pricing;
+
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.pricing.PricingRule;
+import sample.cafekiosk.spring.domain.pricing.PricingTable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 현재 적용 중인 할인 결정 테이블
+ *
+ * 규칙이 바뀌면 새 테이블을 컴파일해서 통째로 교체한다. 주문 계산 쪽은 잠금 없이 그 시점의 테이블을 읽는다.
+ * 등록된 규칙이 없으면 정가 합계로 계산한다.
+ */
+@Component
+public class PricingEngine {
+
+    private final AtomicReference<PricingTable> table = new AtomicReference<>(PricingTable.LIST_PRICE);
+
+    public PricingTable getTable() {
+        return table.get();
+    }
+
+    public void replaceRules(List<PricingRule> rules) {
+        table.set(PricingTable.compile(rules));
+    }
+
+    public void clearRules() {
+        table.set(PricingTable.LIST_PRICE);
+    }
+}
@@ -0,0 +1,132 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductCatalogCacheStatisticsResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 판매 상품 목록(키오스크 메뉴) read-through 캐시
+ *
+ * 상품이 바뀐 트랜잭션이 커밋되면 새 스냅샷을 만들어 통째로 교체한다.
+ * 이벤트 없이 DB 가 바뀌는 경우(data.sql, 직접 수정 등)를 위해 max-age 가 지나면 다시 읽는다.
+ * 커밋 후 다시 읽기에 실패해도 상품 변경은 이미 커밋됐으므로 호출한 쪽으로 예외를 넘기지 않고,
+ * 스냅샷을 비워서 다음 조회가 다시 읽게 한다.
+ */
+@Slf4j
+@Component
+public class ProductCatalogCache {
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeMillis;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final AtomicReference<ProductCatalogSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder reloadCount = new LongAdder();
+
+    public ProductCatalogCache(ProductRepository productRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${cafekiosk.product.catalog-cache.max-age-ms:60000}") long maxAgeMillis,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.maxAgeMillis = maxAgeMillis;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public ProductCatalogSnapshot get() {
+        ProductCatalogSnapshot current = snapshot.get();
+        if (isFresh(current)) {
+            hitCount.increment();
+            return current;
+        }
+
+        missCount.increment();
+        loadLock.lock();
+        try {
+            current = snapshot.get();
+            if (isFresh(current)) {
+                return current;
+            }
+            return reload();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // 상품 일괄 등록은 묶음마다 커밋한 뒤 트랜잭션 밖에서 알리므로 fallbackExecution 으로 받는다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        loadLock.lock();
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> reload());
+        } catch (RuntimeException e) {
+            snapshot.set(null);
+            log.warn("판매 상품 목록 다시 읽기 실패 productNumber={}", event.getProductNumber(), e);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    public ProductCatalogCacheStatisticsResponse getStatistics() {
+        ProductCatalogSnapshot current = snapshot.get();
+
+        return ProductCatalogCacheStatisticsResponse.builder()
+                .hitCount(hitCount.sum())
+                .missCount(missCount.sum())
+                .reloadCount(reloadCount.sum())
+                .productCount(current == null ? 0 : current.getProducts().size())
+                .build();
+    }
+
+    private boolean isFresh(ProductCatalogSnapshot current) {
+        return current != null && !current.isExpired(System.currentTimeMillis(), maxAgeMillis);
+    }
+
+    private ProductCatalogSnapshot reload() {
+        List<ProductResponse> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay()).stream()
+                .map(ProductResponse::of)
+                .collect(Collectors.toList());
+
+        ProductCatalogSnapshot loaded = new ProductCatalogSnapshot(products, serialize(products), System.currentTimeMillis());
+        snapshot.set(loaded);
+        reloadCount.increment();
+        return loaded;
+    }
+
+    private byte[] serialize(List<ProductResponse> products) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.ok(products));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("판매 상품 목록을 직렬화하지 못했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+
+import java.util.List;
+
+/**
+ * 판매 상품 목록 스냅샷 (불변)
+ * 응답 본문(ApiResponse JSON)까지 미리 직렬화해 둔다.
+ */
+@Getter
+public class ProductCatalogSnapshot {
+
+    private final List<ProductResponse> products;
+    private final byte[] body;
+    private final long loadedAtMillis;
+
+    public ProductCatalogSnapshot(List<ProductResponse> products, byte[] body, long loadedAtMillis) {
+        this.products = List.copyOf(products);
+        this.body = body;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis, long maxAgeMillis) {
+        return nowMillis - loadedAtMillis >= maxAgeMillis;
+    }
+}
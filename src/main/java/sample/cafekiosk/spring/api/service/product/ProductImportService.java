@@ -0,0 +1,177 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportError;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 상품 일괄 등록
+ *
+ * 본문을 한 줄씩 읽으면서 검증하고, 검증된 행은 CHUNK_SIZE 개씩 모아
+ * 상품번호를 한 번에 발급받아 묶음마다 별도 트랜잭션으로 저장한다. (JDBC 배치 + 영속성 컨텍스트가 커지지 않게)
+ * 본문을 읽는 동안에는 커넥션을 잡지 않고, 저장에 실패한 묶음은 그 묶음만 롤백되고 앞뒤 묶음은 그대로 커밋된다.
+ * 검증에 실패한 행과 저장에 실패한 묶음의 행은 줄 번호와 사유를 남기고 건너뛴다.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final int CHUNK_SIZE = 50;
+    private static final int MAX_REPORTED_ERROR_COUNT = 100;
+    private static final String PERSIST_FAILURE_MESSAGE = "상품을 저장하지 못했습니다.";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductNumberAllocator productNumberAllocator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImportService(ObjectMapper objectMapper,
+                                Validator validator,
+                                ProductNumberAllocator productNumberAllocator,
+                                EntityManager entityManager,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.productNumberAllocator = productNumberAllocator;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ProductImportResponse importProducts(Reader body, ProductImportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(body);
+
+        Chunk chunk = new Chunk();
+        List<ProductImportError> errors = new ArrayList<>();
+        int totalCount = 0;
+        int failureCount = 0;
+        int lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format.isHeader(line))) {
+                continue;
+            }
+            totalCount++;
+
+            try {
+                ProductCreateRequest row = format.parse(line, objectMapper);
+                validate(row);
+                chunk.add(lineNumber, row);
+            } catch (IllegalArgumentException e) {
+                failureCount++;
+                if (errors.size() < MAX_REPORTED_ERROR_COUNT) {
+                    errors.add(new ProductImportError(lineNumber, e.getMessage()));
+                }
+            }
+
+            if (chunk.size() == CHUNK_SIZE) {
+                failureCount += persist(chunk, errors);
+            }
+        }
+        failureCount += persist(chunk, errors);
+
+        int successCount = totalCount - failureCount;
+        if (successCount > 0) {
+            // 묶음은 이미 모두 커밋됐으므로 트랜잭션 밖에서 알린다.
+            eventPublisher.publishEvent(new ProductChangedEvent(null));
+        }
+
+        return ProductImportResponse.builder()
+                .totalCount(totalCount)
+                .successCount(successCount)
+                .failureCount(failureCount)
+                .errors(errors)
+                .build();
+    }
+
+    private void validate(ProductCreateRequest row) {
+        Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(row);
+
+        violations.stream()
+                .min(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .ifPresent(violation -> {
+                    throw new IllegalArgumentException(violation.getMessage());
+                });
+    }
+
+    /**
+     * 묶음 하나를 한 트랜잭션으로 저장한다. 실패하면 묶음의 행마다 오류를 남긴다.
+     *
+     * @return 저장하지 못한 행 수
+     */
+    private int persist(Chunk chunk, List<ProductImportError> errors) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> productNumbers = productNumberAllocator.allocate(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    entityManager.persist(chunk.rows.get(i).toEntity(productNumbers.get(i)));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return 0;
+        } catch (RuntimeException e) {
+            log.warn("상품 일괄 등록 묶음 저장 실패 lines={}~{}", chunk.lineNumbers.get(0), chunk.lineNumbers.get(chunk.size() - 1), e);
+            for (int lineNumber : chunk.lineNumbers) {
+                if (errors.size() < MAX_REPORTED_ERROR_COUNT) {
+                    errors.add(new ProductImportError(lineNumber, PERSIST_FAILURE_MESSAGE));
+                }
+            }
+            return chunk.size();
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    private static class Chunk {
+
+        private final List<Integer> lineNumbers = new ArrayList<>(CHUNK_SIZE);
+        private final List<ProductCreateRequest> rows = new ArrayList<>(CHUNK_SIZE);
+
+        private void add(int lineNumber, ProductCreateRequest row) {
+            lineNumbers.add(lineNumber);
+            rows.add(row);
+        }
+
+        private int size() {
+            return rows.size();
+        }
+
+        private boolean isEmpty() {
+            return rows.isEmpty();
+        }
+
+        private void clear() {
+            lineNumbers.clear();
+            rows.clear();
+        }
+    }
+}
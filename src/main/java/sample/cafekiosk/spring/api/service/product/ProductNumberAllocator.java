@@ -0,0 +1,141 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.product.ProductNumberCounter;
+import sample.cafekiosk.spring.domain.product.ProductNumberCounterRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품번호 발급기 (hi/lo)
+ *
+ * DB 카운터(product_number_counter)에서 block-size 만큼 번호 구간을 예약하고(hi),
+ * 구간 안의 번호는 메모리에서 lock-free 로 나눠준다(lo).
+ * 구간 예약은 카운터 행을 잠그고 별도 트랜잭션으로 커밋하므로, 재시작하거나 여러 인스턴스가 떠 있어도 번호가 겹치지 않는다.
+ * 대신 쓰지 않고 버려진 구간만큼 번호가 건너뛸 수 있다.
+ */
+@Component
+public class ProductNumberAllocator {
+
+    private static final String COUNTER_NAME = "product";
+
+    private final ProductNumberCounterRepository productNumberCounterRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+    private final int blockSize;
+    private final String numberFormat;
+
+    private final AtomicReference<NumberBlock> currentBlock = new AtomicReference<>(NumberBlock.EMPTY);
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public ProductNumberAllocator(ProductNumberCounterRepository productNumberCounterRepository,
+                                  ProductRepository productRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${cafekiosk.product.number.block-size:50}") int blockSize,
+                                  @Value("${cafekiosk.product.number.min-digits:3}") int minDigits) {
+        this.productNumberCounterRepository = productNumberCounterRepository;
+        this.productRepository = productRepository;
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        this.numberFormat = "%0" + minDigits + "d";
+    }
+
+    public String allocate() {
+        return String.format(numberFormat, nextValue());
+    }
+
+    public List<String> allocate(int count) {
+        List<String> productNumbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            productNumbers.add(allocate());
+        }
+        return productNumbers;
+    }
+
+    /**
+     * 메모리에 남은 구간을 버린다. 다음 발급 때 카운터에서 새 구간을 예약한다.
+     */
+    public void reset() {
+        currentBlock.set(NumberBlock.EMPTY);
+    }
+
+    private long nextValue() {
+        while (true) {
+            NumberBlock block = currentBlock.get();
+            long value = block.next();
+            if (value < block.end) {
+                return value;
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(NumberBlock exhaustedBlock) {
+        refillLock.lock();
+        try {
+            if (currentBlock.get() == exhaustedBlock) {
+                currentBlock.set(reserveBlock());
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private NumberBlock reserveBlock() {
+        try {
+            return requiresNewTransactionTemplate.execute(status -> reserveBlockFromCounter());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 먼저 카운터를 만든 경우 -> 만들어진 카운터로 다시 예약
+            return requiresNewTransactionTemplate.execute(status -> reserveBlockFromCounter());
+        }
+    }
+
+    private NumberBlock reserveBlockFromCounter() {
+        ProductNumberCounter counter = productNumberCounterRepository.findForUpdate(COUNTER_NAME)
+                .orElseGet(() -> productNumberCounterRepository.saveAndFlush(
+                        ProductNumberCounter.create(COUNTER_NAME, findLastProductNumber() + 1)));
+
+        long start = counter.reserve(blockSize);
+        return new NumberBlock(start, start + blockSize);
+    }
+
+    /**
+     * 카운터가 처음 만들어질 때 기존 상품번호 뒤부터 발급하도록 마지막 상품번호를 읽는다.
+     */
+    private long findLastProductNumber() {
+        String lastProductNumber = productRepository.findLastProduct();
+
+        if (lastProductNumber == null) {
+            return 0;
+        }
+        return Long.parseLong(lastProductNumber);
+    }
+
+    private static class NumberBlock {
+
+        private static final NumberBlock EMPTY = new NumberBlock(0, 0);
+
+        private final AtomicLong cursor;
+        private final long end;
+
+        private NumberBlock(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+
+        private long next() {
+            return cursor.getAndIncrement();
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package sample.cafekiosk.spring.api.service.product;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductCatalogCacheStatisticsResponse;
+import sample.cafekiosk.spring.api.service.product.response.SecondLevelCacheRegionResponse;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
-import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
@@ -22,6 +25,7 @@ import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
  * JPA : CUD 스냅샷 저장, 변경감지 X (성능 향상)
  *
  * CQRS - Command / Read
+ * cafekiosk.datasource.routing.enabled=true 이면 readOnly 트랜잭션은 replica 에서 읽는다. (DataSourceRoutingConfig)
  */
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -29,35 +33,44 @@ import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductNumberAllocator productNumberAllocator;
+    private final SecondLevelCacheMonitor secondLevelCacheMonitor;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProductResponse createProduct(ProductCreateServiceRequest request) {
-        String nextProductNumber = createNextProductNumber();
+        String nextProductNumber = productNumberAllocator.allocate();
 
         Product product = request.toEntity(nextProductNumber);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getProductNumber()));
 
         return ProductResponse.of(savedProduct);
     }
 
-    private String createNextProductNumber() {
-        String lastProductNumber = productRepository.findLastProduct();
-
-        if (lastProductNumber == null) {
-            return "001";
-        }
-
-        int lastProductNumberInt = Integer.parseInt(lastProductNumber);
-        int nextProductNumberInt = lastProductNumberInt + 1;
+    /**
+     * 캐시에 있으면 커넥션을 잡지 않도록 트랜잭션을 열지 않는다. (없으면 캐시가 직접 조회)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductResponse> getSellingProducts(){
+        return productCatalogCache.get().getProducts();
+    }
 
-        return String.format("%03d", nextProductNumberInt);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public byte[] getSellingProductsBody() {
+        return productCatalogCache.get().getBody();
     }
 
-    public List<ProductResponse> getSellingProducts(){
-        List<Product> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+    public ProductCatalogCacheStatisticsResponse getCatalogCacheStatistics() {
+        return productCatalogCache.getStatistics();
+    }
 
-        return products.stream()
-                .map(ProductResponse::of)
-                .collect(Collectors.toList());
+    /**
+     * 캐시 통계만 읽으므로 트랜잭션을 열지 않는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<SecondLevelCacheRegionResponse> getSecondLevelCacheStatistics() {
+        return secondLevelCacheMonitor.getStatistics();
     }
 }
@@ -0,0 +1,65 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.service.product.response.SecondLevelCacheRegionResponse;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate 2차 캐시 영역별 통계
+ *
+ * 영역마다 JCache 가 플랫폼 MBeanServer 에 등록한 CacheStatisticsMXBean(javax.cache:type=CacheStatistics)을 읽는다.
+ * 같은 MBean 을 JMX exporter 로 바로 수집할 수도 있다. (ehcache.xml 에서 enable-statistics 를 켜야 등록된다)
+ * JCache API 에 컴파일 의존하지 않도록 속성 이름으로 읽는다. 2차 캐시를 끄면(second-level-cache 프로필이 아니면) 빈 목록이다.
+ */
+@Component
+public class SecondLevelCacheMonitor {
+
+    private static final String STATISTICS_OBJECT_NAME = "javax.cache:type=CacheStatistics,*";
+    private static final String REGION_KEY = "Cache";
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final ObjectName statisticsObjectName;
+
+    public SecondLevelCacheMonitor() {
+        try {
+            this.statisticsObjectName = new ObjectName(STATISTICS_OBJECT_NAME);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public List<SecondLevelCacheRegionResponse> getStatistics() {
+        return mBeanServer.queryNames(statisticsObjectName, null).stream()
+                .map(this::toResponse)
+                .sorted(Comparator.comparing(SecondLevelCacheRegionResponse::getRegionName))
+                .collect(Collectors.toList());
+    }
+
+    private SecondLevelCacheRegionResponse toResponse(ObjectName objectName) {
+        return SecondLevelCacheRegionResponse.builder()
+                .regionName(objectName.getKeyProperty(REGION_KEY))
+                .hitCount(getAttribute(objectName, "CacheHits").longValue())
+                .missCount(getAttribute(objectName, "CacheMisses").longValue())
+                .putCount(getAttribute(objectName, "CachePuts").longValue())
+                .removalCount(getAttribute(objectName, "CacheRemovals").longValue())
+                .evictionCount(getAttribute(objectName, "CacheEvictions").longValue())
+                .hitPercentage(getAttribute(objectName, "CacheHitPercentage").floatValue())
+                .build();
+    }
+
+    private Number getAttribute(ObjectName objectName, String attribute) {
+        try {
+            return (Number) mBeanServer.getAttribute(objectName, attribute);
+        } catch (JMException e) {
+            throw new IllegalStateException("2차 캐시 통계를 읽지 못했습니다. " + objectName, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package sample.cafekiosk.spring.api.service.product.request;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 일괄 등록 행 형식
+ * NDJSON : 한 줄에 ProductCreateRequest JSON 하나
+ * CSV    : type,sellingStatus,name,price (첫 줄이 헤더면 건너뛴다)
+ */
+public enum ProductImportFormat {
+
+    NDJSON {
+        @Override
+        public ProductCreateRequest parse(String line, ObjectMapper objectMapper) {
+            try {
+                return objectMapper.readValue(line, ProductCreateRequest.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+            }
+        }
+
+        @Override
+        public boolean isHeader(String line) {
+            return false;
+        }
+    },
+
+    CSV {
+        @Override
+        public ProductCreateRequest parse(String line, ObjectMapper objectMapper) {
+            List<String> columns = splitColumns(line);
+            if (columns.size() != 4) {
+                throw new IllegalArgumentException("CSV 컬럼은 type,sellingStatus,name,price 4개여야 합니다.");
+            }
+
+            return ProductCreateRequest.builder()
+                    .type(parseEnum(ProductType.class, columns.get(0), "상품 타입이 올바르지 않습니다."))
+                    .sellingStatus(parseEnum(ProductSellingStatus.class, columns.get(1), "상품 판매상태가 올바르지 않습니다."))
+                    .name(columns.get(2))
+                    .price(parsePrice(columns.get(3)))
+                    .build();
+        }
+
+        @Override
+        public boolean isHeader(String line) {
+            return line.trim().toLowerCase().startsWith("type,");
+        }
+    };
+
+    public abstract ProductCreateRequest parse(String line, ObjectMapper objectMapper);
+
+    public abstract boolean isHeader(String line);
+
+    private static List<String> splitColumns(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                columns.add(column.toString().trim());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString().trim());
+        return columns;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String message) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static int parsePrice(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("상품 가격은 숫자여야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class ProductCatalogCacheStatisticsResponse {
+
+    private long hitCount;
+    private long missCount;
+    private long reloadCount;
+    private int productCount;
+
+    @Builder
+    private ProductCatalogCacheStatisticsResponse(long hitCount, long missCount, long reloadCount, int productCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.reloadCount = reloadCount;
+        this.productCount = productCount;
+    }
+}
@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ProductImportError {
+
+    private final int lineNumber;
+    private final String message;
+}
@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ProductImportResponse {
+
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private List<ProductImportError> errors;
+
+    @Builder
+    private ProductImportResponse(int totalCount, int successCount, int failureCount, List<ProductImportError> errors) {
+        this.totalCount = totalCount;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class SecondLevelCacheRegionResponse {
+
+    private String regionName;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long removalCount;
+    private long evictionCount;
+    private float hitPercentage;
+
+    @Builder
+    private SecondLevelCacheRegionResponse(String regionName, long hitCount, long missCount, long putCount,
+                                           long removalCount, long evictionCount, float hitPercentage) {
+        this.regionName = regionName;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.removalCount = removalCount;
+        this.evictionCount = evictionCount;
+        this.hitPercentage = hitPercentage;
+    }
+}
@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.api.service.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProduct;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductLine;
+
+@Getter
+public class OrderProductResponse {
+
+    private String productNumber;
+    private String name;
+    private int price;
+    private int quantity;
+
+    @Builder
+    private OrderProductResponse(String productNumber, String name, int price, int quantity) {
+        this.productNumber = productNumber;
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    public static OrderProductResponse of(OrderProduct orderProduct) {
+        return OrderProductResponse.builder()
+                .productNumber(orderProduct.getProductNumber())
+                .name(orderProduct.getProductName())
+                .price(orderProduct.getPrice())
+                .quantity(orderProduct.getQuantity())
+                .build();
+    }
+
+    public static OrderProductResponse of(OrderProductLine orderProductLine) {
+        return OrderProductResponse.builder()
+                .productNumber(orderProductLine.getProductNumber())
+                .name(orderProductLine.getProductName())
+                .price(orderProductLine.getPrice())
+                .quantity(orderProductLine.getQuantity())
+                .build();
+    }
+}
@@ -3,7 +3,7 @@ package sample.cafekiosk.spring.api.service.response;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
-import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductLine;
 import sample.cafekiosk.spring.domain.order.Order;
 
 import java.time.LocalDateTime;
@@ -16,10 +16,10 @@ public class OrderResponse {
     private Long id;
     private int totalPrice;
     private LocalDateTime registeredDateTime;
-    private List<ProductResponse> products;
+    private List<OrderProductResponse> products;
 
     @Builder
-    private OrderResponse(Long id, int totalPrice, LocalDateTime registeredDateTime, List<ProductResponse> products) {
+    private OrderResponse(Long id, int totalPrice, LocalDateTime registeredDateTime, List<OrderProductResponse> products) {
         this.id = id;
         this.totalPrice = totalPrice;
         this.registeredDateTime = registeredDateTime;
@@ -32,7 +32,22 @@ public class OrderResponse {
                 .totalPrice(order.getTotalPrice())
                 .registeredDateTime(order.getRegisteredDateTime())
                 .products(order.getOrderProducts().stream()
-                        .map(orderProduct -> ProductResponse.of(orderProduct.getProduct()))
+                        .map(OrderProductResponse::of)
+                        .collect(Collectors.toList())
+                )
+                .build();
+    }
+
+    /**
+     * 주문 상품 컬렉션을 건드리지 않고, 따로 조회한 주문 상품 projection 으로 만든다.
+     */
+    public static OrderResponse of(Order order, List<OrderProductLine> orderProductLines) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .totalPrice(order.getTotalPrice())
+                .registeredDateTime(order.getRegisteredDateTime())
+                .products(orderProductLines.stream()
+                        .map(OrderProductResponse::of)
                         .collect(Collectors.toList())
                 )
                 .build();
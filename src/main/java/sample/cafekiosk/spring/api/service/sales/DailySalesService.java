@@ -0,0 +1,67 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesSummary;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.DailySales;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일자별 매출 집계(daily_sales) 관리
+ *
+ * 결제완료 주문의 금액은 주문과 같은 트랜잭션에서 UPDATE ... SET total_amount = total_amount + ? 로 더한다.
+ * 주문 트랜잭션이 롤백되면 집계도 함께 롤백된다.
+ * 일자별 행이 없으면 그 일자의 결제완료 주문(이번 주문 포함)을 주문 테이블에서 집계해서 MERGE 한 번으로 행을 만든다.
+ * 집계 행이 생기기 전에 결제완료된 주문도 처음부터 행에 들어가므로, 행이 있는 일자는 행만 믿고 읽으면 된다.
+ * (같은 일자의 첫 결제 두 건이 동시에 행을 만들면 DB 에 따라 한쪽이 unique 제약에 걸려 실패할 수 있다. 다시 요청하면 된다)
+ */
+@Transactional
+@RequiredArgsConstructor
+@Service
+public class DailySalesService {
+
+    private final DailySalesRepository dailySalesRepository;
+    private final OrderRepository orderRepository;
+
+    public void record(Order order) {
+        if (order.getOrderStatus() != OrderStatus.PAYMENT_COMPLETED) {
+            throw new IllegalArgumentException("결제완료된 주문만 매출에 반영할 수 있습니다.");
+        }
+
+        LocalDate salesDate = order.getRegisteredDateTime().toLocalDate();
+        if (dailySalesRepository.addSales(salesDate, order.getTotalPrice()) > 0) {
+            return;
+        }
+
+        // 결제완료 상태는 집계 쿼리 전에 flush 되므로 이번 주문도 합계에 들어간다.
+        OrderSalesSummary summary = sumSalesBy(salesDate);
+        dailySalesRepository.mergeSales(salesDate, order.getTotalPrice(), summary.getOrderCount(), summary.getTotalAmount(), LocalDateTime.now());
+    }
+
+    /**
+     * 주문 테이블에서 다시 집계해서 일자별 행을 덮어쓴다. (이 방식 도입 전에 만들어진 행 보정용)
+     */
+    public DailySales rebuild(LocalDate salesDate) {
+        OrderSalesSummary summary = sumSalesBy(salesDate);
+
+        DailySales dailySales = dailySalesRepository.findForUpdate(salesDate)
+                .orElseGet(() -> dailySalesRepository.save(DailySales.empty(salesDate)));
+        dailySales.overwrite(summary.getOrderCount(), summary.getTotalAmount());
+        return dailySales;
+    }
+
+    private OrderSalesSummary sumSalesBy(LocalDate salesDate) {
+        return orderRepository.sumSalesBy(
+                salesDate.atStartOfDay(),
+                salesDate.plusDays(1).atStartOfDay(),
+                OrderStatus.PAYMENT_COMPLETED
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 조건부 UPDATE 한 번으로 재고 확인과 차감을 같이 처리한다.
+ * 엔티티를 읽지 않으므로 갱신 손실이 없고, 행 잠금은 UPDATE 순간에만 잡힌다.
+ */
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "conditional-update")
+@RequiredArgsConstructor
+@Component
+public class ConditionalUpdateStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+    private final StockContentionMonitor stockContentionMonitor;
+
+    // 실패 시 직접 되돌리므로 바깥 트랜잭션(일괄 주문 등)을 롤백 대상으로 만들지 않는다.
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    @Override
+    public void deduct(Map<String, Integer> quantitiesByProductNumber) {
+        Map<String, Integer> deducted = new LinkedHashMap<>();
+
+        // 상품번호 순으로 UPDATE 해서 주문끼리 교착 상태에 빠지지 않게 한다.
+        for (Map.Entry<String, Integer> entry : new TreeMap<>(quantitiesByProductNumber).entrySet()) {
+            long startNanos = System.nanoTime();
+            int updatedCount = stockRepository.deductQuantity(entry.getKey(), entry.getValue());
+            stockContentionMonitor.record(entry.getKey(), System.nanoTime() - startNanos, 0);
+
+            if (updatedCount == 0) {
+                deducted.forEach(stockRepository::addQuantity);
+                throw new IllegalArgumentException(NOT_ENOUGH_STOCK_MESSAGE);
+            }
+            deducted.put(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 기본 전략 : Stock 엔티티를 조회해서 수량을 확인하고 변경감지로 차감한다.
+ */
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "dirty-checking", matchIfMissing = true)
+@RequiredArgsConstructor
+@Component
+public class DirtyCheckingStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public void deduct(Map<String, Integer> quantitiesByProductNumber) {
+        if (quantitiesByProductNumber.isEmpty()) {
+            return;
+        }
+
+        Map<String, Stock> stockMap = createStockMapBy(new ArrayList<>(quantitiesByProductNumber.keySet()));
+
+        quantitiesByProductNumber.forEach((productNumber, quantity) -> {
+            Stock stock = stockMap.get(productNumber);
+            if (stock == null || stock.isQuantityLessThan(quantity)) {
+                throw new IllegalArgumentException(NOT_ENOUGH_STOCK_MESSAGE);
+            }
+        });
+
+        quantitiesByProductNumber.forEach((productNumber, quantity) ->
+                stockMap.get(productNumber).deductQuantity(quantity));
+    }
+
+    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
+        List<Stock> stocks = stockRepository.findAllByNaturalIds(stockProductNumbers);
+        return stocks.stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
+    }
+}
@@ -0,0 +1,114 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockVersion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Stock 의 version 으로 충돌을 감지하고, 충돌하면 잠시 쉬었다가 주문 트랜잭션을 다시 실행한다.
+ *
+ * 읽은 version 이 그대로일 때만 차감하는 UPDATE 를 주문 트랜잭션 안에서 실행한다. (커넥션을 따로 쓰지 않는다)
+ * 충돌하면 OptimisticLockingFailureException 으로 주문 트랜잭션을 롤백시킨다. 먼저 차감한 행도 이때 되돌려지고 잠금이 풀린다.
+ * 쉬었다가 다시 시도하는 건 트랜잭션이 끝난 뒤 retryOnConflict() 에서 한다. (잠금을 쥔 채로 쉬지 않는다)
+ */
+@Slf4j
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "optimistic")
+@Component
+public class OptimisticLockStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+    private final StockContentionMonitor stockContentionMonitor;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticLockStockDeductor(StockRepository stockRepository,
+                                       StockContentionMonitor stockContentionMonitor,
+                                       @Value("${cafekiosk.stock.optimistic.max-attempts:5}") int maxAttempts,
+                                       @Value("${cafekiosk.stock.optimistic.backoff-ms:10}") long backoffMillis) {
+        this.stockRepository = stockRepository;
+        this.stockContentionMonitor = stockContentionMonitor;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    // 재고 부족은 UPDATE 전에 확인하므로 바깥 트랜잭션(일괄 주문 등)을 롤백 대상으로 만들지 않는다.
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    @Override
+    public void deduct(Map<String, Integer> quantitiesByProductNumber) {
+        if (quantitiesByProductNumber.isEmpty()) {
+            return;
+        }
+
+        // 상품번호 순으로 읽고 UPDATE 해서 주문끼리 교착 상태에 빠지지 않게 한다.
+        List<StockVersion> stocks = stockRepository.findVersionsByProductNumberIn(new ArrayList<>(quantitiesByProductNumber.keySet()));
+        if (stocks.size() < quantitiesByProductNumber.size()) {
+            throw new IllegalArgumentException(NOT_ENOUGH_STOCK_MESSAGE);
+        }
+        for (StockVersion stock : stocks) {
+            if (stock.getQuantity() < quantitiesByProductNumber.get(stock.getProductNumber())) {
+                throw new IllegalArgumentException(NOT_ENOUGH_STOCK_MESSAGE);
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        for (StockVersion stock : stocks) {
+            int quantity = quantitiesByProductNumber.get(stock.getProductNumber());
+            if (stockRepository.deductQuantityIfVersion(stock.getProductNumber(), quantity, stock.getVersion()) == 0) {
+                recordContention(quantitiesByProductNumber, System.nanoTime() - startNanos, 1);
+                throw new OptimisticLockingFailureException("재고 차감 중 다른 주문과 충돌했습니다.");
+            }
+        }
+        recordContention(quantitiesByProductNumber, System.nanoTime() - startNanos, 0);
+    }
+
+    /**
+     * 충돌로 롤백된 주문 트랜잭션을 max-attempts 번까지 다시 실행한다.
+     * 바깥 트랜잭션 안에서 부르면 다시 실행해도 같은 (롤백 대상) 트랜잭션이므로 재시도하지 않는다.
+     */
+    @Override
+    public <T> T retryOnConflict(Supplier<T> orderTransaction) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return orderTransaction.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return orderTransaction.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new OptimisticLockingFailureException("재고 차감 중 충돌이 반복되어 주문을 처리하지 못했습니다.", e);
+                }
+                log.debug("재고 차감 충돌 {}회, 다시 시도합니다.", attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void recordContention(Map<String, Integer> quantitiesByProductNumber, long waitNanos, int retryCount) {
+        quantitiesByProductNumber.keySet()
+                .forEach(productNumber -> stockContentionMonitor.record(productNumber, waitNanos, retryCount));
+    }
+
+    private void backoff(int attempt) {
+        long exponentialBackoff = backoffMillis << Math.min(attempt - 1, 10);
+        long jitter = ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(exponentialBackoff + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 차감 재시도 중 인터럽트 되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShard;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 분할 재고 차감
+ *
+ * 분할된 상품은 임의의 분할 재고 하나를 골라 조건부 UPDATE 로 차감하고, 부족하면 다음 분할 재고로 넘어간다.
+ * 어느 한 곳에서도 다 차감할 수 없으면 Stock 행과 분할 재고를 잠그고 shardIndex 순으로 나눠서 차감하고,
+ * 분할 재고가 바닥나면 모자란 수량은 Stock 행(재분배 전에 입고된 수량)에서 차감한다.
+ * 분할하지 않은 상품은 조건부 UPDATE 방식과 같이 Stock 행에서 차감한다.
+ */
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "sharded")
+@RequiredArgsConstructor
+@Component
+public class ShardedStockDeductor implements StockDeductor {
+
+    private static final int UNSHARDED = -1;
+
+    private final StockRepository stockRepository;
+    private final StockShardRepository stockShardRepository;
+    private final StockShardRegistry stockShardRegistry;
+    private final StockContentionMonitor stockContentionMonitor;
+
+    // 실패 시 직접 되돌리므로 바깥 트랜잭션(일괄 주문 등)을 롤백 대상으로 만들지 않는다.
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    @Override
+    public void deduct(Map<String, Integer> quantitiesByProductNumber) {
+        List<Deduction> deducted = new ArrayList<>();
+
+        // 상품번호 순으로 차감해서 주문끼리 교착 상태에 빠지지 않게 한다.
+        for (Map.Entry<String, Integer> entry : new TreeMap<>(quantitiesByProductNumber).entrySet()) {
+            List<Deduction> productDeductions = deductProduct(entry.getKey(), entry.getValue());
+
+            if (productDeductions.isEmpty()) {
+                restore(deducted);
+                throw new IllegalArgumentException(NOT_ENOUGH_STOCK_MESSAGE);
+            }
+            deducted.addAll(productDeductions);
+        }
+    }
+
+    private List<Deduction> deductProduct(String productNumber, int quantity) {
+        long startNanos = System.nanoTime();
+        int shardCount = stockShardRegistry.getShardCount(productNumber);
+
+        if (shardCount == 0) {
+            if (stockRepository.deductQuantity(productNumber, quantity) == 1) {
+                stockContentionMonitor.record(productNumber, System.nanoTime() - startNanos, 0);
+                return List.of(new Deduction(productNumber, UNSHARDED, quantity));
+            }
+
+            // 다른 인스턴스에서 방금 분할해서 Stock 행이 비었을 수 있으므로 캐시를 버리고 다시 센다.
+            stockShardRegistry.evict(productNumber);
+            shardCount = stockShardRegistry.getShardCount(productNumber);
+            if (shardCount == 0) {
+                stockContentionMonitor.record(productNumber, System.nanoTime() - startNanos, 0);
+                return List.of();
+            }
+        }
+
+        int firstShardIndex = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shardIndex = (firstShardIndex + i) % shardCount;
+            if (stockShardRepository.deductQuantity(productNumber, shardIndex, quantity) == 1) {
+                stockContentionMonitor.record(productNumber, System.nanoTime() - startNanos, i);
+                return List.of(new Deduction(productNumber, shardIndex, quantity));
+            }
+        }
+
+        List<Deduction> split = deductAcrossShards(productNumber, quantity);
+        stockContentionMonitor.record(productNumber, System.nanoTime() - startNanos, shardCount);
+        return split;
+    }
+
+    /**
+     * 분할 재고 하나로는 부족할 때, 남은 수량을 shardIndex 순으로 나눠서 차감하고 모자라면 Stock 행에서 차감한다.
+     * 재분배(StockShardService.rebalance)와 같은 순서로 Stock 행 → 분할 재고를 잠근 뒤 차감하므로 재분배와 교착 상태에 빠지지 않는다.
+     */
+    private List<Deduction> deductAcrossShards(String productNumber, int quantity) {
+        int stockQuantity = stockRepository.findForUpdate(productNumber)
+                .map(Stock::getQuantity)
+                .orElse(0);
+        List<StockShard> shards = stockShardRepository.findAllForUpdate(productNumber);
+
+        long totalQuantity = stockQuantity + shards.stream().mapToLong(StockShard::getQuantity).sum();
+        if (totalQuantity < quantity) {
+            return List.of();
+        }
+
+        List<Deduction> deducted = new ArrayList<>();
+        int remaining = quantity;
+        for (StockShard shard : shards) {
+            int taken = Math.min(shard.getQuantity(), remaining);
+            if (taken == 0) {
+                continue;
+            }
+            // 잠근 뒤라 실패하지 않지만, 영속성 컨텍스트에 이전 수량이 남아 있던 경우를 대비해 조건부 UPDATE 결과를 확인한다.
+            if (stockShardRepository.deductQuantity(productNumber, shard.getShardIndex(), taken) == 0) {
+                restore(deducted);
+                return List.of();
+            }
+            deducted.add(new Deduction(productNumber, shard.getShardIndex(), taken));
+            remaining -= taken;
+            if (remaining == 0) {
+                return deducted;
+            }
+        }
+
+        if (stockRepository.deductQuantity(productNumber, remaining) == 0) {
+            restore(deducted);
+            return List.of();
+        }
+        deducted.add(new Deduction(productNumber, UNSHARDED, remaining));
+        return deducted;
+    }
+
+    private void restore(List<Deduction> deductions) {
+        for (Deduction deduction : deductions) {
+            if (deduction.shardIndex == UNSHARDED) {
+                stockRepository.addQuantity(deduction.productNumber, deduction.quantity);
+            } else {
+                stockShardRepository.addQuantity(deduction.productNumber, deduction.shardIndex, deduction.quantity);
+            }
+        }
+    }
+
+    private static class Deduction {
+
+        private final String productNumber;
+        private final int shardIndex;
+        private final int quantity;
+
+        private Deduction(String productNumber, int shardIndex, int quantity) {
+            this.productNumber = productNumber;
+            this.shardIndex = shardIndex;
+            this.quantity = quantity;
+        }
+    }
+}
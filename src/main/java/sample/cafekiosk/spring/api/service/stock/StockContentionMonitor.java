@@ -0,0 +1,87 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.service.stock.response.StockContentionResponse;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 상품별 재고 차감 경합 지표
+ *
+ * 차감 구현체가 상품마다 차감에 걸린 시간(행 잠금 대기 포함)과 재시도 횟수를 기록한다.
+ * 표본이 min-samples 이상이고 평균 대기 시간이 wait-threshold-ms 이상이거나 재시도 비율이 retry-ratio 이상이면
+ * 재고를 분할할 후보로 본다.
+ */
+@Component
+public class StockContentionMonitor {
+
+    private final long waitThresholdNanos;
+    private final double retryRatioThreshold;
+    private final long minSampleCount;
+
+    private final ConcurrentMap<String, ContentionCounter> counters = new ConcurrentHashMap<>();
+
+    public StockContentionMonitor(@Value("${cafekiosk.stock.contention.wait-threshold-ms:5}") long waitThresholdMillis,
+                                  @Value("${cafekiosk.stock.contention.retry-ratio:0.1}") double retryRatioThreshold,
+                                  @Value("${cafekiosk.stock.contention.min-samples:100}") long minSampleCount) {
+        this.waitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(waitThresholdMillis);
+        this.retryRatioThreshold = retryRatioThreshold;
+        this.minSampleCount = minSampleCount;
+    }
+
+    public void record(String productNumber, long waitNanos, int retryCount) {
+        ContentionCounter counter = counters.computeIfAbsent(productNumber, key -> new ContentionCounter());
+        counter.deductionCount.increment();
+        counter.retryCount.add(retryCount);
+        counter.totalWaitNanos.add(waitNanos);
+        counter.maxWaitNanos.accumulate(waitNanos);
+    }
+
+    /**
+     * 대기 시간 합계가 큰 상품부터 반환한다.
+     */
+    public List<StockContentionResponse> getStatistics() {
+        return counters.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> -entry.getValue().totalWaitNanos.sum()))
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private StockContentionResponse toResponse(String productNumber, ContentionCounter counter) {
+        long deductionCount = counter.deductionCount.sum();
+        long retryCount = counter.retryCount.sum();
+        long averageWaitNanos = deductionCount == 0 ? 0 : counter.totalWaitNanos.sum() / deductionCount;
+
+        boolean shardRecommended = deductionCount >= minSampleCount
+                && (averageWaitNanos >= waitThresholdNanos || (double) retryCount / deductionCount >= retryRatioThreshold);
+
+        return StockContentionResponse.builder()
+                .productNumber(productNumber)
+                .deductionCount(deductionCount)
+                .retryCount(retryCount)
+                .averageWaitMillis(averageWaitNanos / 1_000_000.0)
+                .maxWaitMillis(counter.maxWaitNanos.get() / 1_000_000.0)
+                .shardRecommended(shardRecommended)
+                .build();
+    }
+
+    private static class ContentionCounter {
+
+        private final LongAdder deductionCount = new LongAdder();
+        private final LongAdder retryCount = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+    }
+}
@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 주문 시 재고 차감 전략
+ * cafekiosk.stock.deduction-mode 설정으로 구현체를 선택한다.
+ *
+ * 차감은 전부 성공하거나 전부 실패해야 한다. (일부 상품만 차감된 채로 예외가 나가면 안 된다)
+ */
+public interface StockDeductor {
+
+    String NOT_ENOUGH_STOCK_MESSAGE = "재고가 부족한 상품이 있습니다.";
+
+    void deduct(Map<String, Integer> quantitiesByProductNumber);
+
+    /**
+     * 주문 트랜잭션을 실행한다. 차감이 다른 주문과 충돌하면 트랜잭션 전체를 다시 실행하는 방식은 여기서 재시도한다.
+     * 주문 트랜잭션 밖에서 부른다. 기본은 한 번만 실행한다.
+     */
+    default <T> T retryOnConflict(Supplier<T> orderTransaction) {
+        return orderTransaction.get();
+    }
+}
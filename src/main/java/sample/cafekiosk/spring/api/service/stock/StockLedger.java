@@ -0,0 +1,259 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 인메모리 재고 원장 (write-behind)
+ *
+ * 상품별 재고를 AtomicInteger 로 들고 있다가 CAS 로 차감 여부를 바로 결정한다.
+ * 커밋된 차감량은 상품별로 모아 두었다가 주기적으로 Stock 에 반영한다. 차감 여부는 원장이 이미 결정했으므로
+ * 수량을 확인하지 않는 UPDATE 를 상품마다 따로 커밋한다. (한 상품이 실패해도 다른 상품의 반영은 막지 않는다)
+ *
+ * 원장이 켜져 있는 동안 재고의 기준은 원장이다. Stock 테이블을 직접 수정했다면 evictAll() 로 다시 적재해야 한다.
+ * 차감부터 주문 트랜잭션이 끝날 때까지를 진행 중인 차감으로 세고, evictAll() 은 진행 중인 차감이 없을 때만 원장을 비운다.
+ * (커밋 전 차감이 남은 채로 비우면 다시 적재한 수량에 그 차감이 빠지고, 롤백 시 되돌릴 원장 항목도 없다)
+ */
+@Slf4j
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "ledger")
+@Component
+public class StockLedger implements StockDeductor {
+
+    private static final long EVICTION_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<String, AtomicInteger> availableQuantities = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> pendingDeductions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private volatile boolean evicting;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockLedger(StockRepository stockRepository, PlatformTransactionManager transactionManager) {
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantitiesByProductNumber) {
+        if (quantitiesByProductNumber.isEmpty()) {
+            return;
+        }
+        enterDeduction();
+        Map<String, Integer> deducted = new LinkedHashMap<>();
+        try {
+            seed(quantitiesByProductNumber.keySet());
+
+            for (Map.Entry<String, Integer> entry : quantitiesByProductNumber.entrySet()) {
+                AtomicInteger available = availableQuantities.get(entry.getKey());
+
+                if (available == null || !tryDeduct(available, entry.getValue())) {
+                    throw new IllegalArgumentException(NOT_ENOUGH_STOCK_MESSAGE);
+                }
+                deducted.put(entry.getKey(), entry.getValue());
+            }
+        } catch (RuntimeException e) {
+            restore(deducted);
+            exitDeduction();
+            throw e;
+        }
+
+        // 진행 중인 차감은 트랜잭션이 끝날 때 빠진다.
+        recordAfterCompletion(deducted);
+    }
+
+    public int getAvailableQuantity(String productNumber) {
+        seed(List.of(productNumber));
+        AtomicInteger available = availableQuantities.get(productNumber);
+        return available == null ? 0 : available.get();
+    }
+
+    /**
+     * 모아둔 차감량을 Stock 에 반영한다. 상품당 UPDATE 한 번.
+     * 반영하지 못한 상품의 차감량은 다음 주기에 다시 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        flushPendingDeductions();
+    }
+
+    /**
+     * 남은 차감량을 반영하고 원장을 비운다. 다음 차감 시 Stock 테이블에서 다시 적재한다.
+     * 새 차감을 막고 진행 중인 차감의 트랜잭션이 모두 끝날 때까지 기다리므로 주문 트랜잭션 밖에서 부른다.
+     * 반영하지 못한 차감량이 남으면 원장을 비우지 않는다. (비우면 그 차감이 빠진 수량으로 다시 적재해서 초과 판매한다)
+     */
+    public void evictAll() {
+        evicting = true;
+        try {
+            while (inFlightCount.get() > 0) {
+                LockSupport.parkNanos(EVICTION_WAIT_NANOS);
+            }
+            if (!flushPendingDeductions()) {
+                throw new IllegalStateException("재고 원장을 반영하지 못해 원장을 비우지 않았습니다.");
+            }
+            availableQuantities.clear();
+        } finally {
+            evicting = false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void seed(Collection<String> productNumbers) {
+        List<String> missingProductNumbers = productNumbers.stream()
+                .filter(productNumber -> !availableQuantities.containsKey(productNumber))
+                .collect(Collectors.toList());
+
+        if (missingProductNumbers.isEmpty()) {
+            return;
+        }
+
+        for (Stock stock : stockRepository.findAllByProductNumberIn(missingProductNumbers)) {
+            availableQuantities.putIfAbsent(stock.getProductNumber(), new AtomicInteger(stock.getQuantity()));
+        }
+    }
+
+    private boolean tryDeduct(AtomicInteger available, int quantity) {
+        while (true) {
+            int current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * evictAll() 이 원장을 비우는 중이면 끝날 때까지 기다린다.
+     * 진행 중인 차감 수를 먼저 올리고 evicting 을 확인하므로, evictAll() 이 세는 수에서 빠지는 차감은 없다.
+     */
+    private void enterDeduction() {
+        while (true) {
+            inFlightCount.incrementAndGet();
+            if (!evicting) {
+                return;
+            }
+            inFlightCount.decrementAndGet();
+            while (evicting) {
+                LockSupport.parkNanos(EVICTION_WAIT_NANOS);
+            }
+        }
+    }
+
+    private void exitDeduction() {
+        inFlightCount.decrementAndGet();
+    }
+
+    private void restore(Map<String, Integer> deducted) {
+        deducted.forEach((productNumber, quantity) -> {
+            AtomicInteger available = availableQuantities.get(productNumber);
+            if (available != null) {
+                available.addAndGet(quantity);
+            }
+        });
+    }
+
+    /**
+     * 주문 트랜잭션이 롤백되면 원장 차감도 되돌리고, 커밋된 경우에만 반영 대상에 올린다.
+     */
+    private void recordAfterCompletion(Map<String, Integer> deducted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deducted.forEach(this::addPendingDeduction);
+            exitDeduction();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        deducted.forEach(StockLedger.this::addPendingDeduction);
+                        return;
+                    }
+                    restore(deducted);
+                } finally {
+                    exitDeduction();
+                }
+            }
+        });
+    }
+
+    private void addPendingDeduction(String productNumber, int quantity) {
+        pendingDeductions.computeIfAbsent(productNumber, key -> new AtomicInteger())
+                .addAndGet(quantity);
+    }
+
+    private Map<String, Integer> drainPendingDeductions() {
+        Map<String, Integer> deductions = new HashMap<>();
+        pendingDeductions.forEach((productNumber, pending) -> {
+            int quantity = pending.getAndSet(0);
+            if (quantity > 0) {
+                deductions.put(productNumber, quantity);
+            }
+        });
+        return deductions;
+    }
+
+    /**
+     * 주기적인 flush 와 evictAll() 이 겹치면, 먼저 꺼내 간 차감량이 커밋되기 전에 원장을 비울 수 있으므로 한 번에 하나만 반영한다.
+     *
+     * @return 꺼낸 차감량을 모두 반영했으면 true
+     */
+    private boolean flushPendingDeductions() {
+        flushLock.lock();
+        try {
+            boolean flushed = true;
+            for (Map.Entry<String, Integer> entry : drainPendingDeductions().entrySet()) {
+                flushed &= applyDeduction(entry.getKey(), entry.getValue());
+            }
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean applyDeduction(String productNumber, int quantity) {
+        try {
+            Integer updatedCount = transactionTemplate.execute(status -> stockRepository.subtractQuantity(productNumber, quantity));
+            if (updatedCount == null || updatedCount == 0) {
+                log.warn("재고 행이 없어 원장 차감량을 반영하지 못했습니다. 상품번호 {}, 차감량 {}", productNumber, quantity);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("재고 원장 반영에 실패했습니다. 다음 주기에 다시 반영합니다. 상품번호 {}, 차감량 {}", productNumber, quantity, e);
+            addPendingDeduction(productNumber, quantity);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 분할 재고를 주기적으로 재분배한다. 상품마다 별도 트랜잭션으로 처리해서 잠금을 짧게 잡는다.
+ */
+@Slf4j
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "sharded")
+@RequiredArgsConstructor
+@Component
+public class StockShardRebalancer {
+
+    private final StockShardService stockShardService;
+
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.sharded.rebalance-interval-ms:5000}")
+    public void rebalanceAll() {
+        for (String productNumber : stockShardService.findShardedProductNumbers()) {
+            try {
+                stockShardService.rebalance(productNumber);
+            } catch (RuntimeException e) {
+                log.warn("분할 재고 재분배 실패 productNumber={}", productNumber, e);
+            }
+        }
+    }
+}
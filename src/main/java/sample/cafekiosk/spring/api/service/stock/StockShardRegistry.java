@@ -0,0 +1,61 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 상품별 분할 재고 개수 캐시
+ * 차감할 때마다 개수를 세지 않도록 들고 있고, 다른 인스턴스에서 분할한 경우를 위해 cache-ms 가 지나면 다시 센다.
+ */
+@Component
+public class StockShardRegistry {
+
+    private final StockShardRepository stockShardRepository;
+    private final long cacheMillis;
+
+    private final ConcurrentMap<String, ShardCount> shardCounts = new ConcurrentHashMap<>();
+
+    public StockShardRegistry(StockShardRepository stockShardRepository,
+                              @Value("${cafekiosk.stock.sharded.shard-count-cache-ms:10000}") long cacheMillis) {
+        this.stockShardRepository = stockShardRepository;
+        this.cacheMillis = cacheMillis;
+    }
+
+    /**
+     * @return 분할 재고 개수 (0 이면 분할하지 않은 상품)
+     */
+    public int getShardCount(String productNumber) {
+        long now = System.currentTimeMillis();
+        ShardCount cached = shardCounts.get(productNumber);
+        if (cached != null && now - cached.loadedAtMillis < cacheMillis) {
+            return cached.count;
+        }
+
+        int count = stockShardRepository.countByProductNumber(productNumber);
+        shardCounts.put(productNumber, new ShardCount(count, now));
+        return count;
+    }
+
+    public void evict(String productNumber) {
+        shardCounts.remove(productNumber);
+    }
+
+    public void evictAll() {
+        shardCounts.clear();
+    }
+
+    private static class ShardCount {
+
+        private final int count;
+        private final long loadedAtMillis;
+
+        private ShardCount(int count, long loadedAtMillis) {
+            this.count = count;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.stock.response.StockShardResponse;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShard;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 분할 / 재분배
+ * 잠금 순서는 항상 Stock 행 -> 분할 재고(shardIndex 순) 이다.
+ * 분할 재고는 ShardedStockDeductor 만 읽으므로 sharded 모드에서만 등록한다. (다른 모드에서 분할하면 품절로 보인다)
+ */
+@ConditionalOnProperty(name = "cafekiosk.stock.deduction-mode", havingValue = "sharded")
+@Transactional
+@RequiredArgsConstructor
+@Service
+public class StockShardService {
+
+    private static final int MIN_SHARD_COUNT = 2;
+    private static final int MAX_SHARD_COUNT = 64;
+
+    private final StockRepository stockRepository;
+    private final StockShardRepository stockShardRepository;
+    private final StockShardRegistry stockShardRegistry;
+
+    /**
+     * Stock 행의 수량을 shardCount 개의 분할 재고로 고르게 옮긴다.
+     */
+    public List<StockShardResponse> shard(String productNumber, int shardCount) {
+        if (shardCount < MIN_SHARD_COUNT || shardCount > MAX_SHARD_COUNT) {
+            throw new IllegalArgumentException("재고 분할 개수는 2개 이상 64개 이하여야 합니다.");
+        }
+
+        Stock stock = stockRepository.findForUpdate(productNumber)
+                .orElseThrow(() -> new IllegalArgumentException("재고가 존재하지 않습니다."));
+        if (stockShardRepository.countByProductNumber(productNumber) > 0) {
+            throw new IllegalArgumentException("이미 분할된 재고입니다.");
+        }
+
+        int[] quantities = distribute(stock.takeAllQuantity(), shardCount);
+        List<StockShard> shards = new ArrayList<>();
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            shards.add(StockShard.create(productNumber, shardIndex, quantities[shardIndex]));
+        }
+        stockShardRepository.saveAll(shards);
+        evictShardCountAfterCommit(productNumber);
+
+        return shards.stream()
+                .map(StockShardResponse::of)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 한쪽으로 치우친 분할 재고를 다시 고르게 나눈다. Stock 행에 새로 입고된 수량도 함께 나눠 넣는다.
+     *
+     * @return 재분배했으면 true
+     */
+    public boolean rebalance(String productNumber) {
+        Stock stock = stockRepository.findForUpdate(productNumber).orElse(null);
+        List<StockShard> shards = stockShardRepository.findAllForUpdate(productNumber);
+        if (shards.isEmpty()) {
+            return false;
+        }
+
+        int pendingQuantity = stock == null ? 0 : stock.getQuantity();
+        if (pendingQuantity == 0 && !isSkewed(shards)) {
+            return false;
+        }
+        if (stock != null) {
+            stock.takeAllQuantity();
+        }
+
+        int total = pendingQuantity + shards.stream().mapToInt(StockShard::getQuantity).sum();
+        int[] quantities = distribute(total, shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).changeQuantity(quantities[i]);
+        }
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findShardedProductNumbers() {
+        return stockShardRepository.findShardedProductNumbers();
+    }
+
+    /**
+     * 가장 적은 분할 재고가 평균의 절반보다 적으면 치우쳤다고 본다.
+     * (그 분할 재고를 고른 주문은 형제 분할 재고로 넘어가야 해서 UPDATE 가 늘어난다)
+     */
+    private boolean isSkewed(List<StockShard> shards) {
+        int total = shards.stream().mapToInt(StockShard::getQuantity).sum();
+        int min = shards.stream().mapToInt(StockShard::getQuantity).min().orElse(0);
+        return (long) min * 2 * shards.size() < total;
+    }
+
+    private int[] distribute(int total, int shardCount) {
+        int[] quantities = new int[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            quantities[i] = total / shardCount + (i < total % shardCount ? 1 : 0);
+        }
+        return quantities;
+    }
+
+    private void evictShardCountAfterCommit(String productNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockShardRegistry.evict(productNumber);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockShardRegistry.evict(productNumber);
+            }
+        });
+    }
+}
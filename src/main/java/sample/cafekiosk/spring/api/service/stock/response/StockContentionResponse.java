@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.api.service.stock.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class StockContentionResponse {
+
+    private final String productNumber;
+    private final long deductionCount;
+    private final long retryCount;
+    private final double averageWaitMillis;
+    private final double maxWaitMillis;
+    private final boolean shardRecommended;
+
+    @Builder
+    private StockContentionResponse(String productNumber, long deductionCount, long retryCount,
+                                    double averageWaitMillis, double maxWaitMillis, boolean shardRecommended) {
+        this.productNumber = productNumber;
+        this.deductionCount = deductionCount;
+        this.retryCount = retryCount;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.shardRecommended = shardRecommended;
+    }
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.stock.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.stock.StockShard;
+
+@Getter
+public class StockShardResponse {
+
+    private final String productNumber;
+    private final int shardIndex;
+    private final int quantity;
+
+    @Builder
+    private StockShardResponse(String productNumber, int shardIndex, int quantity) {
+        this.productNumber = productNumber;
+        this.shardIndex = shardIndex;
+        this.quantity = quantity;
+    }
+
+    public static StockShardResponse of(StockShard stockShard) {
+        return StockShardResponse.builder()
+                .productNumber(stockShard.getProductNumber())
+                .shardIndex(stockShard.getShardIndex())
+                .quantity(stockShard.getQuantity())
+                .build();
+    }
+}
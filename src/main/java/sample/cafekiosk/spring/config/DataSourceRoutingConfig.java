@@ -0,0 +1,74 @@
+package sample.cafekiosk.spring.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * cafekiosk.datasource.routing.enabled=true 이면 readOnly 트랜잭션을 replica 로 보낸다.
+ * primary 는 spring.datasource.*, replica 는 cafekiosk.datasource.replica.* 로 설정한다.
+ * 꺼져 있으면 아무 빈도 등록하지 않고 Spring Boot 기본 DataSource 하나만 쓴다.
+ */
+@ConditionalOnProperty(name = "cafekiosk.datasource.routing.enabled", havingValue = "true")
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @ConfigurationProperties("spring.datasource.hikari")
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary-pool");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${cafekiosk.datasource.replica.url}") String url,
+                                              @Value("${cafekiosk.datasource.replica.driver-class-name:org.h2.Driver}") String driverClassName,
+                                              @Value("${cafekiosk.datasource.replica.username:sa}") String username,
+                                              @Value("${cafekiosk.datasource.replica.password:}") String password,
+                                              @Value("${cafekiosk.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .driverClassName(driverClassName)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica-pool");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesPolicy readYourWritesPolicy(@Value("${cafekiosk.datasource.replica.max-lag-ms:1000}") long maxLagMillis) {
+        return new ReadYourWritesPolicy(maxLagMillis);
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesPolicy readYourWritesPolicy) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(readYourWritesPolicy);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * cafekiosk.execution.mode=virtual 이면 Tomcat 요청 처리와 @Async 작업을 가상 스레드에서 실행한다.
+ * platform 이면 아무 빈도 등록하지 않고 Spring Boot 기본 스레드 풀을 그대로 쓴다.
+ */
+@EnableAsync
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    public ExecutionMode executionMode(@Value("${cafekiosk.execution.mode:platform}") ExecutionMode executionMode) {
+        if (!executionMode.isSupported()) {
+            throw new IllegalStateException("cafekiosk.execution.mode=" + executionMode.name().toLowerCase()
+                    + " 는 이 JDK(" + Runtime.version().feature() + ")에서 쓸 수 없습니다. (JDK 21 이상)");
+        }
+        return executionMode;
+    }
+
+    @ConditionalOnProperty(name = "cafekiosk.execution.mode", havingValue = "virtual")
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(ExecutionMode.VIRTUAL.threadPerTaskExecutor("http-"));
+    }
+
+    /**
+     * Spring Boot 의 applicationTaskExecutor 를 대신한다. (@Async 기본 실행기)
+     */
+    @ConditionalOnProperty(name = "cafekiosk.execution.mode", havingValue = "virtual")
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor virtualThreadTaskExecutor() {
+        return new TaskExecutorAdapter(ExecutionMode.VIRTUAL.threadPerTaskExecutor("task-"));
+    }
+}
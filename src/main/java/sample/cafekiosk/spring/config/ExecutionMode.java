@@ -0,0 +1,87 @@
+package sample.cafekiosk.spring.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 처리, @Async, 메일 전송을 어떤 스레드에서 실행할지 (cafekiosk.execution.mode)
+ *
+ * PLATFORM: 기존 방식. 동시 처리량이 스레드 풀 크기로 제한된다.
+ * VIRTUAL: 작업마다 가상 스레드를 만든다. JDBC / 메일처럼 I/O 대기가 긴 작업에서 동시 처리량이 스레드 수에 묶이지 않는다.
+ *          대신 synchronized 안에서 블로킹하면 캐리어 스레드가 고정(pinning)되므로 핫패스에서는 ReentrantLock 을 쓴다.
+ *          빌드는 JDK 17 기준이므로 가상 스레드 API(Thread.ofVirtual)는 리플렉션으로 부르고, JDK 21 미만에서는 쓸 수 없다.
+ */
+public enum ExecutionMode {
+
+    PLATFORM {
+        @Override
+        public boolean isSupported() {
+            return true;
+        }
+
+        @Override
+        public ThreadFactory threadFactory(String namePrefix) {
+            AtomicLong sequence = new AtomicLong(1);
+            return runnable -> {
+                Thread thread = new Thread(runnable, namePrefix + sequence.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    },
+    VIRTUAL {
+        @Override
+        public boolean isSupported() {
+            return VirtualThreads.OF_VIRTUAL != null;
+        }
+
+        @Override
+        public ThreadFactory threadFactory(String namePrefix) {
+            if (!isSupported()) {
+                throw new IllegalStateException("가상 스레드는 JDK 21 이상에서만 쓸 수 있습니다.");
+            }
+            return VirtualThreads.factory(namePrefix);
+        }
+    };
+
+    public abstract boolean isSupported();
+
+    public abstract ThreadFactory threadFactory(String namePrefix);
+
+    /**
+     * 작업마다 새 스레드를 만들어 실행한다. (JDK 21 Executors.newThreadPerTaskExecutor 대신)
+     */
+    public Executor threadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = threadFactory(namePrefix);
+        return task -> threadFactory.newThread(task).start();
+    }
+
+    private static class VirtualThreads {
+
+        private static final Method OF_VIRTUAL = findOfVirtual();
+
+        private static Method findOfVirtual() {
+            try {
+                return Thread.class.getMethod("ofVirtual");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Thread.ofVirtual().name(namePrefix, 1).factory()
+         */
+        private static ThreadFactory factory(String namePrefix) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                Class<?> builderType = OF_VIRTUAL.getReturnType();
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("가상 스레드 팩토리를 만들지 못했습니다.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * readOnly 트랜잭션은 replica, 나머지(쓰기 트랜잭션, 트랜잭션 밖)는 primary 커넥션을 준다.
+ *
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 바인딩되지 않으므로
+ * LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 때 커넥션을 고르게 해야 한다.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReadYourWritesPolicy readYourWritesPolicy;
+
+    ReadWriteRoutingDataSource(ReadYourWritesPolicy readYourWritesPolicy) {
+        this.readYourWritesPolicy = readYourWritesPolicy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readYourWritesPolicy.isPrimaryRequired() ? PRIMARY : REPLICA;
+        }
+
+        readYourWritesPolicy.recordOnCommit();
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * replica 지연 허용 정책 (read-your-writes)
+ *
+ * replica 는 primary 보다 최대 max-lag-ms 만큼 늦을 수 있다고 본다.
+ * 쓰기 트랜잭션이 커밋되면 그 시점부터 max-lag-ms 동안은 readOnly 트랜잭션도 primary 에서 읽는다.
+ * (createProduct 직후의 판매 상품 목록 갱신, 방금 등록한 상품 조회 등이 replica 의 옛 데이터를 보지 않게)
+ *
+ * 커밋 시각은 인스턴스 메모리에만 남기므로, 다른 인스턴스에서 쓴 내용은 replica 지연만큼 늦게 보일 수 있다.
+ */
+public class ReadYourWritesPolicy {
+
+    private final long maxLagNanos;
+    private final AtomicLong primaryUntilNanos;
+
+    public ReadYourWritesPolicy(long maxLagMillis) {
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+        this.primaryUntilNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 진행 중인 쓰기 트랜잭션이 커밋되면 지연 허용 구간을 다시 시작한다.
+     * 다른 afterCommit 콜백(판매 상품 목록 갱신 등)이 primary 에서 읽도록 가장 먼저 실행한다.
+     */
+    public void recordOnCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                recordCommit();
+            }
+        });
+    }
+
+    public void recordCommit() {
+        long until = System.nanoTime() + maxLagNanos;
+        primaryUntilNanos.accumulateAndGet(until, (current, candidate) -> candidate - current > 0 ? candidate : current);
+    }
+
+    public boolean isPrimaryRequired() {
+        return primaryUntilNanos.get() - System.nanoTime() > 0;
+    }
+}
@@ -0,0 +1,78 @@
+package sample.cafekiosk.spring.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 pinning 감시
+ *
+ * JFR 의 jdk.VirtualThreadPinned 이벤트(synchronized / native 프레임 안에서 블로킹)를 구독해서
+ * threshold 이상 고정된 경우 횟수를 세고 스택을 로그로 남긴다.
+ * 우리 코드의 핫패스는 ReentrantLock 을 쓰므로, 여기 찍히는 스택은 주로 드라이버 / 라이브러리 쪽이다.
+ */
+@Slf4j
+@ConditionalOnProperty(name = "cafekiosk.execution.mode", havingValue = "virtual")
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAME_COUNT = 5;
+
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(@Value("${cafekiosk.execution.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(threshold)
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedCount.increment();
+        log.warn("가상 스레드 pinning {} ms\n{}", event.getDuration().toMillis(), topFrames(event));
+    }
+
+    private String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(스택 없음)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAME_COUNT)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
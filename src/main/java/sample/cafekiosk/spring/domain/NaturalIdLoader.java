@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.domain;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * @NaturalId 값으로 여러 엔티티를 한 번에 읽는다.
+ *
+ * 영속성 컨텍스트 -> natural-id 캐시 순으로 natural id -> id 를 찾고, 찾지 못한 것만 모아서 DB 에서 읽는다.
+ * 요청한 순서대로 돌려주고, 없는 값은 건너뛴다. (중복 값은 한 번만 읽는다)
+ */
+public final class NaturalIdLoader {
+
+    private NaturalIdLoader() {
+    }
+
+    public static <T> List<T> loadAll(EntityManager entityManager, Class<T> entityType, Collection<String> naturalIds) {
+        if (naturalIds.isEmpty()) {
+            return List.of();
+        }
+
+        return entityManager.unwrap(Session.class)
+                .byMultipleNaturalId(entityType)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(naturalIds)))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
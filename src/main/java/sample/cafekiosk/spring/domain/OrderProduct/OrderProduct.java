@@ -7,13 +7,19 @@ import sample.cafekiosk.spring.domain.BaseEntity;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.product.Product;
 
+/**
+ * 주문 상품 한 줄
+ * 같은 상품은 수량으로 묶고, 주문 시점의 상품번호/이름/가격을 함께 저장한다.
+ * (주문 조회 시 Product 를 다시 읽지 않는다)
+ */
 @Getter
 @NoArgsConstructor
 @Entity
 public class OrderProduct extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_product_seq_generator")
+    @SequenceGenerator(name = "order_product_seq_generator", sequenceName = "order_product_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,8 +28,24 @@ public class OrderProduct extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
-    public OrderProduct(Order order, Product product) {
+    private String productNumber;
+
+    private String productName;
+
+    private int price;
+
+    private int quantity;
+
+    public OrderProduct(Order order, Product product, int quantity) {
         this.order = order;
         this.product = product;
+        this.productNumber = product.getProductNumber();
+        this.productName = product.getName();
+        this.price = product.getPrice();
+        this.quantity = quantity;
+    }
+
+    public int calculateAmount() {
+        return price * quantity;
     }
 }
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.OrderProduct;
+
+import lombok.Getter;
+
+/**
+ * 주문 조회용 projection (엔티티를 만들지 않고 필요한 컬럼만 읽는다)
+ */
+@Getter
+public class OrderProductLine {
+
+    private final Long orderId;
+    private final String productNumber;
+    private final String productName;
+    private final int price;
+    private final int quantity;
+
+    public OrderProductLine(Long orderId, String productNumber, String productName, int price, int quantity) {
+        this.orderId = orderId;
+        this.productNumber = productNumber;
+        this.productName = productName;
+        this.price = price;
+        this.quantity = quantity;
+    }
+}
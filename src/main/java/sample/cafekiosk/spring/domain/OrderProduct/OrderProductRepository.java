@@ -1,6 +1,14 @@
 package sample.cafekiosk.spring.domain.OrderProduct;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
+
+    @Query("select new sample.cafekiosk.spring.domain.OrderProduct.OrderProductLine(op.order.id, op.productNumber, op.productName, op.price, op.quantity) " +
+            "from OrderProduct op where op.order.id in :orderIds order by op.id")
+    List<OrderProductLine> findLinesByOrderIdIn(@Param("orderIds") List<Long> orderIds);
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,7 +17,8 @@ import sample.cafekiosk.spring.domain.BaseEntity;
 public class MailHistory extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_history_seq_generator")
+    @SequenceGenerator(name = "mail_history_seq_generator", sequenceName = "mail_history_seq", allocationSize = 50)
     private Long id;
 
     private String fromEmail;
@@ -2,5 +2,5 @@ package sample.cafekiosk.spring.domain.history.mail;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface MailSendHistoryRepository extends JpaRepository<MailHistory,MailHistory> {
+public interface MailSendHistoryRepository extends JpaRepository<MailHistory, Long> {
 }
@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.domain.idempotency;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * Idempotency-Key 로 처리한 주문 기록
+ * 주문을 저장한 트랜잭션 안에서 같이 저장한다. 같은 키로 동시에 들어온 요청은 unique 제약에 걸려 주문까지 롤백된다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_record_key", columnNames = "idempotency_key"))
+@Entity
+public class IdempotencyRecord extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_record_seq_generator")
+    @SequenceGenerator(name = "idempotency_record_seq_generator", sequenceName = "idempotency_record_seq", allocationSize = 50)
+    private Long id;
+
+    private String idempotencyKey;
+
+    private String requestHash;
+
+    private Long orderId;
+
+    @Builder
+    private IdempotencyRecord(String idempotencyKey, String requestHash, Long orderId) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.orderId = orderId;
+    }
+
+    public static IdempotencyRecord create(String idempotencyKey, String requestHash) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .build();
+    }
+
+    public void complete(Long orderId) {
+        this.orderId = orderId;
+    }
+}
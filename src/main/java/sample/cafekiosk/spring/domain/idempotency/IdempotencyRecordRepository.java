@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdDateTime < :dateTime")
+    int deleteAllCreatedBefore(@Param("dateTime") LocalDateTime dateTime);
+}
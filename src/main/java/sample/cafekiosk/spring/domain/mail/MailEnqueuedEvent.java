@@ -0,0 +1,7 @@
+package sample.cafekiosk.spring.domain.mail;
+
+/**
+ * outbox 에 메일이 쌓였다. 커밋 후 디스패처를 바로 깨우는 용도 (주기 실행을 기다리지 않게)
+ */
+public class MailEnqueuedEvent {
+}
@@ -0,0 +1,105 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+import sample.cafekiosk.spring.domain.history.mail.MailHistory;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메일 전송 outbox
+ * 메일 요청은 호출한 쪽 트랜잭션에서 이 테이블에 쌓이고, MailOutboxDispatcher 가 꺼내서 전송한다.
+ *
+ * nextAttemptAt 은 상태에 따라 의미가 다르다.
+ * PENDING: 다음 전송 시도 시각, SENDING: 전송 점유 만료 시각 (디스패처가 죽으면 만료 후 다시 가져간다)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_mail_outbox_status_next_attempt_at", columnList = "status, next_attempt_at"))
+@Entity
+public class MailOutbox extends BaseEntity {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_outbox_seq_generator")
+    @SequenceGenerator(name = "mail_outbox_seq_generator", sequenceName = "mail_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private String fromEmail;
+    private String email;
+    private String subject;
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    private MailOutboxStatus status;
+
+    private int attemptCount;
+
+    private LocalDateTime nextAttemptAt;
+
+    private String lastError;
+
+    @Builder
+    private MailOutbox(String fromEmail, String email, String subject, String content, MailOutboxStatus status, LocalDateTime nextAttemptAt) {
+        this.fromEmail = fromEmail;
+        this.email = email;
+        this.subject = subject;
+        this.content = content;
+        this.status = status;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public static MailOutbox create(String fromEmail, String email, String subject, String content, LocalDateTime requestedDateTime) {
+        return MailOutbox.builder()
+                .fromEmail(fromEmail)
+                .email(email)
+                .subject(subject)
+                .content(content)
+                .status(MailOutboxStatus.PENDING)
+                .nextAttemptAt(requestedDateTime)
+                .build();
+    }
+
+    public void startSending(LocalDateTime leaseExpiresAt) {
+        this.status = MailOutboxStatus.SENDING;
+        this.attemptCount++;
+        this.nextAttemptAt = leaseExpiresAt;
+    }
+
+    public void markSent() {
+        this.status = MailOutboxStatus.SENT;
+        this.lastError = null;
+    }
+
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.status = MailOutboxStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void markFailed(String error) {
+        this.status = MailOutboxStatus.FAILED;
+        this.lastError = truncate(error);
+    }
+
+    public MailHistory toHistory() {
+        return MailHistory.builder()
+                .fromEmail(fromEmail)
+                .email(email)
+                .subject(subject)
+                .content(content)
+                .build();
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    /**
+     * select *
+     * from mail_outbox
+     * where status in ('PENDING', 'SENDING') and next_attempt_at <= ?
+     * order by id
+     * limit ?
+     * for update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from MailOutbox o where o.status in :statuses and o.nextAttemptAt <= :now order by o.id")
+    List<MailOutbox> findDispatchable(@Param("statuses") List<MailOutboxStatus> statuses, @Param("now") LocalDateTime now, Pageable pageable);
+
+    List<MailOutbox> findAllByStatus(MailOutboxStatus status);
+}
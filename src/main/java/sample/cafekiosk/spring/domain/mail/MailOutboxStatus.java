@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum MailOutboxStatus {
+
+    PENDING("전송대기"),
+    SENDING("전송중"),
+    SENT("전송완료"),
+    FAILED("전송실패");
+
+    private final String text;
+}
@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import lombok.*;
 import sample.cafekiosk.spring.domain.BaseEntity;
 import sample.cafekiosk.spring.domain.OrderProduct.OrderProduct;
+import sample.cafekiosk.spring.domain.pricing.PricingTable;
 import sample.cafekiosk.spring.domain.product.Product;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Getter
@@ -18,7 +22,8 @@ import java.util.stream.Collectors;
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -31,27 +36,55 @@ public class Order extends BaseEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderProduct> orderProducts = new ArrayList<>();
 
+    /**
+     * pricingTable 이 있으면 주문 등록 시각 기준 할인을 적용한 금액을 총 금액으로 한다. (주문 상품에는 정가를 기록한다.)
+     */
     @Builder
-    private Order(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+    private Order(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime, PricingTable pricingTable) {
         this.orderStatus = orderStatus;
-        this.totalPrice = calculateTotalPrice(products);
         this.registeredDateTime = registeredDateTime;
-        this.orderProducts = products.stream()
-                .map(product -> new OrderProduct(this, product))
-                .collect(Collectors.toList());
+        this.orderProducts = createOrderProducts(products);
+        this.totalPrice = pricingTable == null || registeredDateTime == null
+                ? calculateTotalPrice()
+                : pricingTable.calculateTotalPrice(products, registeredDateTime.toLocalTime());
     }
 
     public static Order create(List<Product> products, LocalDateTime registeredDateTime) {
+        return create(products, registeredDateTime, PricingTable.LIST_PRICE);
+    }
+
+    public static Order create(List<Product> products, LocalDateTime registeredDateTime, PricingTable pricingTable) {
         return Order.builder()
                 .orderStatus(OrderStatus.INIT)
                 .products(products)
                 .registeredDateTime(registeredDateTime)
+                .pricingTable(pricingTable)
                 .build();
     }
 
-    private int calculateTotalPrice(List<Product> products) {
-        return products.stream()
-                .mapToInt(Product::getPrice)
+    public void completePayment() {
+        if (this.orderStatus != OrderStatus.INIT) {
+            throw new IllegalArgumentException("결제를 완료할 수 없는 주문 상태입니다.");
+        }
+        this.orderStatus = OrderStatus.PAYMENT_COMPLETED;
+    }
+
+    private List<OrderProduct> createOrderProducts(List<Product> products) {
+        Map<String, Product> productMap = new LinkedHashMap<>();
+        Map<String, Integer> quantityMap = new HashMap<>();
+        for (Product product : products) {
+            productMap.putIfAbsent(product.getProductNumber(), product);
+            quantityMap.merge(product.getProductNumber(), 1, Integer::sum);
+        }
+
+        return productMap.values().stream()
+                .map(product -> new OrderProduct(this, product, quantityMap.get(product.getProductNumber())))
+                .collect(Collectors.toList());
+    }
+
+    private int calculateTotalPrice() {
+        return orderProducts.stream()
+                .mapToInt(OrderProduct::calculateAmount)
                 .sum();
     }
 }
@@ -1,15 +1,34 @@
 package sample.cafekiosk.spring.domain.order;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("select o from Order o where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime and o.orderStatus = :orderStatus")
     List<Order> findOrderBy(@Param(value = "startDateTime")LocalDateTime startDateTime, @Param(value = "endDateTime") LocalDateTime endDateTime, @Param(value = "orderStatus") OrderStatus orderStatus);
 
+    /**
+     * select count(*), coalesce(sum(total_price), 0)
+     * from orders
+     * where registered_date_time >= ? and registered_date_time < ? and order_status = ?
+     */
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderSalesSummary(count(o), coalesce(sum(o.totalPrice), 0)) " +
+            "from Order o where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime and o.orderStatus = :orderStatus")
+    OrderSalesSummary sumSalesBy(@Param("startDateTime") LocalDateTime startDateTime, @Param("endDateTime") LocalDateTime endDateTime, @Param("orderStatus") OrderStatus orderStatus);
+
+    /**
+     * select o.*, op.*
+     * from orders o
+     * left join order_product op on op.order_id = o.id
+     * where o.id = ?
+     */
+    @EntityGraph(attributePaths = "orderProducts")
+    Optional<Order> findWithOrderProductsById(Long id);
 }
@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+/**
+ * 매출 집계 projection (주문 건수, 매출 합계)
+ */
+@Getter
+public class OrderSalesSummary {
+
+    private final long orderCount;
+    private final long totalAmount;
+
+    public OrderSalesSummary(long orderCount, long totalAmount) {
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+}
@@ -0,0 +1,124 @@
+package sample.cafekiosk.spring.domain.pricing;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 할인 규칙
+ *
+ * PRODUCT_TYPE / PRODUCT 는 한 잔(개)마다 discountPercent 만큼 깎고, COMBO 는 productNumbers 가 한 벌 갖춰질 때마다 discountAmount 를 깎는다.
+ * (같은 상품번호를 여러 번 넣으면 그 수량만큼 있어야 한 벌이다.)
+ * startTime / endTime 을 주면 그 시간대[startTime, endTime)에만 적용한다. endTime 이 startTime 보다 이르면 자정을 넘기는 시간대다.
+ */
+@Getter
+public class PricingRule {
+
+    private final PricingRuleType type;
+    private final ProductType productType;
+    private final List<String> productNumbers;
+    private final int discountPercent;
+    private final int discountAmount;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    @Builder
+    private PricingRule(PricingRuleType type, ProductType productType, List<String> productNumbers,
+                        int discountPercent, int discountAmount, LocalTime startTime, LocalTime endTime) {
+        validate(type, productType, productNumbers, discountPercent, discountAmount, startTime, endTime);
+        this.type = type;
+        this.productType = productType;
+        this.productNumbers = productNumbers == null ? List.of() : List.copyOf(productNumbers);
+        this.discountPercent = discountPercent;
+        this.discountAmount = discountAmount;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public static PricingRule productTypeDiscount(ProductType productType, int discountPercent) {
+        return PricingRule.builder()
+                .type(PricingRuleType.PRODUCT_TYPE)
+                .productType(productType)
+                .discountPercent(discountPercent)
+                .build();
+    }
+
+    public static PricingRule productDiscount(String productNumber, int discountPercent) {
+        return PricingRule.builder()
+                .type(PricingRuleType.PRODUCT)
+                .productNumbers(List.of(productNumber))
+                .discountPercent(discountPercent)
+                .build();
+    }
+
+    public static PricingRule combo(List<String> productNumbers, int discountAmount) {
+        return PricingRule.builder()
+                .type(PricingRuleType.COMBO)
+                .productNumbers(productNumbers)
+                .discountAmount(discountAmount)
+                .build();
+    }
+
+    /**
+     * 같은 규칙을 startTime ~ endTime 에만 적용하도록 바꾼다.
+     */
+    public PricingRule during(LocalTime startTime, LocalTime endTime) {
+        return new PricingRule(type, productType, productNumbers, discountPercent, discountAmount, startTime, endTime);
+    }
+
+    public boolean isAlwaysActive() {
+        return startTime == null;
+    }
+
+    public boolean isActiveAt(LocalTime time) {
+        if (isAlwaysActive()) {
+            return true;
+        }
+        if (startTime.isBefore(endTime)) {
+            return !time.isBefore(startTime) && time.isBefore(endTime);
+        }
+        return !time.isBefore(startTime) || time.isBefore(endTime);
+    }
+
+    private static void validate(PricingRuleType type, ProductType productType, List<String> productNumbers,
+                                 int discountPercent, int discountAmount, LocalTime startTime, LocalTime endTime) {
+        if (type == null) {
+            throw new IllegalArgumentException("할인 규칙 유형은 필수입니다.");
+        }
+        if ((startTime == null) != (endTime == null) || (startTime != null && startTime.equals(endTime))) {
+            throw new IllegalArgumentException("할인 시간대는 시작 시각과 끝 시각이 모두 있어야 하고 서로 달라야 합니다.");
+        }
+
+        switch (type) {
+            case PRODUCT_TYPE -> {
+                if (productType == null) {
+                    throw new IllegalArgumentException("할인할 상품 유형은 필수입니다.");
+                }
+                validatePercent(discountPercent);
+            }
+            case PRODUCT -> {
+                if (productNumbers == null || productNumbers.size() != 1) {
+                    throw new IllegalArgumentException("상품 할인은 상품번호 하나에 적용합니다.");
+                }
+                validatePercent(discountPercent);
+            }
+            case COMBO -> {
+                if (productNumbers == null || productNumbers.size() < 2) {
+                    throw new IllegalArgumentException("세트 할인은 상품이 2개 이상 필요합니다.");
+                }
+                if (discountAmount <= 0) {
+                    throw new IllegalArgumentException("세트 할인 금액은 양수여야 합니다.");
+                }
+            }
+        }
+    }
+
+    private static void validatePercent(int discountPercent) {
+        if (discountPercent <= 0 || discountPercent > 100) {
+            throw new IllegalArgumentException("할인율은 1 ~ 100 사이여야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.pricing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PricingRuleType {
+
+    PRODUCT_TYPE("상품 유형 할인"),
+    PRODUCT("상품 할인"),
+    COMBO("세트 할인");
+
+    private final String text;
+}
@@ -0,0 +1,270 @@
+package sample.cafekiosk.spring.domain.pricing;
+
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 할인 규칙을 컴파일한 결정 테이블
+ *
+ * 계산할 때마다 규칙을 하나씩 대 보면 (상품 수 x 규칙 수) 만큼 비교하게 되므로, 규칙이 바뀔 때 한 번만
+ * 하루를 규칙 시간대 경계로 나눈 구간마다 상품 유형별 / 상품별 할인율 배열과 상품별로 걸린 세트 목록을 만들어 둔다.
+ * 계산은 시각으로 구간을 찾고 장바구니를 한 번 훑으면서 배열에서 할인율을 꺼낸 뒤, 장바구니에 있는 상품에 걸린 세트만 본다.
+ *
+ * 같은 상품에 할인율이 여러 개 걸리면 가장 큰 것 하나만 적용하고, 세트 할인은 할인율을 적용한 금액에서 뺀다.
+ * 세트는 할인 금액이 큰 것부터 맞추고, 한 상품은 세트 하나에만 쓰인다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 스레드가 같이 써도 된다.
+ */
+public class PricingTable {
+
+    private static final int[] NO_COMBOS = new int[0];
+
+    public static final PricingTable LIST_PRICE = compile(List.of());
+
+    private final Map<String, Integer> productIds;
+    private final int[] segmentStartSeconds;
+    private final Segment[] segments;
+    private final int ruleCount;
+
+    private PricingTable(Map<String, Integer> productIds, int[] segmentStartSeconds, Segment[] segments, int ruleCount) {
+        this.productIds = productIds;
+        this.segmentStartSeconds = segmentStartSeconds;
+        this.segments = segments;
+        this.ruleCount = ruleCount;
+    }
+
+    public static PricingTable compile(List<PricingRule> rules) {
+        Map<String, Integer> productIds = new HashMap<>();
+        for (PricingRule rule : rules) {
+            for (String productNumber : rule.getProductNumbers()) {
+                productIds.putIfAbsent(productNumber, productIds.size());
+            }
+        }
+
+        int[] segmentStartSeconds = segmentStartSeconds(rules);
+        Segment[] segments = new Segment[segmentStartSeconds.length];
+        for (int i = 0; i < segments.length; i++) {
+            LocalTime segmentStart = LocalTime.ofSecondOfDay(segmentStartSeconds[i]);
+            List<PricingRule> activeRules = rules.stream()
+                    .filter(rule -> rule.isActiveAt(segmentStart))
+                    .collect(Collectors.toList());
+            segments[i] = Segment.compile(activeRules, productIds);
+        }
+
+        return new PricingTable(Map.copyOf(productIds), segmentStartSeconds, segments, rules.size());
+    }
+
+    public int calculateTotalPrice(List<Product> products, LocalTime time) {
+        if (ruleCount == 0) {
+            return products.stream()
+                    .mapToInt(Product::getPrice)
+                    .sum();
+        }
+
+        Segment segment = segmentAt(time);
+        int[] quantities = segment.hasCombos() ? new int[productIds.size()] : null;
+        int[] orderedProductIds = segment.hasCombos() ? new int[productIds.size()] : null;
+        int orderedProductCount = 0;
+
+        long totalPrice = 0;
+        for (Product product : products) {
+            int discountPercent = segment.percentByType[product.getType().ordinal()];
+
+            Integer productId = productIds.get(product.getProductNumber());
+            if (productId != null) {
+                discountPercent = Math.max(discountPercent, segment.percentByProduct[productId]);
+                if (quantities != null && quantities[productId]++ == 0) {
+                    orderedProductIds[orderedProductCount++] = productId;
+                }
+            }
+
+            long price = product.getPrice();
+            totalPrice += price - price * discountPercent / 100;
+        }
+
+        if (orderedProductCount > 0) {
+            totalPrice -= segment.calculateComboDiscount(quantities, orderedProductIds, orderedProductCount);
+        }
+        return Math.toIntExact(Math.max(totalPrice, 0));
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    private Segment segmentAt(LocalTime time) {
+        int index = Arrays.binarySearch(segmentStartSeconds, time.toSecondOfDay());
+        return segments[index >= 0 ? index : -index - 2];
+    }
+
+    /**
+     * 00:00 과 규칙 시간대의 시작 / 끝 시각이 구간의 시작이다.
+     */
+    private static int[] segmentStartSeconds(List<PricingRule> rules) {
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        for (PricingRule rule : rules) {
+            if (!rule.isAlwaysActive()) {
+                boundaries.add(rule.getStartTime().toSecondOfDay());
+                boundaries.add(rule.getEndTime().toSecondOfDay());
+            }
+        }
+        return boundaries.stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static class Segment {
+
+        private final int[] percentByType;
+        private final int[] percentByProduct;
+        private final Combo[] combos;
+        private final int[][] comboIndexesByProduct;
+
+        private Segment(int[] percentByType, int[] percentByProduct, Combo[] combos, int[][] comboIndexesByProduct) {
+            this.percentByType = percentByType;
+            this.percentByProduct = percentByProduct;
+            this.combos = combos;
+            this.comboIndexesByProduct = comboIndexesByProduct;
+        }
+
+        private static Segment compile(List<PricingRule> rules, Map<String, Integer> productIds) {
+            int[] percentByType = new int[ProductType.values().length];
+            int[] percentByProduct = new int[productIds.size()];
+            List<PricingRule> comboRules = new ArrayList<>();
+
+            for (PricingRule rule : rules) {
+                switch (rule.getType()) {
+                    case PRODUCT_TYPE -> {
+                        int ordinal = rule.getProductType().ordinal();
+                        percentByType[ordinal] = Math.max(percentByType[ordinal], rule.getDiscountPercent());
+                    }
+                    case PRODUCT -> {
+                        int productId = productIds.get(rule.getProductNumbers().get(0));
+                        percentByProduct[productId] = Math.max(percentByProduct[productId], rule.getDiscountPercent());
+                    }
+                    case COMBO -> comboRules.add(rule);
+                }
+            }
+
+            Combo[] combos = comboRules.stream()
+                    .sorted(Comparator.comparingInt(PricingRule::getDiscountAmount).reversed())
+                    .map(rule -> Combo.of(rule, productIds))
+                    .toArray(Combo[]::new);
+
+            return new Segment(percentByType, percentByProduct, combos, indexCombosByProduct(combos, productIds.size()));
+        }
+
+        private static int[][] indexCombosByProduct(Combo[] combos, int productCount) {
+            List<List<Integer>> indexes = new ArrayList<>(productCount);
+            for (int i = 0; i < productCount; i++) {
+                indexes.add(new ArrayList<>());
+            }
+            for (int comboIndex = 0; comboIndex < combos.length; comboIndex++) {
+                for (int productId : combos[comboIndex].productIds) {
+                    indexes.get(productId).add(comboIndex);
+                }
+            }
+
+            int[][] comboIndexesByProduct = new int[productCount][];
+            for (int productId = 0; productId < productCount; productId++) {
+                List<Integer> comboIndexes = indexes.get(productId);
+                comboIndexesByProduct[productId] = comboIndexes.isEmpty()
+                        ? NO_COMBOS
+                        : comboIndexes.stream().mapToInt(Integer::intValue).toArray();
+            }
+            return comboIndexesByProduct;
+        }
+
+        private boolean hasCombos() {
+            return combos.length > 0;
+        }
+
+        /**
+         * 장바구니에 있는 상품에 걸린 세트만 모아서 할인 금액이 큰 순서(= 인덱스 순서)로 맞춘다.
+         * quantities 는 맞춘 세트만큼 줄어든다.
+         */
+        private long calculateComboDiscount(int[] quantities, int[] orderedProductIds, int orderedProductCount) {
+            boolean[] candidate = new boolean[combos.length];
+            int candidateCount = 0;
+            for (int i = 0; i < orderedProductCount; i++) {
+                for (int comboIndex : comboIndexesByProduct[orderedProductIds[i]]) {
+                    if (!candidate[comboIndex]) {
+                        candidate[comboIndex] = true;
+                        candidateCount++;
+                    }
+                }
+            }
+
+            long discount = 0;
+            for (int comboIndex = 0; comboIndex < combos.length && candidateCount > 0; comboIndex++) {
+                if (!candidate[comboIndex]) {
+                    continue;
+                }
+                candidateCount--;
+
+                Combo combo = combos[comboIndex];
+                int setCount = combo.countSets(quantities);
+                if (setCount > 0) {
+                    combo.consume(quantities, setCount);
+                    discount += (long) setCount * combo.discountAmount;
+                }
+            }
+            return discount;
+        }
+    }
+
+    private static class Combo {
+
+        private final int[] productIds;
+        private final int[] requiredQuantities;
+        private final int discountAmount;
+
+        private Combo(int[] productIds, int[] requiredQuantities, int discountAmount) {
+            this.productIds = productIds;
+            this.requiredQuantities = requiredQuantities;
+            this.discountAmount = discountAmount;
+        }
+
+        private static Combo of(PricingRule rule, Map<String, Integer> productIds) {
+            Map<Integer, Integer> required = new LinkedHashMap<>();
+            for (String productNumber : rule.getProductNumbers()) {
+                required.merge(productIds.get(productNumber), 1, Integer::sum);
+            }
+
+            return new Combo(
+                    required.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                    required.values().stream().mapToInt(Integer::intValue).toArray(),
+                    rule.getDiscountAmount()
+            );
+        }
+
+        private int countSets(int[] quantities) {
+            int setCount = Integer.MAX_VALUE;
+            for (int i = 0; i < productIds.length; i++) {
+                setCount = Math.min(setCount, quantities[productIds[i]] / requiredQuantities[i]);
+            }
+            return setCount;
+        }
+
+        private void consume(int[] quantities, int setCount) {
+            for (int i = 0; i < productIds.length; i++) {
+                quantities[productIds[i]] -= setCount * requiredQuantities[i];
+            }
+        }
+    }
+}
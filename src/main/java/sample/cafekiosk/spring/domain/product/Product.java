@@ -4,17 +4,33 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import sample.cafekiosk.spring.domain.BaseEntity;
 
+/**
+ * 상품번호는 바뀌지 않는 natural id 다. (unique 인덱스 + 상품번호 -> id natural-id 캐시)
+ * 상품은 거의 바뀌지 않고 주문마다 다시 읽으므로 엔티티도 2차 캐시(product 영역)에 둔다.
+ * JPA / Hibernate 를 거치지 않고 product 테이블을 직접 바꾸면 TTL(ehcache.xml)이 지날 때까지 옛 값이 보일 수 있다.
+ */
 @Getter
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@NaturalIdCache(region = "product-natural-id")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number", columnNames = "product_number"))
 @Entity
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
+    @Column(nullable = false)
     private String productNumber;
 
     @Enumerated(EnumType.STRING)
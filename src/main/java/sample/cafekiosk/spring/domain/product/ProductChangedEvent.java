@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품이 추가되거나 판매상태/가격이 바뀌었을 때 발행한다.
+ * 여러 상품이 한꺼번에 바뀐 경우(일괄 등록 등) productNumber 는 null 이다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    private final String productNumber;
+}
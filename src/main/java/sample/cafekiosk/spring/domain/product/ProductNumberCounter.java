@@ -0,0 +1,49 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 상품번호 발급 카운터
+ * 다음에 발급할 번호를 저장하고, 발급기는 여기서 번호 구간을 통째로 예약해 간다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class ProductNumberCounter extends BaseEntity {
+
+    @Id
+    private String name;
+
+    private long nextValue;
+
+    @Builder
+    private ProductNumberCounter(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public static ProductNumberCounter create(String name, long nextValue) {
+        return ProductNumberCounter.builder()
+                .name(name)
+                .nextValue(nextValue)
+                .build();
+    }
+
+    /**
+     * [nextValue, nextValue + size) 구간을 예약하고 구간의 시작 번호를 반환한다.
+     */
+    public long reserve(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("예약할 상품번호 개수는 1개 이상이어야 합니다.");
+        }
+        long start = this.nextValue;
+        this.nextValue += size;
+        return start;
+    }
+}
@@ -1,18 +1,27 @@
 package sample.cafekiosk.spring.domain.product;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
     /**
      * select *
      * from product
      * where selling_status in ("SELLING", "HOLD");
+     *
+     * 결과(id 목록)는 쿼리 캐시에 둔다. product 테이블이 Hibernate 를 통해 바뀌면 커밋 시점에 무효화된다.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-selling-query")
+    })
     List<Product> findAllBySellingStatusIn(List<ProductSellingStatus> sellingStatuses);
 
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
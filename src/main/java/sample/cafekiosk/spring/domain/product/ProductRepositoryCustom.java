@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * 상품번호(natural id)로 상품을 읽는다. 상품번호 -> id 는 natural-id 캐시에서 먼저 찾는다.
+     */
+    List<Product> findAllByNaturalIds(Collection<String> productNumbers);
+}
@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.NaturalIdLoader;
+
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Product> findAllByNaturalIds(Collection<String> productNumbers) {
+        return NaturalIdLoader.loadAll(entityManager, Product.class, productNumbers);
+    }
+}
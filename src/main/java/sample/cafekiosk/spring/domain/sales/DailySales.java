@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+import java.time.LocalDate;
+
+/**
+ * 일자별 매출 집계 (daily_sales)
+ * 주문이 결제완료될 때마다 건수와 합계를 더해 둔다. 통계는 주문을 다시 읽지 않고 이 행 하나만 읽는다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class DailySales extends BaseEntity {
+
+    @Id
+    private LocalDate salesDate;
+
+    private long orderCount;
+
+    private long totalAmount;
+
+    @Builder
+    private DailySales(LocalDate salesDate, long orderCount, long totalAmount) {
+        this.salesDate = salesDate;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public static DailySales empty(LocalDate salesDate) {
+        return DailySales.builder()
+                .salesDate(salesDate)
+                .orderCount(0)
+                .totalAmount(0)
+                .build();
+    }
+
+    public void overwrite(long orderCount, long totalAmount) {
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+}
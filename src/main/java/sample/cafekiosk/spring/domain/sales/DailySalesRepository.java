@@ -0,0 +1,51 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+    /**
+     * update daily_sales
+     * set order_count = order_count + 1, total_amount = total_amount + ?
+     * where sales_date = ?
+     *
+     * @return 반영된 행 수 (0 이면 아직 해당 일자 행이 없음)
+     */
+    @Modifying
+    @Query("update DailySales d set d.orderCount = d.orderCount + 1, d.totalAmount = d.totalAmount + :amount " +
+            "where d.salesDate = :salesDate")
+    int addSales(@Param("salesDate") LocalDate salesDate, @Param("amount") long amount);
+
+    /**
+     * 일자별 행이 있으면 건수 1, 금액 amount 를 더하고, 없으면 orderCount / totalAmount 로 행을 만든다.
+     *
+     * @return 반영된 행 수
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "merge into daily_sales d " +
+            "using (select cast(:salesDate as date) as sales_date) s on d.sales_date = s.sales_date " +
+            "when matched then update set order_count = d.order_count + 1, total_amount = d.total_amount + :amount, modified_date_time = :now " +
+            "when not matched then insert (sales_date, order_count, total_amount, created_date_time, modified_date_time) " +
+            "values (s.sales_date, :orderCount, :totalAmount, :now, :now)")
+    int mergeSales(@Param("salesDate") LocalDate salesDate,
+                   @Param("amount") long amount,
+                   @Param("orderCount") long orderCount,
+                   @Param("totalAmount") long totalAmount,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * select * from daily_sales where sales_date = ? for update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from DailySales d where d.salesDate = :salesDate")
+    Optional<DailySales> findForUpdate(@Param("salesDate") LocalDate salesDate);
+}
@@ -1,32 +1,53 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import sample.cafekiosk.spring.domain.BaseEntity;
 
+/**
+ * 상품번호당 재고 행은 하나다. 상품번호 -> id 만 natural-id 캐시에 두고, 수량은 캐시하지 않는다.
+ *
+ * version 은 @Version 이 아닌 일반 컬럼이다. 수량을 바꿀 때마다 올리고, optimistic 차감 방식만 이 값으로 충돌을 감지한다.
+ * (@Version 으로 두면 기본 차감 방식(변경감지)까지 충돌 예외를 던지게 된다)
+ */
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@NaturalIdCache(region = "stock-natural-id")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stock_product_number", columnNames = "product_number"))
 @Entity
 public class Stock extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_seq_generator")
+    @SequenceGenerator(name = "stock_seq_generator", sequenceName = "stock_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
+    @Column(nullable = false)
     private String productNumber;
 
     private int quantity;
 
+    @Column(nullable = false)
+    private Long version;
+
     @Builder
     public Stock(String productNumber, int quantity) {
         this.productNumber = productNumber;
         this.quantity = quantity;
+        this.version = 0L;
     }
 
     public static Stock create(String productNumber, int quantity) {
@@ -45,5 +66,16 @@ public class Stock extends BaseEntity {
             throw new IllegalArgumentException("차감할 재고의 수량이 없습니다.");
         }
         this.quantity -= quantity;
+        this.version++;
+    }
+
+    /**
+     * Stock 행의 수량을 모두 꺼낸다. (분할 재고로 옮길 때)
+     */
+    public int takeAllQuantity() {
+        int taken = this.quantity;
+        this.quantity = 0;
+        this.version++;
+        return taken;
     }
 }
@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+
+/**
+ * 상품별 재고 합계 projection (Stock 행 + 분할 재고)
+ */
+@Getter
+public class StockQuantity {
+
+    private final String productNumber;
+    private final long quantity;
+
+    public StockQuantity(String productNumber, Long quantity) {
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+    }
+}
@@ -1,9 +1,94 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, StockRepositoryCustom {
     List<Stock> findAllByProductNumberIn(List<String> stockProductNumbers);
+
+    /**
+     * select * from stock where product_number = ? for update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Stock s where s.productNumber = :productNumber")
+    Optional<Stock> findForUpdate(@Param("productNumber") String productNumber);
+
+    /**
+     * select * from stock where product_number in (?, ...) order by product_number for update
+     * 상품번호 순으로 잠가서 다른 차감 경로와 교착 상태에 빠지지 않게 한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Stock s where s.productNumber in :productNumbers order by s.productNumber")
+    List<Stock> findAllForUpdateByProductNumberIn(@Param("productNumbers") List<String> productNumbers);
+
+    /**
+     * 상품별 재고 합계 (Stock 행 수량 + 분할 재고 수량)
+     *
+     * select s.product_number, s.quantity + coalesce((select sum(ss.quantity) from stock_shard ss where ss.product_number = s.product_number), 0)
+     * from stock s
+     * where s.product_number in (?, ...)
+     */
+    @Query("select new sample.cafekiosk.spring.domain.stock.StockQuantity(s.productNumber, " +
+            "cast(s.quantity + coalesce((select sum(ss.quantity) from StockShard ss where ss.productNumber = s.productNumber), 0) as Long)) " +
+            "from Stock s where s.productNumber in :productNumbers")
+    List<StockQuantity> findQuantitiesByProductNumberIn(@Param("productNumbers") List<String> productNumbers);
+
+    /**
+     * update stock
+     * set quantity = quantity - ?
+     * where product_number = ? and quantity >= ?
+     *
+     * @return 차감된 행 수 (0 이면 재고 부족)
+     */
+    @Modifying
+    @Query("update Stock s set s.quantity = s.quantity - :quantity, s.version = s.version + 1 " +
+            "where s.productNumber = :productNumber and s.quantity >= :quantity")
+    int deductQuantity(@Param("productNumber") String productNumber, @Param("quantity") int quantity);
+
+    /**
+     * select product_number, quantity, version from stock where product_number in (?, ...) order by product_number
+     */
+    @Query("select new sample.cafekiosk.spring.domain.stock.StockVersion(s.productNumber, s.quantity, s.version) " +
+            "from Stock s where s.productNumber in :productNumbers order by s.productNumber")
+    List<StockVersion> findVersionsByProductNumberIn(@Param("productNumbers") List<String> productNumbers);
+
+    /**
+     * update stock
+     * set quantity = quantity - ?, version = version + 1
+     * where product_number = ? and version = ?
+     *
+     * @return 차감된 행 수 (0 이면 읽은 뒤에 다른 트랜잭션이 먼저 바꿨다)
+     */
+    @Modifying
+    @Query("update Stock s set s.quantity = s.quantity - :quantity, s.version = s.version + 1 " +
+            "where s.productNumber = :productNumber and s.version = :version")
+    int deductQuantityIfVersion(@Param("productNumber") String productNumber,
+                                @Param("quantity") int quantity,
+                                @Param("version") Long version);
+
+    /**
+     * update stock
+     * set quantity = quantity - ?, version = version + 1
+     * where product_number = ?
+     *
+     * 재고 원장처럼 차감 여부를 이미 결정한 경우에 쓴다. 수량을 확인하지 않는다.
+     *
+     * @return 차감된 행 수 (0 이면 재고 행이 없다)
+     */
+    @Modifying
+    @Query("update Stock s set s.quantity = s.quantity - :quantity, s.version = s.version + 1 " +
+            "where s.productNumber = :productNumber")
+    int subtractQuantity(@Param("productNumber") String productNumber, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update Stock s set s.quantity = s.quantity + :quantity, s.version = s.version + 1 " +
+            "where s.productNumber = :productNumber")
+    int addQuantity(@Param("productNumber") String productNumber, @Param("quantity") int quantity);
 }
@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockRepositoryCustom {
+
+    /**
+     * 상품번호(natural id)로 재고를 읽는다. 상품번호 -> id 는 natural-id 캐시에서 먼저 찾고, 수량은 항상 DB 에서 읽는다.
+     */
+    List<Stock> findAllByNaturalIds(Collection<String> productNumbers);
+}
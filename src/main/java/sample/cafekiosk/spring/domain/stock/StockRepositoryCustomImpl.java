@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.NaturalIdLoader;
+
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class StockRepositoryCustomImpl implements StockRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Stock> findAllByNaturalIds(Collection<String> productNumbers) {
+        return NaturalIdLoader.loadAll(entityManager, Stock.class, productNumbers);
+    }
+}
@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 분할 재고
+ * 주문이 몰리는 상품은 재고를 shardIndex 0 ~ N-1 의 행으로 나눠서, 차감할 때 잡는 행 잠금을 여러 행으로 분산한다.
+ * 상품의 재고는 Stock 행의 수량 + 분할 재고 수량의 합이다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stock_shard_product_number_shard_index", columnNames = {"product_number", "shard_index"}))
+@Entity
+public class StockShard extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_shard_seq_generator")
+    @SequenceGenerator(name = "stock_shard_seq_generator", sequenceName = "stock_shard_seq", allocationSize = 50)
+    private Long id;
+
+    private String productNumber;
+
+    private int shardIndex;
+
+    private int quantity;
+
+    @Builder
+    private StockShard(String productNumber, int shardIndex, int quantity) {
+        this.productNumber = productNumber;
+        this.shardIndex = shardIndex;
+        this.quantity = quantity;
+    }
+
+    public static StockShard create(String productNumber, int shardIndex, int quantity) {
+        return StockShard.builder()
+                .productNumber(productNumber)
+                .shardIndex(shardIndex)
+                .quantity(quantity)
+                .build();
+    }
+
+    public void changeQuantity(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("재고 수량은 0 이상이어야 합니다.");
+        }
+        this.quantity = quantity;
+    }
+}
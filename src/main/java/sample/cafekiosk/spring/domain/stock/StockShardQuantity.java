@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+
+/**
+ * 분할 재고 수량 projection (영속성 컨텍스트에 엔티티를 올리지 않고 현재 수량만 읽는다)
+ */
+@Getter
+public class StockShardQuantity {
+
+    private final int shardIndex;
+    private final int quantity;
+
+    public StockShardQuantity(int shardIndex, int quantity) {
+        this.shardIndex = shardIndex;
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,46 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface StockShardRepository extends JpaRepository<StockShard, Long> {
+
+    int countByProductNumber(String productNumber);
+
+    @Query("select distinct s.productNumber from StockShard s")
+    List<String> findShardedProductNumbers();
+
+    @Query("select new sample.cafekiosk.spring.domain.stock.StockShardQuantity(s.shardIndex, s.quantity) " +
+            "from StockShard s where s.productNumber = :productNumber order by s.shardIndex")
+    List<StockShardQuantity> findQuantities(@Param("productNumber") String productNumber);
+
+    /**
+     * select * from stock_shard where product_number = ? order by shard_index for update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StockShard s where s.productNumber = :productNumber order by s.shardIndex")
+    List<StockShard> findAllForUpdate(@Param("productNumber") String productNumber);
+
+    /**
+     * update stock_shard
+     * set quantity = quantity - ?
+     * where product_number = ? and shard_index = ? and quantity >= ?
+     *
+     * @return 차감된 행 수 (0 이면 해당 분할 재고 부족)
+     */
+    @Modifying
+    @Query("update StockShard s set s.quantity = s.quantity - :quantity " +
+            "where s.productNumber = :productNumber and s.shardIndex = :shardIndex and s.quantity >= :quantity")
+    int deductQuantity(@Param("productNumber") String productNumber, @Param("shardIndex") int shardIndex, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update StockShard s set s.quantity = s.quantity + :quantity " +
+            "where s.productNumber = :productNumber and s.shardIndex = :shardIndex")
+    int addQuantity(@Param("productNumber") String productNumber, @Param("shardIndex") int shardIndex, @Param("quantity") int quantity);
+}
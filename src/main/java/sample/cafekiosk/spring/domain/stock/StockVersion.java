@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+
+/**
+ * Stock 행의 수량 / 버전 projection
+ * 엔티티가 아니라서 영속성 컨텍스트에 남지 않으므로, 같은 트랜잭션 안에서 다시 읽어도 커밋된 최신 값을 본다.
+ */
+@Getter
+public class StockVersion {
+
+    private final String productNumber;
+    private final int quantity;
+    private final Long version;
+
+    public StockVersion(String productNumber, int quantity, Long version) {
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+        this.version = version;
+    }
+}
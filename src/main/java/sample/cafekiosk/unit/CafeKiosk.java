@@ -1,25 +1,30 @@
 package sample.cafekiosk.unit;
 
-import lombok.Getter;
-import sample.cafekiosk.unit.beverage.Americano;
 import sample.cafekiosk.unit.beverage.Beverage;
 import sample.cafekiosk.unit.order.Order;
+import sample.cafekiosk.unit.order.OrderLine;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-@Getter
+/**
+ * 장바구니는 음료별 잔 수(담은 순서 유지)와 합계 금액만 들고 있다.
+ * 몇 잔을 담든 음료 종류만큼의 메모리만 쓰고, 담기 / 빼기 / 합계는 O(1) 이다.
+ */
 public class CafeKiosk {
 
     private static final LocalTime SHOP_OPEN_TIME = LocalTime.of(10, 0);
     private static final LocalTime SHOP_CLOSE_TIME = LocalTime.of(22, 0);
-    private List<Beverage> beverages = new ArrayList<>();
+
+    private final Map<Beverage, Integer> quantities = new LinkedHashMap<>();
+    private int totalPrice;
 
     public void add(Beverage beverage) {
-        beverages.add(beverage);
+        add(beverage, 1);
     }
 
     public void add(Beverage beverage, int count) {
@@ -28,33 +33,65 @@ public class CafeKiosk {
             throw new IllegalArgumentException("음료는 1잔 이상부터 주문할 수 있습니다.");
         }
 
-        for (int i = 0; i < count; i++) {
-            beverages.add(beverage);
-        }
+        int price = Math.multiplyExact(beverage.getPrice(), count);
+        quantities.merge(beverage, count, Math::addExact);
+        totalPrice = Math.addExact(totalPrice, price);
     }
 
     public void remove(Beverage beverage) {
-        beverages.remove(beverage);
+        remove(beverage, 1);
+    }
+
+    /**
+     * 담긴 잔 수보다 많이 빼면 담긴 만큼만 뺀다.
+     */
+    public void remove(Beverage beverage, int count) {
+        Integer quantity = quantities.get(beverage);
+        if (quantity == null || count <= 0) {
+            return;
+        }
+
+        int removedCount = Math.min(quantity, count);
+        if (removedCount == quantity) {
+            quantities.remove(beverage);
+        } else {
+            quantities.put(beverage, quantity - removedCount);
+        }
+        totalPrice -= beverage.getPrice() * removedCount;
     }
 
     public void clear() {
-        beverages.clear();
+        quantities.clear();
+        totalPrice = 0;
     }
 
     public int calculateTotalPrice() {
-        int totalPrice = 0;
-        for (Beverage beverage : beverages) {
-            totalPrice += beverage.getPrice();
-        }
         return totalPrice;
     }
 
+    public int getQuantity(Beverage beverage) {
+        return quantities.getOrDefault(beverage, 0);
+    }
+
+    public List<OrderLine> getLines() {
+        List<OrderLine> lines = new ArrayList<>(quantities.size());
+        quantities.forEach((beverage, quantity) -> lines.add(new OrderLine(beverage, quantity)));
+        return lines;
+    }
+
+    /**
+     * 담긴 잔 수만큼 음료를 늘어놓은 읽기 전용 목록
+     */
+    public List<Beverage> getBeverages() {
+        return OrderLine.expand(getLines());
+    }
+
     public Order createOrder(LocalDateTime currentDateTime) {
         LocalTime currentTime = currentDateTime.toLocalTime();
 
         if (currentTime.isBefore(SHOP_OPEN_TIME) || currentTime.isAfter(SHOP_CLOSE_TIME)) {
             throw new IllegalArgumentException("주문 시간이 아닙니다. 관리자에게 문의하세요");
         }
-        return new Order(LocalDateTime.now(), beverages);
+        return new Order(LocalDateTime.now(), getLines());
     }
 }
@@ -1,19 +1,25 @@
 package sample.cafekiosk.unit;
 
-import sample.cafekiosk.unit.beverage.Americano;
-import sample.cafekiosk.unit.beverage.Latte;
-import sample.cafekiosk.unit.order.Order;
+import sample.cafekiosk.unit.load.KioskLoadDriver;
+import sample.cafekiosk.unit.load.LoadProfile;
+import sample.cafekiosk.unit.load.LoadReport;
 
-public class CafeKioskRunner {
-    public static void main(String[] args) {
-        CafeKiosk cafeKiosk = new CafeKiosk();
-        cafeKiosk.add(new Americano());
-        System.out.println(">>> 아메리카노 추가");
+import java.net.http.HttpClient;
+import java.time.Duration;
 
-        cafeKiosk.add(new Latte());
-        System.out.println(">>> 라떼 추가");
+/**
+ * 로컬 서버에 키오스크 부하를 준다. 옵션은 LoadProfile.parse 참고
+ * 예) --kiosks=16 --model=open --rate=300 --warmup-s=10 --duration-s=60 --products=001,002
+ */
+public class CafeKioskRunner {
+    public static void main(String[] args) throws InterruptedException {
+        LoadProfile profile = LoadProfile.parse(args);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(3))
+                .build();
 
-        int totalPrice = cafeKiosk.calculateTotalPrice();
-        System.out.println("총 주문가격 : " + totalPrice);
+        LoadReport report = new KioskLoadDriver(profile, httpClient).run();
+        report.print(System.out);
     }
 }
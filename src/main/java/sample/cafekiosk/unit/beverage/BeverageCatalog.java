@@ -0,0 +1,137 @@
+package sample.cafekiosk.unit.beverage;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 음료 카탈로그
+ *
+ * 음료를 이름으로 intern 해서 0 부터 시작하는 작은 int id 를 매기고, 가격은 int 배열에 둔다.
+ * 장바구니를 id 배열로 들고 있으면 합계는 배열 인덱싱만으로 구한다. (박싱 / 가상 호출 없음)
+ * 조회는 lock 없이 volatile 스냅샷을 읽고, 새 음료 등록만 lock 을 잡고 배열을 복사해서 바꾼다. (메뉴는 거의 바뀌지 않는다)
+ */
+public class BeverageCatalog {
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ReentrantLock registerLock = new ReentrantLock();
+    private volatile Table table = new Table(new int[0], new InternedBeverage[0]);
+
+    public static BeverageCatalog of(Beverage... beverages) {
+        BeverageCatalog catalog = new BeverageCatalog();
+        for (Beverage beverage : beverages) {
+            catalog.intern(beverage);
+        }
+        return catalog;
+    }
+
+    /**
+     * 같은 이름의 음료는 같은 id 를 받는다. 이름이 같은데 가격이 다르면 등록하지 않는다.
+     */
+    public int intern(Beverage beverage) {
+        if (beverage instanceof InternedBeverage interned && interned.belongsTo(this)) {
+            return interned.getId();
+        }
+
+        Integer id = ids.get(beverage.getName());
+        if (id != null) {
+            return checkPrice(id, beverage);
+        }
+
+        registerLock.lock();
+        try {
+            id = ids.get(beverage.getName());
+            if (id != null) {
+                return checkPrice(id, beverage);
+            }
+            return register(beverage);
+        } finally {
+            registerLock.unlock();
+        }
+    }
+
+    public int[] intern(List<? extends Beverage> beverages) {
+        int[] beverageIds = new int[beverages.size()];
+        for (int i = 0; i < beverageIds.length; i++) {
+            beverageIds[i] = intern(beverages.get(i));
+        }
+        return beverageIds;
+    }
+
+    /**
+     * id 에 해당하는 공유 인스턴스
+     */
+    public InternedBeverage get(int id) {
+        return table.beverages[id];
+    }
+
+    public int getPrice(int id) {
+        return table.prices[id];
+    }
+
+    public int size() {
+        return table.prices.length;
+    }
+
+    public int calculateTotalPrice(int[] beverageIds) {
+        return calculateTotalPrice(beverageIds, beverageIds.length);
+    }
+
+    /**
+     * 앞에서부터 length 개의 id 만 더한다. (배열을 재사용하는 장바구니용)
+     */
+    public int calculateTotalPrice(int[] beverageIds, int length) {
+        int[] prices = table.prices;
+        long totalPrice = 0;
+        for (int i = 0; i < length; i++) {
+            totalPrice += prices[beverageIds[i]];
+        }
+        return Math.toIntExact(totalPrice);
+    }
+
+    /**
+     * 음료 id 와 잔 수를 같은 인덱스끼리 곱해서 더한다.
+     */
+    public int calculateTotalPrice(int[] beverageIds, int[] quantities, int length) {
+        int[] prices = table.prices;
+        long totalPrice = 0;
+        for (int i = 0; i < length; i++) {
+            totalPrice += (long) prices[beverageIds[i]] * quantities[i];
+        }
+        return Math.toIntExact(totalPrice);
+    }
+
+    private int checkPrice(int id, Beverage beverage) {
+        if (getPrice(id) != beverage.getPrice()) {
+            throw new IllegalArgumentException("이미 다른 가격으로 등록된 음료입니다. name=" + beverage.getName());
+        }
+        return id;
+    }
+
+    private int register(Beverage beverage) {
+        Table current = table;
+        int id = current.prices.length;
+
+        int[] prices = Arrays.copyOf(current.prices, id + 1);
+        InternedBeverage[] beverages = Arrays.copyOf(current.beverages, id + 1);
+        prices[id] = beverage.getPrice();
+        beverages[id] = new InternedBeverage(this, id, beverage.getName(), beverage.getPrice());
+
+        table = new Table(prices, beverages);
+        ids.put(beverage.getName(), id);
+        return id;
+    }
+
+    private static class Table {
+
+        private final int[] prices;
+        private final InternedBeverage[] beverages;
+
+        private Table(int[] prices, InternedBeverage[] beverages) {
+            this.prices = prices;
+            this.beverages = beverages;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package sample.cafekiosk.unit.beverage;
+
+/**
+ * BeverageCatalog 가 나눠 주는 공유(flyweight) 음료. 불변이고 final 이라 getPrice 호출이 단형(monomorphic)이다.
+ */
+public final class InternedBeverage implements Beverage {
+
+    private final BeverageCatalog catalog;
+    private final int id;
+    private final String name;
+    private final int price;
+
+    InternedBeverage(BeverageCatalog catalog, int id, String name, int price) {
+        this.catalog = catalog;
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getPrice() {
+        return price;
+    }
+
+    boolean belongsTo(BeverageCatalog catalog) {
+        return this.catalog == catalog;
+    }
+}
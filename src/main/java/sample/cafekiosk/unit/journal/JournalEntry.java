@@ -0,0 +1,20 @@
+package sample.cafekiosk.unit.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.unit.order.Order;
+
+@Getter
+@RequiredArgsConstructor
+public class JournalEntry {
+    private final String journalId;
+    private final long sequence;
+    private final Order order;
+
+    /**
+     * 저널 파일마다 id 가 다르므로 저널을 새로 만들어도 키가 겹치지 않는다.
+     */
+    public String getIdempotencyKey() {
+        return journalId + "-" + sequence;
+    }
+}
@@ -0,0 +1,292 @@
+package sample.cafekiosk.unit.journal;
+
+import sample.cafekiosk.unit.order.Order;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * 키오스크 로컬 주문 저널 (memory-mapped 파일)
+ *
+ * 헤더 : magic | version | 저널 id (UUID) | 전송 완료 순번(checkpoint) | checkpoint CRC
+ * 항목 : 길이 | CRC32C(순번 + payload) | 순번 | payload
+ *
+ * 항목은 순번과 payload 를 먼저 쓰고 길이를 마지막에 쓴다. 길이가 0 이면 끝이다.
+ * 다시 열 때 처음부터 읽으면서 길이 / CRC / 순번 연속성이 맞지 않는 항목에서 멈춘다. (쓰다 죽은 항목은 버린다)
+ * 모든 항목이 전송되면 첫 항목 자리에 길이 0 을 써서 파일을 비운다. 뒤에 남은 옛 항목은 순번이 이어지지 않아 읽히지 않는다.
+ * 기록할 때마다 해당 구간을 force 한다. (키오스크 주문은 초당 몇 건 수준이라 비용이 작다)
+ */
+public class OrderJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x4B4F4A31; // KOJ1
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int JOURNAL_ID_OFFSET = 8;
+    private static final int CHECKPOINT_OFFSET = 24;
+    private static final int CHECKPOINT_CRC_OFFSET = 32;
+    private static final int DATA_START = 64;
+
+    private static final int ENTRY_HEADER_SIZE = 16; // 길이 4 + CRC 4 + 순번 8
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final String journalId;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long checkpoint;
+    private long nextSequence;
+    private int readPosition;
+    private int writePosition;
+    private int pendingCount;
+
+    private OrderJournal(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+            initializeHeader();
+        } else if (buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IllegalStateException("지원하지 않는 주문 저널 버전입니다. version=" + buffer.getInt(VERSION_OFFSET));
+        }
+
+        this.journalId = new UUID(buffer.getLong(JOURNAL_ID_OFFSET), buffer.getLong(JOURNAL_ID_OFFSET + 8)).toString();
+        this.checkpoint = readCheckpoint();
+        recover();
+    }
+
+    /**
+     * 파일이 없으면 capacity 크기로 만든다. 이미 있으면 기존 크기를 그대로 쓴다.
+     */
+    public static OrderJournal open(Path path, int capacity) throws IOException {
+        if (capacity <= DATA_START + ENTRY_HEADER_SIZE) {
+            throw new IllegalArgumentException("주문 저널 크기가 너무 작습니다.");
+        }
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = Math.max(channel.size(), capacity);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new OrderJournal(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 주문을 기록하고 순번을 돌려준다. 자리가 없으면 IllegalStateException
+     */
+    public long append(Order order) {
+        byte[] payload = OrderJournalCodec.encode(order);
+
+        lock.lock();
+        try {
+            int entrySize = ENTRY_HEADER_SIZE + payload.length;
+            // 다음 항목의 길이(0) 자리까지 남겨 둔다.
+            if (writePosition + entrySize + Integer.BYTES > buffer.capacity()) {
+                throw new IllegalStateException("주문 저널이 가득 찼습니다.");
+            }
+
+            long sequence = nextSequence;
+            int position = writePosition;
+            buffer.putInt(position + entrySize, 0);
+            buffer.putLong(position + 8, sequence);
+            buffer.put(position + ENTRY_HEADER_SIZE, payload);
+            buffer.putInt(position + 4, checksum(sequence, payload));
+            buffer.force(position + 4, entrySize);
+            buffer.putInt(position, payload.length);
+            buffer.force(position, Integer.BYTES);
+
+            nextSequence = sequence + 1;
+            writePosition = position + entrySize;
+            pendingCount++;
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 아직 전송하지 않은 항목을 앞에서부터 maxCount 개까지 읽는다. (checkpoint 를 옮기기 전까지는 같은 항목을 다시 준다)
+     */
+    public List<JournalEntry> readPending(int maxCount) {
+        return readPending(0, maxCount);
+    }
+
+    /**
+     * 아직 전송하지 않은 항목 중 순번이 fromSequence 이상인 항목을 maxCount 개까지 읽는다. (앞 항목이 밀려 있어도 뒤 항목을 보낼 수 있게)
+     */
+    public List<JournalEntry> readPending(long fromSequence, int maxCount) {
+        lock.lock();
+        try {
+            List<JournalEntry> entries = new ArrayList<>(Math.min(maxCount, pendingCount));
+            int position = readPosition;
+            while (entries.size() < maxCount && position < writePosition) {
+                int length = buffer.getInt(position);
+                long sequence = buffer.getLong(position + 8);
+                if (sequence >= fromSequence) {
+                    entries.add(new JournalEntry(journalId, sequence, OrderJournalCodec.decode(readPayload(position, length))));
+                }
+                position += ENTRY_HEADER_SIZE + length;
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * sequence 까지 전송했다고 기록한다. 남은 항목이 없으면 파일을 비운다.
+     */
+    public void checkpoint(long sequence) {
+        lock.lock();
+        try {
+            if (sequence <= checkpoint) {
+                return;
+            }
+            if (sequence >= nextSequence) {
+                throw new IllegalArgumentException("기록되지 않은 순번입니다. sequence=" + sequence);
+            }
+
+            writeCheckpoint(sequence);
+            while (readPosition < writePosition && buffer.getLong(readPosition + 8) <= sequence) {
+                readPosition += ENTRY_HEADER_SIZE + buffer.getInt(readPosition);
+                pendingCount--;
+            }
+
+            if (pendingCount == 0) {
+                buffer.putInt(DATA_START, 0);
+                buffer.force(DATA_START, Integer.BYTES);
+                readPosition = DATA_START;
+                writePosition = DATA_START;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getJournalId() {
+        return journalId;
+    }
+
+    public long getCheckpoint() {
+        lock.lock();
+        try {
+            return checkpoint;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void initializeHeader() {
+        UUID id = UUID.randomUUID();
+        buffer.putInt(DATA_START, 0);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putLong(JOURNAL_ID_OFFSET, id.getMostSignificantBits());
+        buffer.putLong(JOURNAL_ID_OFFSET + 8, id.getLeastSignificantBits());
+        buffer.putLong(CHECKPOINT_OFFSET, 0);
+        buffer.putInt(CHECKPOINT_CRC_OFFSET, checksum(0, new byte[0]));
+        buffer.force(0, DATA_START + Integer.BYTES);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.force(0, Integer.BYTES);
+    }
+
+    /**
+     * checkpoint 가 깨졌으면 0 으로 본다. 전부 다시 보내도 Idempotency-Key 로 한 번만 처리된다.
+     */
+    private long readCheckpoint() {
+        long value = buffer.getLong(CHECKPOINT_OFFSET);
+        return buffer.getInt(CHECKPOINT_CRC_OFFSET) == checksum(value, new byte[0]) ? value : 0;
+    }
+
+    private void writeCheckpoint(long sequence) {
+        buffer.putLong(CHECKPOINT_OFFSET, sequence);
+        buffer.putInt(CHECKPOINT_CRC_OFFSET, checksum(sequence, new byte[0]));
+        buffer.force(CHECKPOINT_OFFSET, Long.BYTES + Integer.BYTES);
+        checkpoint = sequence;
+    }
+
+    private void recover() {
+        int position = DATA_START;
+        long lastSequence = 0;
+        int pending = 0;
+        int firstPendingPosition = -1;
+
+        while (position + ENTRY_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + ENTRY_HEADER_SIZE + length + Integer.BYTES > buffer.capacity()) {
+                break;
+            }
+
+            long sequence = buffer.getLong(position + 8);
+            boolean continuous = lastSequence == 0 ? sequence > 0 : sequence == lastSequence + 1;
+            if (!continuous || buffer.getInt(position + 4) != checksum(sequence, readPayload(position, length))) {
+                break;
+            }
+
+            if (sequence > checkpoint) {
+                pending++;
+                if (firstPendingPosition < 0) {
+                    firstPendingPosition = position;
+                }
+            }
+            lastSequence = sequence;
+            position += ENTRY_HEADER_SIZE + length;
+        }
+
+        // 쓰다 만 항목이 있으면 다음 기록이 그 자리를 덮어쓴다.
+        buffer.putInt(position, 0);
+        buffer.force(position, Integer.BYTES);
+
+        this.writePosition = position;
+        this.readPosition = firstPendingPosition < 0 ? position : firstPendingPosition;
+        this.pendingCount = pending;
+        this.nextSequence = Math.max(lastSequence, checkpoint) + 1;
+    }
+
+    private byte[] readPayload(int position, int length) {
+        byte[] payload = new byte[length];
+        buffer.get(position + ENTRY_HEADER_SIZE, payload);
+        return payload;
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
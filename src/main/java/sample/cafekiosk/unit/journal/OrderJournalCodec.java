@@ -0,0 +1,78 @@
+package sample.cafekiosk.unit.journal;
+
+import sample.cafekiosk.unit.beverage.Beverage;
+import sample.cafekiosk.unit.order.Order;
+import sample.cafekiosk.unit.order.OrderLine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 <-> 저널 payload
+ * 주문 시각, 줄 수, 줄마다 (음료 이름, 가격, 잔 수)
+ */
+class OrderJournalCodec {
+
+    private OrderJournalCodec() {
+    }
+
+    static byte[] encode(Order order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(order.getOrderDateTime().toString());
+            out.writeInt(order.getLines().size());
+            for (OrderLine line : order.getLines()) {
+                out.writeUTF(line.getBeverage().getName());
+                out.writeInt(line.getBeverage().getPrice());
+                out.writeInt(line.getQuantity());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Order decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            LocalDateTime orderDateTime = LocalDateTime.parse(in.readUTF());
+            int lineCount = in.readInt();
+
+            List<OrderLine> lines = new ArrayList<>(lineCount);
+            for (int i = 0; i < lineCount; i++) {
+                JournaledBeverage beverage = new JournaledBeverage(in.readUTF(), in.readInt());
+                lines.add(new OrderLine(beverage, in.readInt()));
+            }
+            return new Order(orderDateTime, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class JournaledBeverage implements Beverage {
+
+        private final String name;
+        private final int price;
+
+        private JournaledBeverage(String name, int price) {
+            this.name = name;
+            this.price = price;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getPrice() {
+            return price;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package sample.cafekiosk.unit.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sample.cafekiosk.unit.order.OrderLine;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 저널에 쌓인 주문을 주문 API(POST /api/v1/orders/new)로 다시 보낸다.
+ *
+ * 항목마다 Idempotency-Key(저널 id + 순번)와 키오스크에서 주문한 시각을 붙여서 batch-size 개씩 동시에 보낸다.
+ * 끝난 항목이 앞에서부터 이어지는 데까지만 checkpoint 를 옮긴다. 보낸 뒤 checkpoint 전에 죽어도 같은 키로 다시 보내므로
+ * 서버가 키를 보관하는 동안(cafekiosk.order.idempotency.retention-ms) 주문은 한 번만 만들어진다.
+ *
+ * 2xx : 전송 완료
+ * 4xx : 서버가 거절한 주문 -> 다시 보내도 같으므로 dead letter 로그(order-journal-dead-letter)에 남기고 건너뛴다.
+ * 5xx : 저널에 그대로 두고 retry-backoff 부터 두 배씩 늘린 간격(최대 5분)이 지난 뒤 다시 보낸다. 버리지 않는다.
+ *       기다리는 항목이 있어도 뒤 항목은 계속 보낸다. (checkpoint 는 그 항목 앞에서 멈춘다)
+ * 연결 실패 : 오프라인 -> 그대로 두고 이번 재전송을 멈춘다. (다음 재전송 때 다시 보낸다)
+ */
+@Slf4j
+public class OrderJournalReplayer implements AutoCloseable {
+
+    private static final Logger DEAD_LETTER_LOG = LoggerFactory.getLogger("order-journal-dead-letter");
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final long MAX_RETRY_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int OFFLINE = -1;
+
+    private final OrderJournal journal;
+    private final HttpClient httpClient;
+    private final URI orderUri;
+    private final Map<String, String> productNumbersByBeverageName;
+    private final int batchSize;
+    private final long retryBackoffMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // replayLock 을 잡은 스레드만 쓴다.
+    private final Set<Long> doneSequences = new HashSet<>();
+    private final Map<Long, Retry> retries = new HashMap<>();
+
+    private final ReentrantLock replayLock = new ReentrantLock();
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private ScheduledExecutorService replayExecutor;
+
+    public OrderJournalReplayer(OrderJournal journal,
+                                HttpClient httpClient,
+                                URI baseUri,
+                                Map<String, String> productNumbersByBeverageName,
+                                int batchSize,
+                                Duration retryBackoff) {
+        this.journal = journal;
+        this.httpClient = httpClient;
+        this.orderUri = baseUri.resolve("/api/v1/orders/new");
+        this.productNumbersByBeverageName = Map.copyOf(productNumbersByBeverageName);
+        this.batchSize = batchSize;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+    }
+
+    /**
+     * interval 마다 재전송을 시도하는 데몬 스레드를 띄운다. (서버에 다시 연결되면 자동으로 비워진다)
+     */
+    public void start(Duration interval) {
+        lifecycleLock.lock();
+        try {
+            if (replayExecutor != null) {
+                return;
+            }
+            replayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "order-journal-replayer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            replayExecutor.scheduleWithFixedDelay(this::replayQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lifecycleLock.lock();
+        try {
+            if (replayExecutor != null) {
+                replayExecutor.shutdownNow();
+                replayExecutor = null;
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * 보낼 수 있는 항목을 끝까지 보낸다. 다시 보낼 시간이 안 된 항목은 건너뛰고, 연결이 안 되면 멈춘다.
+     */
+    public ReplayResult replay() {
+        replayLock.lock();
+        try {
+            int deliveredCount = 0;
+            int rejectedCount = 0;
+            long fromSequence = 0;
+
+            while (true) {
+                List<JournalEntry> entries = journal.readPending(fromSequence, batchSize);
+                if (entries.isEmpty()) {
+                    break;
+                }
+                fromSequence = entries.get(entries.size() - 1).getSequence() + 1;
+
+                long nowMillis = System.currentTimeMillis();
+                List<JournalEntry> sending = new ArrayList<>(entries.size());
+                for (JournalEntry entry : entries) {
+                    if (!doneSequences.contains(entry.getSequence()) && isRetryDue(entry, nowMillis)) {
+                        sending.add(entry);
+                    }
+                }
+
+                // 본문을 먼저 모두 만든다. (상품번호가 없는 음료가 있으면 하나도 보내지 않고 멈춘다)
+                List<String> bodies = new ArrayList<>(sending.size());
+                for (JournalEntry entry : sending) {
+                    bodies.add(toRequestBody(entry));
+                }
+
+                List<CompletableFuture<Integer>> statusCodes = new ArrayList<>(sending.size());
+                for (int i = 0; i < sending.size(); i++) {
+                    statusCodes.add(send(sending.get(i), bodies.get(i)));
+                }
+
+                boolean offline = false;
+                for (int i = 0; i < sending.size(); i++) {
+                    JournalEntry entry = sending.get(i);
+                    int statusCode = statusCodes.get(i).join();
+                    if (statusCode == OFFLINE) {
+                        offline = true;
+                    } else if (statusCode >= 200 && statusCode < 300) {
+                        deliveredCount++;
+                        markDone(entry);
+                    } else if (statusCode >= 400 && statusCode < 500) {
+                        rejectedCount++;
+                        DEAD_LETTER_LOG.error("주문 저널 항목을 서버가 거절했습니다. key={} status={} body={}",
+                                entry.getIdempotencyKey(), statusCode, bodies.get(i));
+                        markDone(entry);
+                    } else {
+                        scheduleRetry(entry, statusCode, nowMillis);
+                    }
+                }
+
+                advanceCheckpoint();
+                if (offline) {
+                    break;
+                }
+            }
+
+            return new ReplayResult(deliveredCount, rejectedCount, journal.getPendingCount() - doneSequences.size());
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    /**
+     * 예외로 주기 실행이 취소되지 않게 한다. 남은 항목은 다음 주기에 다시 보낸다.
+     */
+    private void replayQuietly() {
+        try {
+            replay();
+        } catch (RuntimeException e) {
+            log.warn("주문 저널 재전송 실패", e);
+        }
+    }
+
+    private CompletableFuture<Integer> send(JournalEntry entry, String body) {
+        HttpRequest request = HttpRequest.newBuilder(orderUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header(IDEMPOTENCY_KEY_HEADER, entry.getIdempotencyKey())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, throwable) -> throwable != null ? OFFLINE : response.statusCode());
+    }
+
+    private boolean isRetryDue(JournalEntry entry, long nowMillis) {
+        Retry retry = retries.get(entry.getSequence());
+        return retry == null || retry.nextAttemptMillis <= nowMillis;
+    }
+
+    private void scheduleRetry(JournalEntry entry, int statusCode, long nowMillis) {
+        Retry previous = retries.get(entry.getSequence());
+        int attempt = previous == null ? 1 : previous.attempt + 1;
+        long backoffMillis = Math.min(retryBackoffMillis << Math.min(attempt - 1, 20), MAX_RETRY_BACKOFF_MILLIS);
+        retries.put(entry.getSequence(), new Retry(attempt, nowMillis + backoffMillis));
+        log.warn("주문 저널 항목 전송 실패, {}ms 뒤 다시 보냅니다. key={} status={} attempt={}",
+                backoffMillis, entry.getIdempotencyKey(), statusCode, attempt);
+    }
+
+    private void markDone(JournalEntry entry) {
+        retries.remove(entry.getSequence());
+        doneSequences.add(entry.getSequence());
+    }
+
+    /**
+     * checkpoint 바로 뒤부터 끝난 항목이 이어지는 데까지 checkpoint 를 옮긴다.
+     */
+    private void advanceCheckpoint() {
+        long checkpoint = journal.getCheckpoint();
+        long sequence = checkpoint;
+        while (doneSequences.remove(sequence + 1)) {
+            sequence++;
+        }
+        if (sequence > checkpoint) {
+            journal.checkpoint(sequence);
+        }
+    }
+
+    /**
+     * 잔 수만큼 상품번호를 늘어놓고 주문 시각을 붙인다. {"productNumbers": ["001", "001", "002"], "registeredDateTime": "2023-01-17T10:00"}
+     */
+    private String toRequestBody(JournalEntry entry) {
+        List<String> productNumbers = new ArrayList<>();
+        for (OrderLine line : entry.getOrder().getLines()) {
+            String productNumber = productNumbersByBeverageName.get(line.getBeverage().getName());
+            if (productNumber == null) {
+                throw new IllegalStateException("상품번호가 등록되지 않은 음료입니다. name=" + line.getBeverage().getName());
+            }
+            for (int i = 0; i < line.getQuantity(); i++) {
+                productNumbers.add(productNumber);
+            }
+        }
+
+        try {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("productNumbers", productNumbers);
+            body.put("registeredDateTime", entry.getOrder().getOrderDateTime().toString());
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Retry {
+
+        private final int attempt;
+        private final long nextAttemptMillis;
+
+        private Retry(int attempt, long nextAttemptMillis) {
+            this.attempt = attempt;
+            this.nextAttemptMillis = nextAttemptMillis;
+        }
+    }
+}
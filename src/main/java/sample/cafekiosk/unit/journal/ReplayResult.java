@@ -0,0 +1,12 @@
+package sample.cafekiosk.unit.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ReplayResult {
+    private final int deliveredCount;
+    private final int rejectedCount;
+    private final int pendingCount;
+}
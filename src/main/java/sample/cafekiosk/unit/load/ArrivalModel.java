@@ -0,0 +1,23 @@
+package sample.cafekiosk.unit.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ArrivalModel {
+
+    OPEN("open-loop"),
+    CLOSED("closed-loop");
+
+    private final String text;
+
+    public static ArrivalModel of(String text) {
+        for (ArrivalModel model : values()) {
+            if (model.name().equalsIgnoreCase(text) || model.text.equalsIgnoreCase(text)) {
+                return model;
+            }
+        }
+        throw new IllegalArgumentException("도착 모델은 open 또는 closed 입니다. model=" + text);
+    }
+}
@@ -0,0 +1,19 @@
+package sample.cafekiosk.unit.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Endpoint {
+
+    PRODUCTS_SELLING("GET", "/api/v1/products/selling"),
+    ORDERS_NEW("POST", "/api/v1/orders/new");
+
+    private final String method;
+    private final String path;
+
+    public String getText() {
+        return method + " " + path;
+    }
+}
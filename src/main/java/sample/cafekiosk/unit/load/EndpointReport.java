@@ -0,0 +1,44 @@
+package sample.cafekiosk.unit.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * API 별 부하 결과 (응답시간은 마이크로초, coordinated omission 보정값)
+ */
+@Getter
+public class EndpointReport {
+
+    private final Endpoint endpoint;
+    private final long requestCount;
+    private final long successCount;
+    private final long clientErrorCount;
+    private final long serverErrorCount;
+    private final long timeoutCount;
+    private final long connectionErrorCount;
+    private final double requestsPerSecond;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+    private final long uncorrectedP99Micros;
+
+    @Builder
+    private EndpointReport(Endpoint endpoint, long requestCount, long successCount, long clientErrorCount,
+                           long serverErrorCount, long timeoutCount, long connectionErrorCount, double requestsPerSecond,
+                           long p50Micros, long p99Micros, long p999Micros, long maxMicros, long uncorrectedP99Micros) {
+        this.endpoint = endpoint;
+        this.requestCount = requestCount;
+        this.successCount = successCount;
+        this.clientErrorCount = clientErrorCount;
+        this.serverErrorCount = serverErrorCount;
+        this.timeoutCount = timeoutCount;
+        this.connectionErrorCount = connectionErrorCount;
+        this.requestsPerSecond = requestsPerSecond;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+        this.uncorrectedP99Micros = uncorrectedP99Micros;
+    }
+}
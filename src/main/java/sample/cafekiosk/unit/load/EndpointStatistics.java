@@ -0,0 +1,78 @@
+package sample.cafekiosk.unit.load;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API 하나의 응답 수 / 응답시간
+ *
+ * responseTime 은 보내려던 시각부터 잰 보정값(coordinated omission 보정), serviceTime 은 실제로 보낸 시각부터 잰 값이다.
+ * 타임아웃은 응답을 받지 못했어도 타임아웃까지 기다린 시간을 응답시간에 남긴다. (빼면 가장 느린 요청이 분포에서 사라진다)
+ */
+class EndpointStatistics {
+
+    private final Endpoint endpoint;
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder clientErrorCount = new LongAdder();
+    private final LongAdder serverErrorCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder connectionErrorCount = new LongAdder();
+
+    EndpointStatistics(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(int statusCode, long responseMicros, long serviceMicros, long expectedIntervalMicros) {
+        requestCount.increment();
+        if (statusCode >= 200 && statusCode < 300) {
+            successCount.increment();
+        } else if (statusCode >= 400 && statusCode < 500) {
+            clientErrorCount.increment();
+        } else {
+            serverErrorCount.increment();
+        }
+
+        recordLatency(responseMicros, serviceMicros, expectedIntervalMicros);
+    }
+
+    void recordTimeout(long responseMicros, long serviceMicros, long expectedIntervalMicros) {
+        requestCount.increment();
+        timeoutCount.increment();
+        recordLatency(responseMicros, serviceMicros, expectedIntervalMicros);
+    }
+
+    void recordConnectionError() {
+        requestCount.increment();
+        connectionErrorCount.increment();
+    }
+
+    private void recordLatency(long responseMicros, long serviceMicros, long expectedIntervalMicros) {
+        responseTime.recordCorrected(responseMicros, expectedIntervalMicros);
+        serviceTime.record(serviceMicros);
+    }
+
+    EndpointReport toReport(Duration measuredDuration) {
+        long count = requestCount.sum();
+        double seconds = measuredDuration.toNanos() / 1_000_000_000.0;
+
+        return EndpointReport.builder()
+                .endpoint(endpoint)
+                .requestCount(count)
+                .successCount(successCount.sum())
+                .clientErrorCount(clientErrorCount.sum())
+                .serverErrorCount(serverErrorCount.sum())
+                .timeoutCount(timeoutCount.sum())
+                .connectionErrorCount(connectionErrorCount.sum())
+                .requestsPerSecond(seconds <= 0 ? 0 : count / seconds)
+                .p50Micros(responseTime.percentile(50))
+                .p99Micros(responseTime.percentile(99))
+                .p999Micros(responseTime.percentile(99.9))
+                .maxMicros(responseTime.getMax())
+                .uncorrectedP99Micros(serviceTime.percentile(99))
+                .build();
+    }
+}
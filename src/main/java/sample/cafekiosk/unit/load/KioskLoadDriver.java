@@ -0,0 +1,176 @@
+package sample.cafekiosk.unit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 키오스크 N대가 주문 API(POST /api/v1/orders/new)와 메뉴 API(GET /api/v1/products/selling)에 부하를 준다.
+ *
+ * 키오스크마다 스레드 하나가 요청을 보내고 응답을 기다린다.
+ * open-loop 는 키오스크마다 (키오스크 수 / 초당 요청 수) 간격으로 보낼 시각을 미리 정해 두고, 응답이 늦어 밀리면 밀린 요청을 바로 이어서 보낸다.
+ * 응답시간은 보내려던 시각부터 재므로 서버가 멈춘 동안 밀린 요청도 그만큼 기다린 것으로 남는다.
+ * closed-loop 는 응답을 받고 think-time 만큼 쉰 뒤 다음 요청을 보내고, 응답이 think-time 보다 늦으면
+ * 그 사이 보내지 못한 요청을 think-time 간격으로 채워서 센다. (think-time 이 0 이면 보정하지 않는다)
+ * 타임아웃은 연결 실패와 따로 세고, 타임아웃까지 기다린 시간을 응답시간으로 남긴다.
+ * 워밍업 동안 보낸 요청은 결과에서 뺀다.
+ */
+public class KioskLoadDriver {
+
+    private static final int CONNECTION_ERROR = -1;
+    private static final int TIMEOUT = -2;
+
+    private final LoadProfile profile;
+    private final HttpClient httpClient;
+    private final OrderMix orderMix;
+    private final HttpRequest menuRequest;
+    private final URI orderUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public KioskLoadDriver(LoadProfile profile, HttpClient httpClient) {
+        this.profile = profile;
+        this.httpClient = httpClient;
+        this.orderMix = profile.getProductNumbers().isEmpty() ? null : new OrderMix(profile.getProductNumbers());
+        this.menuRequest = HttpRequest.newBuilder(profile.getBaseUri().resolve(Endpoint.PRODUCTS_SELLING.getPath()))
+                .timeout(profile.getRequestTimeout())
+                .GET()
+                .build();
+        this.orderUri = profile.getBaseUri().resolve(Endpoint.ORDERS_NEW.getPath());
+    }
+
+    public LoadReport run() throws InterruptedException {
+        Map<Endpoint, EndpointStatistics> statistics = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            statistics.put(endpoint, new EndpointStatistics(endpoint));
+        }
+
+        long startNanos = System.nanoTime();
+        long warmupEndNanos = startNanos + profile.getWarmup().toNanos();
+        long endNanos = warmupEndNanos + profile.getDuration().toNanos();
+
+        List<Thread> kiosks = new ArrayList<>(profile.getKioskCount());
+        for (int i = 0; i < profile.getKioskCount(); i++) {
+            int kioskIndex = i;
+            Thread kiosk = new Thread(() -> runKiosk(kioskIndex, statistics, startNanos, warmupEndNanos, endNanos), "kiosk-load-" + i);
+            kiosk.setDaemon(true);
+            kiosks.add(kiosk);
+            kiosk.start();
+        }
+
+        try {
+            for (Thread kiosk : kiosks) {
+                kiosk.join();
+            }
+        } finally {
+            kiosks.forEach(Thread::interrupt);
+        }
+
+        // open-loop 에서 밀린 요청은 측정 시간이 끝난 뒤에 끝날 수 있으므로 실제로 끝난 시각까지를 측정 시간으로 본다.
+        Duration measuredDuration = Duration.ofNanos(Math.max(endNanos, System.nanoTime()) - warmupEndNanos);
+        List<EndpointReport> endpoints = new ArrayList<>();
+        statistics.values().forEach(endpointStatistics -> endpoints.add(endpointStatistics.toReport(measuredDuration)));
+        return new LoadReport(profile, measuredDuration, endpoints);
+    }
+
+    private void runKiosk(int kioskIndex, Map<Endpoint, EndpointStatistics> statistics,
+                          long startNanos, long warmupEndNanos, long endNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean openLoop = profile.getArrivalModel() == ArrivalModel.OPEN;
+        long intervalNanos = openLoop
+                ? TimeUnit.SECONDS.toNanos(profile.getKioskCount()) / profile.getRequestsPerSecond()
+                : profile.getThinkTime().toNanos();
+        long expectedIntervalMicros = openLoop ? 0 : TimeUnit.NANOSECONDS.toMicros(intervalNanos);
+
+        // open-loop 는 키오스크끼리 보내는 시각이 겹치지 않게 간격을 나눠서 시작한다.
+        long intendedNanos = openLoop ? startNanos + intervalNanos * kioskIndex / profile.getKioskCount() : startNanos;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            if (openLoop) {
+                if (intendedNanos >= endNanos) {
+                    return;
+                }
+                waitUntil(intendedNanos);
+            } else {
+                intendedNanos = System.nanoTime();
+                if (intendedNanos >= endNanos) {
+                    return;
+                }
+            }
+
+            Endpoint endpoint = random.nextDouble() < profile.getMenuRatio() ? Endpoint.PRODUCTS_SELLING : Endpoint.ORDERS_NEW;
+            HttpRequest request = endpoint == Endpoint.PRODUCTS_SELLING ? menuRequest : toOrderRequest(orderMix.nextCart(random));
+
+            long sentNanos = System.nanoTime();
+            int statusCode = send(request);
+            long receivedNanos = System.nanoTime();
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            if (intendedNanos >= warmupEndNanos) {
+                EndpointStatistics endpointStatistics = statistics.get(endpoint);
+                long responseMicros = TimeUnit.NANOSECONDS.toMicros(receivedNanos - intendedNanos);
+                long serviceMicros = TimeUnit.NANOSECONDS.toMicros(receivedNanos - sentNanos);
+                if (statusCode == CONNECTION_ERROR) {
+                    endpointStatistics.recordConnectionError();
+                } else if (statusCode == TIMEOUT) {
+                    endpointStatistics.recordTimeout(responseMicros, serviceMicros, expectedIntervalMicros);
+                } else {
+                    endpointStatistics.record(statusCode, responseMicros, serviceMicros, expectedIntervalMicros);
+                }
+            }
+
+            if (openLoop) {
+                intendedNanos += intervalNanos;
+            } else if (intervalNanos > 0) {
+                LockSupport.parkNanos(intervalNanos);
+            }
+        }
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (HttpTimeoutException e) {
+            return TIMEOUT;
+        } catch (IOException e) {
+            return CONNECTION_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CONNECTION_ERROR;
+        }
+    }
+
+    private HttpRequest toOrderRequest(List<String> productNumbers) {
+        try {
+            return HttpRequest.newBuilder(orderUri)
+                    .timeout(profile.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("productNumbers", productNumbers))))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remainingNanos;
+        while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package sample.cafekiosk.unit.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답시간 로그-선형 버킷 히스토그램 (마이크로초)
+ *
+ * 0 ~ 31 은 값마다 한 칸, 그 위로는 2의 거듭제곱 구간마다 32칸으로 나눠서 센다. (p999 까지 보므로 백분위 오차 3.2% 이내)
+ * 기록은 lock-free 이고 여러 키오스크 스레드가 같이 쓴다.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(indexOf(recorded));
+        totalCount.increment();
+        max.accumulate(recorded);
+    }
+
+    /**
+     * coordinated omission 보정 기록
+     *
+     * 요청 간격이 expectedInterval 이어야 하는데 응답이 value 만큼 늦었다면, 그동안 보내지 못한 요청들도
+     * value - expectedInterval, value - 2 * expectedInterval, ... 만큼 기다린 것으로 같이 센다.
+     * expectedInterval 이 0 이하이면 보정하지 않는다.
+     */
+    void recordCorrected(long value, long expectedInterval) {
+        record(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+            record(missing);
+        }
+    }
+
+    long getCount() {
+        return totalCount.sum();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * percentile(0 ~ 100) 위치의 값이 들어 있는 칸의 상한을 돌려준다. (최댓값을 넘지 않는다)
+     */
+    long percentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        long upperBound = lowerBound + (1L << shift) - 1;
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
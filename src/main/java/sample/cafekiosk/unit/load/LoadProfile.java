@@ -0,0 +1,120 @@
+package sample.cafekiosk.unit.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 부하 설정
+ *
+ * open-loop : 키오스크 전체가 초당 requestsPerSecond 건을 정해진 시각에 보낸다. 응답이 늦어도 다음 요청 시각은 밀리지 않는다.
+ * closed-loop : 키오스크마다 응답을 받고 thinkTime 만큼 쉰 뒤 다음 요청을 보낸다.
+ * 요청마다 menuRatio 확률로 메뉴(판매 상품 목록)를 읽고, 나머지는 productNumbers 로 만든 주문을 보낸다.
+ * requestTimeout 안에 응답이 오지 않은 요청은 타임아웃으로 세고, 타임아웃까지 걸린 시간을 응답시간으로 남긴다.
+ */
+@Getter
+public class LoadProfile {
+
+    private static final List<String> OPTIONS = List.of(
+            "base-uri", "kiosks", "model", "rate", "think-ms", "warmup-s", "duration-s", "menu-ratio", "products", "timeout-ms");
+
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI baseUri;
+    private final int kioskCount;
+    private final ArrivalModel arrivalModel;
+    private final int requestsPerSecond;
+    private final Duration thinkTime;
+    private final Duration warmup;
+    private final Duration duration;
+    private final double menuRatio;
+    private final List<String> productNumbers;
+    private final Duration requestTimeout;
+
+    @Builder
+    private LoadProfile(URI baseUri, int kioskCount, ArrivalModel arrivalModel, int requestsPerSecond, Duration thinkTime,
+                        Duration warmup, Duration duration, double menuRatio, List<String> productNumbers, Duration requestTimeout) {
+        if (baseUri == null) {
+            throw new IllegalArgumentException("서버 주소는 필수입니다.");
+        }
+        if (kioskCount <= 0) {
+            throw new IllegalArgumentException("키오스크는 1대 이상이어야 합니다.");
+        }
+        if (arrivalModel == null) {
+            throw new IllegalArgumentException("도착 모델은 필수입니다.");
+        }
+        if (arrivalModel == ArrivalModel.OPEN && requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("open-loop 는 초당 요청 수가 1 이상이어야 합니다.");
+        }
+        if (duration == null || duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("측정 시간은 0보다 커야 합니다.");
+        }
+        if (menuRatio < 0 || menuRatio > 1) {
+            throw new IllegalArgumentException("메뉴 조회 비율은 0 ~ 1 사이여야 합니다.");
+        }
+        if (menuRatio < 1 && (productNumbers == null || productNumbers.isEmpty())) {
+            throw new IllegalArgumentException("주문할 상품번호가 없습니다.");
+        }
+        if (requestTimeout != null && (requestTimeout.isZero() || requestTimeout.isNegative())) {
+            throw new IllegalArgumentException("요청 타임아웃은 0보다 커야 합니다.");
+        }
+        this.baseUri = baseUri;
+        this.kioskCount = kioskCount;
+        this.arrivalModel = arrivalModel;
+        this.requestsPerSecond = requestsPerSecond;
+        this.thinkTime = thinkTime == null ? Duration.ZERO : thinkTime;
+        this.warmup = warmup == null ? Duration.ZERO : warmup;
+        this.duration = duration;
+        this.menuRatio = menuRatio;
+        this.productNumbers = productNumbers == null ? List.of() : List.copyOf(productNumbers);
+        this.requestTimeout = requestTimeout == null ? DEFAULT_REQUEST_TIMEOUT : requestTimeout;
+    }
+
+    /**
+     * --kiosks=8 --model=open --rate=200 --duration-s=30 처럼 받은 인자로 만든다. 없는 값은 기본값을 쓴다.
+     *
+     * base-uri(http://localhost:8080), kiosks(8), model(closed), rate(100), think-ms(500),
+     * warmup-s(5), duration-s(30), menu-ratio(0.5), products(001,002), timeout-ms(10000)
+     */
+    public static LoadProfile parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션은 --이름=값 형식입니다. option=" + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        List<String> unknownOptions = options.keySet().stream()
+                .filter(option -> !OPTIONS.contains(option))
+                .sorted()
+                .collect(Collectors.toList());
+        if (!unknownOptions.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 옵션입니다. options=" + unknownOptions);
+        }
+
+        return LoadProfile.builder()
+                .baseUri(URI.create(options.getOrDefault("base-uri", "http://localhost:8080")))
+                .kioskCount(Integer.parseInt(options.getOrDefault("kiosks", "8")))
+                .arrivalModel(ArrivalModel.of(options.getOrDefault("model", "closed")))
+                .requestsPerSecond(Integer.parseInt(options.getOrDefault("rate", "100")))
+                .thinkTime(Duration.ofMillis(Long.parseLong(options.getOrDefault("think-ms", "500"))))
+                .warmup(Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-s", "5"))))
+                .duration(Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-s", "30"))))
+                .menuRatio(Double.parseDouble(options.getOrDefault("menu-ratio", "0.5")))
+                .productNumbers(Arrays.stream(options.getOrDefault("products", "001,002").split(","))
+                        .map(String::trim)
+                        .filter(productNumber -> !productNumber.isEmpty())
+                        .collect(Collectors.toList()))
+                .requestTimeout(Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout-ms", "10000"))))
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package sample.cafekiosk.unit.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class LoadReport {
+
+    private final LoadProfile profile;
+    private final Duration measuredDuration;
+    private final List<EndpointReport> endpoints;
+
+    public EndpointReport getEndpoint(Endpoint endpoint) {
+        return endpoints.stream()
+                .filter(report -> report.getEndpoint() == endpoint)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("부하를 주지 않은 API 입니다. endpoint=" + endpoint));
+    }
+
+    public void print(PrintStream out) {
+        out.printf(">>> [%s] 키오스크 %d대, 측정 %d ms (워밍업 %d ms 제외)%s%n",
+                profile.getArrivalModel().getText(),
+                profile.getKioskCount(),
+                measuredDuration.toMillis(),
+                profile.getWarmup().toMillis(),
+                profile.getArrivalModel() == ArrivalModel.OPEN ? ", 목표 " + profile.getRequestsPerSecond() + " req/s" : "");
+
+        for (EndpointReport report : endpoints) {
+            out.printf(">>> [%s] %d건, %.1f req/s, 2xx %d / 4xx %d / 5xx %d / 타임아웃 %d / 연결실패 %d%n",
+                    report.getEndpoint().getText(),
+                    report.getRequestCount(),
+                    report.getRequestsPerSecond(),
+                    report.getSuccessCount(),
+                    report.getClientErrorCount(),
+                    report.getServerErrorCount(),
+                    report.getTimeoutCount(),
+                    report.getConnectionErrorCount());
+            out.printf(">>> [%s] 응답시간(us) p50 %d, p99 %d, p999 %d, max %d (보정 전 p99 %d)%n",
+                    report.getEndpoint().getText(),
+                    report.getP50Micros(),
+                    report.getP99Micros(),
+                    report.getP999Micros(),
+                    report.getMaxMicros(),
+                    report.getUncorrectedP99Micros());
+        }
+    }
+}
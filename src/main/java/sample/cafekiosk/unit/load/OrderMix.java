@@ -0,0 +1,62 @@
+package sample.cafekiosk.unit.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 주문 구성
+ *
+ * 장바구니 크기는 1잔 50%, 2잔 30%, 3잔 12%, 4잔 5%, 6잔(단체) 3% 로 뽑고,
+ * 상품은 목록 앞에 있을수록 자주 팔리도록 순위의 역수(1/k) 비율로 뽑는다.
+ */
+class OrderMix {
+
+    private static final int[] CART_SIZES = {1, 2, 3, 4, 6};
+    private static final int[] CART_SIZE_WEIGHTS = {50, 30, 12, 5, 3};
+    private static final int CART_SIZE_WEIGHT_SUM = 100;
+
+    private final List<String> productNumbers;
+    private final double[] cumulativePopularity;
+
+    OrderMix(List<String> productNumbers) {
+        this.productNumbers = List.copyOf(productNumbers);
+        this.cumulativePopularity = new double[productNumbers.size()];
+
+        double cumulative = 0;
+        for (int rank = 0; rank < productNumbers.size(); rank++) {
+            cumulative += 1.0 / (rank + 1);
+            cumulativePopularity[rank] = cumulative;
+        }
+    }
+
+    List<String> nextCart(Random random) {
+        int cartSize = nextCartSize(random);
+        List<String> cart = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            cart.add(nextProductNumber(random));
+        }
+        return cart;
+    }
+
+    private int nextCartSize(Random random) {
+        int pick = random.nextInt(CART_SIZE_WEIGHT_SUM);
+        for (int i = 0; i < CART_SIZES.length; i++) {
+            pick -= CART_SIZE_WEIGHTS[i];
+            if (pick < 0) {
+                return CART_SIZES[i];
+            }
+        }
+        return CART_SIZES[CART_SIZES.length - 1];
+    }
+
+    private String nextProductNumber(Random random) {
+        double pick = random.nextDouble() * cumulativePopularity[cumulativePopularity.length - 1];
+        for (int rank = 0; rank < cumulativePopularity.length; rank++) {
+            if (pick < cumulativePopularity[rank]) {
+                return productNumbers.get(rank);
+            }
+        }
+        return productNumbers.get(productNumbers.size() - 1);
+    }
+}
@@ -1,15 +1,33 @@
 package sample.cafekiosk.unit.order;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import sample.cafekiosk.unit.beverage.Beverage;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * 주문 시점의 음료 / 잔 수 스냅샷. 주문 후 키오스크 장바구니가 바뀌어도 영향을 받지 않는다.
+ */
 @Getter
-@RequiredArgsConstructor
 public class Order {
     private final LocalDateTime orderDateTime;
-    private final List<Beverage> beverages;
+    private final List<OrderLine> lines;
+
+    public Order(LocalDateTime orderDateTime, List<OrderLine> lines) {
+        this.orderDateTime = orderDateTime;
+        this.lines = List.copyOf(lines);
+    }
+
+    public List<Beverage> getBeverages() {
+        return OrderLine.expand(lines);
+    }
+
+    public int calculateTotalPrice() {
+        int totalPrice = 0;
+        for (OrderLine line : lines) {
+            totalPrice = Math.addExact(totalPrice, line.calculatePrice());
+        }
+        return totalPrice;
+    }
 }
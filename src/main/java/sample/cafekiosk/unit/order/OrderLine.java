@@ -0,0 +1,62 @@
+package sample.cafekiosk.unit.order;
+
+import lombok.Getter;
+import sample.cafekiosk.unit.beverage.Beverage;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * 음료 한 종류와 잔 수 (불변)
+ */
+@Getter
+public class OrderLine {
+
+    private final Beverage beverage;
+    private final int quantity;
+
+    public OrderLine(Beverage beverage, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("음료는 1잔 이상부터 주문할 수 있습니다.");
+        }
+        this.beverage = beverage;
+        this.quantity = quantity;
+    }
+
+    public int calculatePrice() {
+        return Math.multiplyExact(beverage.getPrice(), quantity);
+    }
+
+    /**
+     * 잔 수만큼 음료를 늘어놓은 읽기 전용 목록으로 보여준다. (실제로 복사하지 않는다)
+     */
+    public static List<Beverage> expand(List<OrderLine> lines) {
+        int size = 0;
+        for (OrderLine line : lines) {
+            size = Math.addExact(size, line.quantity);
+        }
+        int totalQuantity = size;
+
+        return new AbstractList<>() {
+            @Override
+            public Beverage get(int index) {
+                if (index < 0 || index >= totalQuantity) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                int remaining = index;
+                for (OrderLine line : lines) {
+                    if (remaining < line.quantity) {
+                        return line.beverage;
+                    }
+                    remaining -= line.quantity;
+                }
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            @Override
+            public int size() {
+                return totalQuantity;
+            }
+        };
+    }
+}
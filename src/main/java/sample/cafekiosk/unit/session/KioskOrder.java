@@ -0,0 +1,12 @@
+package sample.cafekiosk.unit.session;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.unit.order.Order;
+
+@Getter
+@RequiredArgsConstructor
+public class KioskOrder {
+    private final String terminalId;
+    private final Order order;
+}
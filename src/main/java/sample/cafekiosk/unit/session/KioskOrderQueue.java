@@ -0,0 +1,36 @@
+package sample.cafekiosk.unit.session;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 단말기가 함께 쓰는 주문 대기열
+ *
+ * 배열을 미리 잡아 두는 ArrayBlockingQueue 라서 넣고 뺄 때 노드를 만들지 않는다.
+ * 가득 차면 기다리지 않고 바로 거절한다. (키오스크 화면이 멈추지 않게)
+ */
+public class KioskOrderQueue {
+
+    private final ArrayBlockingQueue<KioskOrder> queue;
+
+    public KioskOrderQueue(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public boolean offer(KioskOrder kioskOrder) {
+        return queue.offer(kioskOrder);
+    }
+
+    public KioskOrder poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    public int drainTo(Collection<? super KioskOrder> target, int maxElements) {
+        return queue.drainTo(target, maxElements);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
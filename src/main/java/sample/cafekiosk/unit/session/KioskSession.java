@@ -0,0 +1,51 @@
+package sample.cafekiosk.unit.session;
+
+import sample.cafekiosk.unit.CafeKiosk;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 단말기 하나의 장바구니. CafeKiosk 는 스레드 안전하지 않으므로 lock 을 잡고만 다룬다.
+ */
+class KioskSession {
+
+    private final String terminalId;
+    private final CafeKiosk cafeKiosk = new CafeKiosk();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long lastAccessMillis;
+    private boolean closed;
+
+    KioskSession(String terminalId, long nowMillis) {
+        this.terminalId = terminalId;
+        this.lastAccessMillis = nowMillis;
+    }
+
+    String getTerminalId() {
+        return terminalId;
+    }
+
+    CafeKiosk getCafeKiosk() {
+        return cafeKiosk;
+    }
+
+    ReentrantLock getLock() {
+        return lock;
+    }
+
+    long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,248 @@
+package sample.cafekiosk.unit.session;
+
+import sample.cafekiosk.unit.CafeKiosk;
+import sample.cafekiosk.unit.beverage.Beverage;
+import sample.cafekiosk.unit.order.Order;
+import sample.cafekiosk.unit.order.OrderLine;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 한 JVM 에서 여러 단말기(터치스크린)의 장바구니를 함께 관리한다.
+ *
+ * 단말기 id 별로 세션(CafeKiosk + lock)을 두고, 같은 단말기 요청끼리만 lock 을 다툰다.
+ * 마지막 사용 후 idle-timeout 이 지난 세션은 타이머 휠로 찾아 닫는다. (사용할 때는 시각만 갱신하고 휠은 건드리지 않는다)
+ * 주문을 만들면 모든 단말기가 함께 쓰는 KioskOrderQueue 에 넣고 장바구니를 비운다.
+ */
+public class KioskSessionManager implements AutoCloseable {
+
+    private static final int WHEEL_SLOT_COUNT = 64;
+
+    private final ConcurrentMap<String, KioskSession> sessions = new ConcurrentHashMap<>();
+    private final KioskOrderQueue orderQueue;
+    private final long idleTimeoutMillis;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final TimerWheel<KioskSession> timerWheel;
+
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private ScheduledExecutorService expiryExecutor;
+
+    public KioskSessionManager(KioskOrderQueue orderQueue, Duration idleTimeout, Duration tick) {
+        this(orderQueue, idleTimeout, tick, System::currentTimeMillis);
+    }
+
+    KioskSessionManager(KioskOrderQueue orderQueue, Duration idleTimeout, Duration tick, LongSupplier clock) {
+        this.orderQueue = orderQueue;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.clock = clock;
+        this.timerWheel = new TimerWheel<>(WHEEL_SLOT_COUNT, tickMillis, clock.getAsLong());
+    }
+
+    /**
+     * tick 마다 만료된 세션을 닫는 데몬 스레드를 띄운다.
+     */
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (expiryExecutor != null) {
+                return;
+            }
+            expiryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "kiosk-session-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            expiryExecutor.scheduleAtFixedRate(this::expireIdleSessions, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lifecycleLock.lock();
+        try {
+            if (expiryExecutor != null) {
+                expiryExecutor.shutdownNow();
+                expiryExecutor = null;
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    public void add(String terminalId, Beverage beverage, int count) {
+        withSession(terminalId, cafeKiosk -> {
+            cafeKiosk.add(beverage, count);
+            return null;
+        });
+    }
+
+    public void remove(String terminalId, Beverage beverage, int count) {
+        withSession(terminalId, cafeKiosk -> {
+            cafeKiosk.remove(beverage, count);
+            return null;
+        });
+    }
+
+    public void clear(String terminalId) {
+        withSession(terminalId, cafeKiosk -> {
+            cafeKiosk.clear();
+            return null;
+        });
+    }
+
+    public int calculateTotalPrice(String terminalId) {
+        KioskSessionSnapshot snapshot = getSession(terminalId);
+        return snapshot == null ? 0 : snapshot.getTotalPrice();
+    }
+
+    /**
+     * 주문을 만들어 대기열에 넣고 장바구니를 비운다.
+     * 대기열이 가득 차면 장바구니를 그대로 두고 거절한다.
+     */
+    public Order createOrder(String terminalId, LocalDateTime currentDateTime) {
+        return withSession(terminalId, cafeKiosk -> {
+            Order order = cafeKiosk.createOrder(currentDateTime);
+            if (order.getLines().isEmpty()) {
+                throw new IllegalArgumentException("주문할 음료가 없습니다.");
+            }
+            if (!orderQueue.offer(new KioskOrder(terminalId, order))) {
+                throw new IllegalStateException("주문 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+            }
+
+            cafeKiosk.clear();
+            return order;
+        });
+    }
+
+    /**
+     * 세션을 만들지 않고 현재 장바구니만 읽는다. 없으면 null
+     */
+    public KioskSessionSnapshot getSession(String terminalId) {
+        KioskSession session = sessions.get(terminalId);
+        return session == null ? null : snapshot(session);
+    }
+
+    /**
+     * 모든 단말기의 장바구니 (단말기 id 순)
+     */
+    public List<KioskSessionSnapshot> getSessions() {
+        List<KioskSessionSnapshot> snapshots = new ArrayList<>(sessions.size());
+        for (KioskSession session : sessions.values()) {
+            KioskSessionSnapshot snapshot = snapshot(session);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort((left, right) -> left.getTerminalId().compareTo(right.getTerminalId()));
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public void closeSession(String terminalId) {
+        KioskSession session = sessions.get(terminalId);
+        if (session == null) {
+            return;
+        }
+
+        session.getLock().lock();
+        try {
+            closeLocked(session);
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * 지금까지 지난 tick 의 세션 중 idle-timeout 이 지난 세션을 닫는다.
+     */
+    public void expireIdleSessions() {
+        long nowMillis = clock.getAsLong();
+        timerWheel.advance(nowMillis, session -> expireIfIdle(session, nowMillis));
+    }
+
+    private <R> R withSession(String terminalId, Function<CafeKiosk, R> action) {
+        while (true) {
+            KioskSession session = sessions.computeIfAbsent(terminalId, this::openSession);
+
+            session.getLock().lock();
+            try {
+                if (session.isClosed()) {
+                    // 방금 만료된 세션 -> 새 세션으로 다시
+                    continue;
+                }
+                session.touch(clock.getAsLong());
+                return action.apply(session.getCafeKiosk());
+            } finally {
+                session.getLock().unlock();
+            }
+        }
+    }
+
+    private KioskSession openSession(String terminalId) {
+        long nowMillis = clock.getAsLong();
+        KioskSession session = new KioskSession(terminalId, nowMillis);
+        timerWheel.schedule(session, nowMillis + idleTimeoutMillis);
+        return session;
+    }
+
+    /**
+     * 만료됐으면 닫고 0, 아니면 새 마감 시각을 돌려준다.
+     */
+    private long expireIfIdle(KioskSession session, long nowMillis) {
+        session.getLock().lock();
+        try {
+            if (session.isClosed()) {
+                return 0;
+            }
+
+            long deadlineMillis = session.getLastAccessMillis() + idleTimeoutMillis;
+            if (deadlineMillis > nowMillis) {
+                return deadlineMillis;
+            }
+
+            closeLocked(session);
+            return 0;
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    private void closeLocked(KioskSession session) {
+        session.close();
+        sessions.remove(session.getTerminalId(), session);
+    }
+
+    private KioskSessionSnapshot snapshot(KioskSession session) {
+        session.getLock().lock();
+        try {
+            if (session.isClosed()) {
+                return null;
+            }
+
+            CafeKiosk cafeKiosk = session.getCafeKiosk();
+            List<OrderLine> lines = List.copyOf(cafeKiosk.getLines());
+            return new KioskSessionSnapshot(session.getTerminalId(), lines, cafeKiosk.calculateTotalPrice(), session.getLastAccessMillis());
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+}
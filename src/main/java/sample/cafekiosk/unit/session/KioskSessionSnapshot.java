@@ -0,0 +1,16 @@
+package sample.cafekiosk.unit.session;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.unit.order.OrderLine;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class KioskSessionSnapshot {
+    private final String terminalId;
+    private final List<OrderLine> lines;
+    private final int totalPrice;
+    private final long lastAccessMillis;
+}
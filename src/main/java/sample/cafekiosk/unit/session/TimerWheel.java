@@ -0,0 +1,86 @@
+package sample.cafekiosk.unit.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * 해시 타이머 휠
+ *
+ * 마감 시각을 tick 단위 칸(slot)에 넣어 두고, 시간이 흐른 칸만 꺼내 본다.
+ * 마감 시각이 미뤄져도(세션 사용) 휠을 건드리지 않고, 칸을 꺼낼 때 handler 가 새 마감 시각을 돌려주면 다시 넣는다.
+ * 한 바퀴보다 먼 마감 시각도 같은 방식으로 다시 넣으므로 칸 수와 상관없이 동작한다.
+ * 꺼내는 중에 같은 칸으로 들어온 항목은 최대 한 바퀴 늦게 처리될 수 있다. (일찍 처리되지는 않는다)
+ */
+class TimerWheel<T> {
+
+    private final List<ConcurrentLinkedQueue<T>> slots;
+    private final int mask;
+    private final long tickMillis;
+
+    private final ReentrantLock advanceLock = new ReentrantLock();
+    private final List<T> expiring = new ArrayList<>();
+    private volatile long nextTick;
+
+    TimerWheel(int slotCount, long tickMillis, long startMillis) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("타이머 휠 칸 수는 2의 거듭제곱이어야 합니다.");
+        }
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("타이머 휠 tick 은 1ms 이상이어야 합니다.");
+        }
+
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ConcurrentLinkedQueue<>());
+        }
+        this.mask = slotCount - 1;
+        this.tickMillis = tickMillis;
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, nextTick);
+        slots.get((int) (tick & mask)).add(item);
+    }
+
+    /**
+     * nowMillis 까지 지난 칸을 꺼내 handler 에 넘긴다.
+     * handler 는 아직 살아 있으면 새 마감 시각을, 끝났으면 0 이하를 돌려준다.
+     */
+    void advance(long nowMillis, ToLongFunction<T> handler) {
+        if (!advanceLock.tryLock()) {
+            return;
+        }
+        try {
+            long targetTick = nowMillis / tickMillis;
+            // 오래 멈춰 있었으면 모든 칸을 한 번씩만 본다.
+            nextTick = Math.max(nextTick, targetTick - mask);
+
+            while (nextTick <= targetTick) {
+                long tick = nextTick;
+                nextTick = tick + 1;
+                drain(slots.get((int) (tick & mask)), handler);
+            }
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    private void drain(ConcurrentLinkedQueue<T> slot, ToLongFunction<T> handler) {
+        T item;
+        while ((item = slot.poll()) != null) {
+            expiring.add(item);
+        }
+
+        for (T expiringItem : expiring) {
+            long deadlineMillis = handler.applyAsLong(expiringItem);
+            if (deadlineMillis > 0) {
+                schedule(expiringItem, deadlineMillis);
+            }
+        }
+        expiring.clear();
+    }
+}
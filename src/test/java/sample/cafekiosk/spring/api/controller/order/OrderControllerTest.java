@@ -8,11 +8,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.IdempotentOrderService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderSubmissionService;
+import sample.cafekiosk.spring.api.service.order.OrderSubmissionStatus;
+import sample.cafekiosk.spring.api.service.order.OrderWriter;
+import sample.cafekiosk.spring.api.service.order.response.HistogramResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderSubmissionResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderWriteStatisticsResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -27,6 +42,15 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderWriter orderWriter;
+
+    @MockBean
+    private IdempotentOrderService idempotentOrderService;
+
+    @MockBean
+    private OrderSubmissionService orderSubmissionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -53,6 +77,98 @@ class OrderControllerTest {
 
     }
 
+    @DisplayName("Idempotency-Key 헤더가 있으면 키 단위로 한 번만 처리하는 주문 생성을 호출한다.")
+    @Test
+    void createOrderWithIdempotencyKey() throws Exception {
+        // Given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        // When
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"));
+
+        // Then
+        verify(idempotentOrderService).createOrder(eq("key-1"), any(), any(LocalDateTime.class));
+    }
+
+    @DisplayName("Idempotency-Key 와 함께 주문 시각을 보내면 그 시각으로 주문을 등록한다.")
+    @Test
+    void createOrderWithRegisteredDateTime() throws Exception {
+        // Given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 1, 17, 10, 0);
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .registeredDateTime(registeredDateTime)
+                .build();
+
+        // When
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"));
+
+        // Then
+        verify(idempotentOrderService).createOrder(eq("key-1"), any(), eq(registeredDateTime));
+    }
+
+    @DisplayName("주문 시각은 현재 시각 이후일 수 없다.")
+    @Test
+    void createOrderWithFutureRegisteredDateTime() throws Exception {
+        // Given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .registeredDateTime(LocalDateTime.now().plusDays(1))
+                .build();
+
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.message").value("주문 시각은 현재 시각 이후일 수 없습니다."));
+    }
+
+    @DisplayName("주문 저장 경로의 묶음 크기와 커밋 시간 분포를 조회한다.")
+    @Test
+    void getWriteStatistics() throws Exception {
+        // Given
+        when(orderWriter.getStatistics()).thenReturn(OrderWriteStatisticsResponse.builder()
+                .writeMode("group-commit")
+                .batchSize(HistogramResponse.builder().count(10).p99(32).max(40).build())
+                .commitLatencyMicros(HistogramResponse.builder().count(10).p99(1500).max(2000).build())
+                .build());
+
+        // When // Then
+        mockMvc.perform(
+                        get("/api/v1/orders/write-statistics")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.data.writeMode").value("group-commit"))
+                .andExpect(jsonPath("$.data.batchSize.p99").value(32))
+                .andExpect(jsonPath("$.data.commitLatencyMicros.max").value(2000));
+    }
+
     @DisplayName("신규 주문을 등록할 때 상품번호는 1개 이상이어야 한다.")
     @Test
     void createOrderWithEmptyProductNumbers() throws Exception {
@@ -74,4 +190,145 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.message").value("상품 번호 리스트는 필수입니다."));
 
     }
-}
\ No newline at end of file
+
+    @DisplayName("신규 주문을 일괄 등록한다.")
+    @Test
+    void createOrders() throws Exception {
+        // Given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+                .orders(List.of(
+                        OrderCreateRequest.builder()
+                                .productNumbers(List.of("001"))
+                                .build(),
+                        OrderCreateRequest.builder()
+                                .productNumbers(List.of("001", "002"))
+                                .build()
+                ))
+                .build();
+
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/orders/batch")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+
+    @DisplayName("신규 주문을 일괄 등록할 때 각 주문의 상품번호는 1개 이상이어야 한다.")
+    @Test
+    void createOrdersWithEmptyProductNumbers() throws Exception {
+        // Given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+                .orders(List.of(
+                        OrderCreateRequest.builder()
+                                .productNumbers(List.of())
+                                .build()
+                ))
+                .build();
+
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/orders/batch")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("상품 번호 리스트는 필수입니다."));
+    }
+
+    @DisplayName("주문을 비동기로 접수하면 202 와 접수 토큰을 돌려준다.")
+    @Test
+    void submitOrder() throws Exception {
+        // Given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        when(orderSubmissionService.submit(any())).thenReturn(OrderSubmissionResponse.builder()
+                .token("token-1")
+                .status(OrderSubmissionStatus.QUEUED)
+                .submittedDateTime(LocalDateTime.of(2023, 1, 1, 10, 0))
+                .build());
+
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/orders/async")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.code").value("202"))
+                .andExpect(jsonPath("$.status").value("ACCEPTED"))
+                .andExpect(jsonPath("$.data.token").value("token-1"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+    }
+
+    @DisplayName("비동기 주문 대기열이 가득 차면 503 을 돌려준다.")
+    @Test
+    void submitOrderWhenQueueIsFull() throws Exception {
+        // Given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        when(orderSubmissionService.submit(any()))
+                .thenThrow(new RejectedExecutionException("주문 접수 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."));
+
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/orders/async")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("503"))
+                .andExpect(jsonPath("$.status").value("SERVICE_UNAVAILABLE"))
+                .andExpect(jsonPath("$.message").value("주문 접수 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."));
+    }
+
+    @DisplayName("접수 토큰으로 비동기 주문 결과를 조회한다.")
+    @Test
+    void getSubmission() throws Exception {
+        // Given
+        when(orderSubmissionService.awaitSubmission("token-1", 5000)).thenReturn(OrderSubmissionResponse.builder()
+                .token("token-1")
+                .status(OrderSubmissionStatus.FAILED)
+                .message("재고가 부족한 상품이 있습니다.")
+                .build());
+
+        // When // Then
+        mockMvc.perform(
+                        get("/api/v1/orders/async/{token}", "token-1")
+                                .param("waitMs", "5000")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.data.status").value("FAILED"))
+                .andExpect(jsonPath("$.data.message").value("재고가 부족한 상품이 있습니다."));
+    }
+
+    @DisplayName("주문을 결제완료한다.")
+    @Test
+    void completePayment() throws Exception {
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/orders/{orderId}/payment", 1L)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+}
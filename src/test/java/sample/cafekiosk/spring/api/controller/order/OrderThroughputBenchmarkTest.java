@@ -0,0 +1,193 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.order.OrderWriter;
+import sample.cafekiosk.spring.api.service.order.response.HistogramResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderWriteStatisticsResponse;
+import sample.cafekiosk.spring.config.ExecutionMode;
+import sample.cafekiosk.spring.config.VirtualThreadPinningMonitor;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 동시 클라이언트 1,000 개가 /api/v1/orders/new 를 호출할 때 실행 모드 / 주문 저장 경로별 처리량을 비교한다.
+ * 모드마다 서버를 따로 띄운다. (가상 스레드 모드는 JDK 21 이상)
+ */
+@Tag("benchmark")
+class OrderThroughputBenchmarkTest {
+
+    private static final int CLIENT_COUNT = 1_000;
+    private static final int REQUEST_COUNT_PER_CLIENT = 20;
+    private static final String ORDER_BODY = "{\"productNumbers\":[\"001\",\"002\"]}";
+
+    @DisplayName("플랫폼 스레드(Tomcat 기본 풀)로 주문을 처리한다.")
+    @Test
+    void platform() throws Exception {
+        int successCount = run("platform", "direct");
+
+        assertThat(successCount).isEqualTo(CLIENT_COUNT * REQUEST_COUNT_PER_CLIENT);
+    }
+
+    @DisplayName("가상 스레드로 주문을 처리한다.")
+    @Test
+    void virtual() throws Exception {
+        assumeTrue(ExecutionMode.VIRTUAL.isSupported(), "가상 스레드는 JDK 21 이상");
+        int successCount = run("virtual", "direct");
+
+        assertThat(successCount).isEqualTo(CLIENT_COUNT * REQUEST_COUNT_PER_CLIENT);
+    }
+
+    @DisplayName("가상 스레드 + 단일 writer group commit 으로 주문을 처리한다.")
+    @Test
+    void virtualWithGroupCommit() throws Exception {
+        assumeTrue(ExecutionMode.VIRTUAL.isSupported(), "가상 스레드는 JDK 21 이상");
+        int successCount = run("virtual", "group-commit");
+
+        assertThat(successCount).isEqualTo(CLIENT_COUNT * REQUEST_COUNT_PER_CLIENT);
+    }
+
+    private int run(String mode, String writeMode) throws Exception {
+        try (ConfigurableApplicationContext context = startServer(mode, writeMode)) {
+            saveProducts(context.getBean(ProductRepository.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/orders/new");
+
+            AtomicInteger successCount = new AtomicInteger();
+            AtomicInteger failureCount = new AtomicInteger();
+
+            // 클라이언트 1,000 개가 응답을 기다리는 동안 각자 스레드 하나씩 잡는다. (JDK 17 에서도 돌도록 플랫폼 스레드 풀)
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENT_COUNT);
+            try {
+                // 클라이언트 풀은 요청을 보내고 기다리느라 다 차 있으므로 HttpClient 내부 작업은 기본 실행기에 맡긴다.
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+
+                CountDownLatch startLatch = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < CLIENT_COUNT; i++) {
+                    futures.add(clients.submit(() -> {
+                        startLatch.await();
+                        for (int j = 0; j < REQUEST_COUNT_PER_CLIENT; j++) {
+                            HttpResponse<Void> response = httpClient.send(createOrderRequest(uri), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                successCount.incrementAndGet();
+                            } else {
+                                failureCount.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+
+                long startNanos = System.nanoTime();
+                startLatch.countDown();
+                for (Future<?> future : futures) {
+                    future.get(5, TimeUnit.MINUTES);
+                }
+                long elapsedNanos = System.nanoTime() - startNanos;
+
+                int requestCount = CLIENT_COUNT * REQUEST_COUNT_PER_CLIENT;
+                System.out.printf(">>> [%s/%s] 클라이언트 %d, 요청 %d건 / %d ms (%.0f req/s) 성공 %d, 실패 %d, pinning %d%n",
+                        mode,
+                        writeMode,
+                        CLIENT_COUNT,
+                        requestCount,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        requestCount / (elapsedNanos / 1_000_000_000.0),
+                        successCount.get(),
+                        failureCount.get(),
+                        pinnedCount(context));
+                printWriteStatistics(mode, writeMode, context.getBean(OrderWriter.class).getStatistics());
+            } finally {
+                clients.shutdownNow();
+            }
+            return successCount.get();
+        }
+    }
+
+    private ConfigurableApplicationContext startServer(String mode, String writeMode) {
+        return new SpringApplicationBuilder(CafekioskApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=" + (CLIENT_COUNT * 2),
+                        "spring.datasource.url=jdbc:h2:mem:order-throughput-" + mode + "-" + writeMode,
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "cafekiosk.execution.mode=" + mode,
+                        "cafekiosk.order.write-mode=" + writeMode
+                )
+                .run();
+    }
+
+    private void saveProducts(ProductRepository productRepository) {
+        productRepository.saveAll(List.of(
+                createProduct("001", "아메리카노", 4000),
+                createProduct("002", "카페라떼", 4500)
+        ));
+    }
+
+    private HttpRequest createOrderRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER_BODY))
+                .build();
+    }
+
+    private void printWriteStatistics(String mode, String writeMode, OrderWriteStatisticsResponse statistics) {
+        HistogramResponse batchSize = statistics.getBatchSize();
+        HistogramResponse commitLatency = statistics.getCommitLatencyMicros();
+        System.out.printf(">>> [%s/%s] 묶음 크기 p50 %d, p99 %d, max %d / 커밋 시간 p50 %d µs, p99 %d µs, max %d µs%n",
+                mode,
+                writeMode,
+                batchSize.getP50(),
+                batchSize.getP99(),
+                batchSize.getMax(),
+                commitLatency.getP50(),
+                commitLatency.getP99(),
+                commitLatency.getMax());
+    }
+
+    private long pinnedCount(ConfigurableApplicationContext context) {
+        return context.getBeanProvider(VirtualThreadPinningMonitor.class)
+                .stream()
+                .mapToLong(VirtualThreadPinningMonitor::getPinnedCount)
+                .sum();
+    }
+
+    private Product createProduct(String productNumber, String name, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name(name)
+                .price(price)
+                .build();
+    }
+}
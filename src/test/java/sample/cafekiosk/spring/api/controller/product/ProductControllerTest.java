@@ -9,7 +9,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.ProductImportService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 
@@ -31,6 +33,9 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductImportService productImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -158,7 +163,7 @@ class ProductControllerTest {
         // Given
         List<ProductResponse> result = List.of();
 
-        when(productService.getSellingProducts()).thenReturn(result);
+        when(productService.getSellingProductsBody()).thenReturn(objectMapper.writeValueAsBytes(ApiResponse.ok(result)));
 
         // When // Then
         mockMvc.perform(
@@ -173,4 +178,40 @@ class ProductControllerTest {
 
 
     }
+
+    @DisplayName("NDJSON 본문으로 상품을 일괄 등록한다.")
+    @Test
+    void importProductsFromNdjson() throws Exception {
+        // Given
+        String body = objectMapper.writeValueAsString(ProductCreateRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build());
+
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/products/import")
+                                .content(body + "\n" + body)
+                                .contentType("application/x-ndjson")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"));
+    }
+
+    @DisplayName("CSV 본문으로 상품을 일괄 등록한다.")
+    @Test
+    void importProductsFromCsv() throws Exception {
+        // When // Then
+        mockMvc.perform(
+                        post("/api/v1/products/import")
+                                .content("type,sellingStatus,name,price\nHANDMADE,SELLING,아메리카노,4000")
+                                .contentType("text/csv")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.api.controller.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.service.stock.StockContentionMonitor;
+import sample.cafekiosk.spring.api.service.stock.response.StockContentionResponse;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = StockController.class)
+class StockControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StockContentionMonitor stockContentionMonitor;
+
+    @DisplayName("상품별 재고 차감 경합 지표를 조회한다.")
+    @Test
+    void getContention() throws Exception {
+        // Given
+        when(stockContentionMonitor.getStatistics()).thenReturn(List.of(StockContentionResponse.builder()
+                .productNumber("001")
+                .deductionCount(100)
+                .averageWaitMillis(12.5)
+                .shardRecommended(true)
+                .build()));
+
+        // When // Then
+        mockMvc.perform(
+                        get("/api/v1/stocks/contention")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.data[0].productNumber").value("001"))
+                .andExpect(jsonPath("$.data[0].shardRecommended").value(true));
+    }
+}
@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.api.controller.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.service.stock.StockShardService;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = StockShardController.class, properties = "cafekiosk.stock.deduction-mode=sharded")
+class StockShardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StockShardService stockShardService;
+
+    @DisplayName("상품의 재고를 분할한다.")
+    @Test
+    void shard() throws Exception {
+        // When
+        mockMvc.perform(
+                        post("/api/v1/stocks/{productNumber}/shards", "001")
+                                .param("shardCount", "4")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"));
+
+        // Then
+        verify(stockShardService).shard("001", 4);
+    }
+}
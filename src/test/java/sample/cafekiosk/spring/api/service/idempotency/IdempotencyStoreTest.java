@@ -0,0 +1,77 @@
+package sample.cafekiosk.spring.api.service.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    @DisplayName("처리 중인 키로 다시 등록하면 먼저 등록된 항목을 돌려준다.")
+    @Test
+    void putIfAbsentWithSameKey() {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(10, 1_000);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        store.putIfAbsent("key-1", "hash", first, 0);
+
+        // When
+        IdempotencyStore.Entry<String> entry = store.putIfAbsent("key-1", "hash", new CompletableFuture<>(), 500);
+
+        // Then
+        assertThat(entry.getResult()).isSameAs(first);
+    }
+
+    @DisplayName("TTL 이 지난 항목은 버리고 새 항목을 등록한다.")
+    @Test
+    void evictExpiredEntry() {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(10, 1_000);
+        store.putIfAbsent("key-1", "hash", new CompletableFuture<>(), 0);
+        store.putIfAbsent("key-2", "hash", new CompletableFuture<>(), 600);
+        CompletableFuture<String> renewed = new CompletableFuture<>();
+
+        // When
+        IdempotencyStore.Entry<String> entry = store.putIfAbsent("key-1", "hash", renewed, 1_000);
+
+        // Then
+        assertThat(entry.getResult()).isSameAs(renewed);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @DisplayName("최대 크기를 넘으면 가장 먼저 등록된 항목부터 버린다.")
+    @Test
+    void evictOldestEntryOverMaxSize() {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(2, 1_000);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        store.putIfAbsent("key-1", "hash", first, 0);
+        store.putIfAbsent("key-2", "hash", new CompletableFuture<>(), 1);
+        store.putIfAbsent("key-3", "hash", new CompletableFuture<>(), 2);
+
+        // When
+        IdempotencyStore.Entry<String> entry = store.putIfAbsent("key-1", "hash", new CompletableFuture<>(), 3);
+
+        // Then
+        assertThat(entry.getResult()).isNotSameAs(first);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @DisplayName("실패한 항목을 지우면 같은 키로 다시 등록할 수 있다.")
+    @Test
+    void remove() {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(10, 1_000);
+        IdempotencyStore.Entry<String> failed = store.putIfAbsent("key-1", "hash", new CompletableFuture<>(), 0);
+        CompletableFuture<String> retried = new CompletableFuture<>();
+
+        // When
+        store.remove("key-1", failed);
+        IdempotencyStore.Entry<String> entry = store.putIfAbsent("key-1", "hash", retried, 1);
+
+        // Then
+        assertThat(entry.getResult()).isSameAs(retried);
+    }
+}
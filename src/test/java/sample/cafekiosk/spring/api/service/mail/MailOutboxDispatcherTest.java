@@ -0,0 +1,146 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.client.mail.FakeMailSendClient;
+import sample.cafekiosk.spring.config.ExecutionMode;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.mail.MailOutboxStatus.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class MailOutboxDispatcherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MailOutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        mailOutboxRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("전송 대기 중인 메일을 보내고, 보낸 메일의 이력을 남긴다.")
+    @Test
+    void dispatchPending() {
+        // Given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient();
+        dispatcher = createDispatcher(mailSendClient, 10, 2, 3);
+        mailOutboxRepository.saveAll(List.of(createOutbox("메일1"), createOutbox("메일2")));
+
+        // When
+        int dispatchedCount = dispatcher.dispatchPending(NOW);
+
+        // Then
+        assertThat(dispatchedCount).isEqualTo(2);
+        assertThat(mailSendClient.getSentSubjects()).containsExactlyInAnyOrder("메일1", "메일2");
+        assertThat(mailOutboxRepository.findAll())
+                .extracting("status", "attemptCount")
+                .containsOnly(tuple(SENT, 1));
+        assertThat(mailSendHistoryRepository.findAll())
+                .extracting("subject")
+                .containsExactlyInAnyOrder("메일1", "메일2");
+    }
+
+    @DisplayName("전송에 실패한 메일은 대기 시간이 지난 뒤 다시 보낸다.")
+    @Test
+    void retryAfterBackoff() {
+        // Given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient();
+        mailSendClient.failNext(1);
+        dispatcher = createDispatcher(mailSendClient, 10, 1, 3);
+        mailOutboxRepository.save(createOutbox("메일1"));
+
+        // When
+        dispatcher.dispatchPending(NOW);
+        int dispatchedBeforeBackoff = dispatcher.dispatchPending(NOW.plusNanos(500_000_000));
+        int dispatchedAfterBackoff = dispatcher.dispatchPending(NOW.plusSeconds(1));
+
+        // Then
+        assertThat(dispatchedBeforeBackoff).isZero();
+        assertThat(dispatchedAfterBackoff).isEqualTo(1);
+        assertThat(mailOutboxRepository.findAll())
+                .extracting("status", "attemptCount", "lastError")
+                .containsExactly(tuple(SENT, 2, null));
+        assertThat(mailSendHistoryRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("최대 시도 횟수만큼 실패한 메일은 전송실패로 남기고 더 보내지 않는다.")
+    @Test
+    void failAfterMaxAttempts() {
+        // Given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient();
+        mailSendClient.failNext(Integer.MAX_VALUE);
+        dispatcher = createDispatcher(mailSendClient, 10, 1, 2);
+        mailOutboxRepository.save(createOutbox("메일1"));
+
+        // When
+        dispatcher.dispatchPending(NOW);
+        dispatcher.dispatchPending(NOW.plusSeconds(1));
+        int dispatchedCount = dispatcher.dispatchPending(NOW.plusDays(1));
+
+        // Then
+        assertThat(dispatchedCount).isZero();
+        assertThat(mailOutboxRepository.findAll())
+                .extracting("status", "attemptCount", "lastError")
+                .containsExactly(tuple(FAILED, 2, "메일 서버 응답 없음"));
+        assertThat(mailSendHistoryRepository.count()).isZero();
+    }
+
+    @DisplayName("한 번에 batch-size 만큼 꺼내고, 동시에 보내는 메일 수는 concurrency 를 넘지 않는다.")
+    @Test
+    void dispatchWithBoundedConcurrency() {
+        // Given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient(20);
+        dispatcher = createDispatcher(mailSendClient, 8, 3, 3);
+        mailOutboxRepository.saveAll(IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> createOutbox("메일" + i))
+                .collect(Collectors.toList()));
+
+        // When
+        int dispatchedCount = dispatcher.dispatchPending(NOW);
+
+        // Then
+        assertThat(dispatchedCount).isEqualTo(8);
+        assertThat(mailSendClient.getMaxInFlightCount()).isBetween(1, 3);
+        assertThat(mailOutboxRepository.findAllByStatus(SENT)).hasSize(8);
+        assertThat(mailOutboxRepository.findAllByStatus(PENDING)).hasSize(12);
+        assertThat(mailSendHistoryRepository.count()).isEqualTo(8);
+    }
+
+    private MailOutboxDispatcher createDispatcher(FakeMailSendClient mailSendClient, int batchSize, int concurrency, int maxAttempts) {
+        return new MailOutboxDispatcher(mailOutboxRepository, mailSendHistoryRepository, mailSendClient, transactionManager, ExecutionMode.PLATFORM,
+                batchSize, concurrency, maxAttempts, 1000);
+    }
+
+    private MailOutbox createOutbox(String subject) {
+        return MailOutbox.create("no-reply@cafekiosk.com", "test@test.com", subject, "내용", NOW);
+    }
+}
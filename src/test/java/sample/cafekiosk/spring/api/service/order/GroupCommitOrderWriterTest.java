@@ -0,0 +1,226 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderWriteStatisticsResponse;
+import sample.cafekiosk.spring.api.service.pricing.PricingEngine;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.order.write-mode=group-commit")
+class GroupCommitOrderWriterTest {
+
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("writer 가 주문을 저장하고 재고를 차감한 뒤 요청 스레드에 결과를 돌려준다.")
+    @Test
+    void createOrder() {
+        // Given
+        saveProduct("001", BOTTLE, 1000);
+        saveProduct("002", HANDMADE, 3000);
+        stockRepository.save(Stock.create("001", 5));
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+        // When
+        OrderResponse response = orderWriter.createOrder(createOrderRequest("001", "001", "002"), registeredDateTime);
+
+        // Then
+        assertThat(orderWriter).isInstanceOf(GroupCommitOrderWriter.class);
+        assertThat(response.getId()).isNotNull();
+        assertThat(response)
+                .extracting("registeredDateTime", "totalPrice")
+                .contains(registeredDateTime, 5000);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 3));
+    }
+
+    @DisplayName("동시에 들어온 주문을 묶어서 저장하고, 재고가 부족한 주문만 실패시킨다.")
+    @Test
+    void createOrderConcurrently() throws Exception {
+        // Given
+        saveProduct("001", BOTTLE, 1000);
+        stockRepository.save(Stock.create("001", 15));
+        int threadCount = 20;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                return orderWriter.createOrder(createOrderRequest("001"), LocalDateTime.now());
+            }));
+        }
+
+        // When
+        startLatch.countDown();
+        int successCount = 0;
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<OrderResponse> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                successCount++;
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executorService.shutdown();
+
+        // Then
+        assertThat(successCount).isEqualTo(15);
+        assertThat(failures).hasSize(5)
+                .allSatisfy(failure -> assertThat(failure)
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("재고가 부족한 상품이 있습니다."));
+        assertThat(orderRepository.count()).isEqualTo(15);
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(0);
+
+        OrderWriteStatisticsResponse statistics = orderWriter.getStatistics();
+        assertThat(statistics.getWriteMode()).isEqualTo("group-commit");
+        assertThat(statistics.getBatchSize().getCount()).isPositive();
+        assertThat(statistics.getBatchSize().getMax()).isBetween(1L, 20L);
+    }
+
+    @DisplayName("afterSave 가 실패해서 묶음이 롤백되어도 그 주문만 실패하고 나머지 주문은 저장된다.")
+    @Test
+    void createOrderWithFailedAfterSave() throws Exception {
+        // Given
+        saveProduct("001", BOTTLE, 1000);
+        stockRepository.save(Stock.create("001", 10));
+        int threadCount = 10;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            boolean failing = i == 0;
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                return orderWriter.createOrder(createOrderRequest("001"), LocalDateTime.now(), response -> {
+                    if (failing) {
+                        throw new IllegalStateException("기록 저장 실패");
+                    }
+                });
+            }));
+        }
+
+        // When
+        startLatch.countDown();
+        int successCount = 0;
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<OrderResponse> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                successCount++;
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executorService.shutdown();
+
+        // Then
+        assertThat(successCount).isEqualTo(9);
+        assertThat(failures).hasSize(1)
+                .allSatisfy(failure -> assertThat(failure)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessage("기록 저장 실패"));
+        assertThat(orderRepository.count()).isEqualTo(9);
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(1);
+    }
+
+    @DisplayName("존재하지 않는 상품이 있으면 그 주문만 실패한다.")
+    @Test
+    void createOrderWithUnknownProduct() {
+        // Given
+        saveProduct("001", HANDMADE, 1000);
+
+        // When // Then
+        assertThatThrownBy(() -> orderWriter.createOrder(createOrderRequest("001", "999"), LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않는 상품이 있습니다.");
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    @DisplayName("재고를 Stock 행 밖에 두는 차감 방식과는 같이 쓸 수 없다.")
+    @Test
+    void createWithUnsupportedDeductionMode() {
+        // When // Then
+        assertThatThrownBy(() -> new GroupCommitOrderWriter(productRepository, stockRepository, orderRepository, new PricingEngine(), transactionManager,
+                "sharded", 16, 8, 100, 1_000))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("group-commit 주문 처리는 재고 차감 방식 sharded 와 같이 쓸 수 없습니다.");
+    }
+
+    private void saveProduct(String productNumber, ProductType type, int price) {
+        productRepository.save(Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build());
+    }
+
+    private OrderCreateServiceRequest createOrderRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.order.response.HistogramResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HistogramTest {
+
+    @DisplayName("8 미만의 값은 정확한 값으로 백분위를 계산한다.")
+    @Test
+    void percentileOfSmallValues() {
+        // Given
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 4; value++) {
+            histogram.record(value);
+        }
+
+        // When // Then
+        assertThat(histogram.percentile(50)).isEqualTo(2);
+        assertThat(histogram.percentile(100)).isEqualTo(4);
+    }
+
+    @DisplayName("큰 값의 백분위는 12.5% 오차 안에서 계산하고, 최댓값을 넘지 않는다.")
+    @Test
+    void percentileOfLargeValues() {
+        // Given
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        // When
+        HistogramResponse response = histogram.toResponse();
+
+        // Then
+        assertThat(response.getCount()).isEqualTo(10_000);
+        assertThat(response.getMean()).isEqualTo(5_000.5);
+        assertThat(response.getP50()).isBetween(5_000L, 5_625L);
+        assertThat(response.getP99()).isBetween(9_900L, 10_000L);
+        assertThat(response.getMax()).isEqualTo(10_000);
+    }
+
+    @DisplayName("기록이 없으면 모든 값이 0 이다.")
+    @Test
+    void emptyHistogram() {
+        // When
+        HistogramResponse response = new Histogram().toResponse();
+
+        // Then
+        assertThat(response)
+                .extracting("count", "mean", "p50", "p99", "max")
+                .containsExactly(0L, 0.0, 0L, 0L, 0L);
+    }
+}
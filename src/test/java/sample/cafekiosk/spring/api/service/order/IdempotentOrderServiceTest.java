@@ -0,0 +1,207 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.response.OrderResponse;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.idempotency.IdempotencyRecordRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.support.StatementCountGuard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class IdempotentOrderServiceTest {
+
+    @Autowired
+    private IdempotentOrderService idempotentOrderService;
+
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        idempotentOrderService.clearCache();
+        idempotencyRecordRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다시 요청하면 주문을 새로 만들지 않고, 쿼리 없이 처음 결과를 돌려준다.")
+    @Test
+    void replayFromMemory() {
+        // Given
+        saveProductWithStock("001", 1000, 5);
+        LocalDateTime now = LocalDateTime.now();
+        OrderResponse first = idempotentOrderService.createOrder("key-1", createOrderRequest("001", "001"), now);
+
+        // When
+        OrderResponse replayed = new StatementCountGuard(entityManagerFactory)
+                .assertStatementCountAtMost(0, () -> idempotentOrderService.createOrder("key-1", createOrderRequest("001", "001"), now));
+
+        // Then
+        assertThat(replayed.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 3));
+    }
+
+    @DisplayName("인메모리 결과가 없어도(재시작, 다른 인스턴스) 저장된 기록으로 처음 주문을 돌려준다.")
+    @Test
+    void replayFromRecord() {
+        // Given
+        saveProductWithStock("001", 1000, 5);
+        LocalDateTime now = LocalDateTime.now();
+        OrderResponse first = idempotentOrderService.createOrder("key-1", createOrderRequest("001"), now);
+        IdempotentOrderService restarted = new IdempotentOrderService(orderWriter, orderService, idempotencyRecordRepository, transactionManager,
+                100, 60_000, 1_000, 60_000);
+
+        // When
+        OrderResponse replayed = restarted.createOrder("key-1", createOrderRequest("001"), now);
+
+        // Then
+        assertThat(replayed.getId()).isEqualTo(first.getId());
+        assertThat(replayed.getProducts())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 1));
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(4);
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다른 상품을 주문하면 예외가 발생한다.")
+    @Test
+    void createOrderWithSameKeyAndDifferentRequest() {
+        // Given
+        saveProductWithStock("001", 1000, 5);
+        saveProductWithStock("002", 2000, 5);
+        LocalDateTime now = LocalDateTime.now();
+        idempotentOrderService.createOrder("key-1", createOrderRequest("001"), now);
+
+        // When // Then
+        assertThatThrownBy(() -> idempotentOrderService.createOrder("key-1", createOrderRequest("002"), now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다.");
+    }
+
+    @DisplayName("재고 부족으로 실패한 요청은 결과를 남기지 않고, 같은 키로 다시 요청하면 다시 처리한다.")
+    @Test
+    void retryAfterFailure() {
+        // Given
+        saveProductWithStock("001", 1000, 1);
+        LocalDateTime now = LocalDateTime.now();
+        assertThatThrownBy(() -> idempotentOrderService.createOrder("key-1", createOrderRequest("001", "001"), now))
+                .isInstanceOf(IllegalArgumentException.class);
+        stockRepository.deleteAllInBatch();
+        stockRepository.save(Stock.create("001", 2));
+
+        // When
+        OrderResponse response = idempotentOrderService.createOrder("key-1", createOrderRequest("001", "001"), now);
+
+        // Then
+        assertThat(response.getTotalPrice()).isEqualTo(2000);
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 동시에 요청하면 주문은 한 번만 만들고 모두 같은 결과를 받는다.")
+    @Test
+    void createOrderConcurrentlyWithSameKey() throws Exception {
+        // Given
+        saveProductWithStock("001", 1000, 100);
+        LocalDateTime now = LocalDateTime.now();
+        int threadCount = 10;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                return idempotentOrderService.createOrder("key-1", createOrderRequest("001"), now);
+            }));
+        }
+
+        // When
+        startLatch.countDown();
+        List<Long> orderIds = new ArrayList<>();
+        for (Future<OrderResponse> future : futures) {
+            orderIds.add(future.get(30, TimeUnit.SECONDS).getId());
+        }
+        executorService.shutdown();
+
+        // Then
+        assertThat(orderIds).hasSize(threadCount).containsOnly(orderIds.get(0));
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(99);
+    }
+
+    private void saveProductWithStock(String productNumber, int price, int quantity) {
+        productRepository.save(Product.builder()
+                .productNumber(productNumber)
+                .type(BOTTLE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build());
+        stockRepository.save(Stock.create(productNumber, quantity));
+    }
+
+    private OrderCreateServiceRequest createOrderRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.stock.StockLedger;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+/**
+ * 재고 원장(cafekiosk.stock.deduction-mode=ledger)으로 주문할 때 주문 트랜잭션 결과에 따라 원장이 맞춰지는지 확인한다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=ledger",
+        "cafekiosk.stock.ledger.flush-interval-ms=600000"
+})
+class OrderServiceLedgerTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockLedger.evictAll();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문이 커밋되면 원장에서 차감한 수량을 flush 할 때 재고 테이블에 반영한다.")
+    @Test
+    void createOrder() {
+        // Given
+        saveProductWithStock("001", 3);
+
+        // When
+        orderService.createOrder(createOrderRequest("001", "001"), LocalDateTime.now());
+        stockLedger.flush();
+
+        // Then
+        assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(1);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 1));
+    }
+
+    @DisplayName("주문 트랜잭션이 롤백되면 원장에서 차감한 수량을 되돌리고 재고 테이블에도 반영하지 않는다.")
+    @Test
+    void createOrderRolledBack() {
+        // Given
+        saveProductWithStock("001", 3);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.createOrder(createOrderRequest("001", "001"), LocalDateTime.now());
+            assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+        stockLedger.flush();
+
+        // Then
+        assertThat(orderRepository.count()).isZero();
+        assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(3);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 3));
+    }
+
+    private void saveProductWithStock(String productNumber, int quantity) {
+        productRepository.save(Product.builder()
+                .productNumber(productNumber)
+                .type(BOTTLE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(1000)
+                .build());
+        stockRepository.save(Stock.create(productNumber, quantity));
+    }
+
+    private OrderCreateServiceRequest createOrderRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+}
@@ -1,26 +1,35 @@
 package sample.cafekiosk.spring.api.service.order;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderBatchCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.response.OrderResponse;
 import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
 import sample.cafekiosk.spring.domain.stock.Stock;
 import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.support.StatementCountGuard;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
 import static sample.cafekiosk.spring.domain.product.ProductType.*;
 
@@ -44,12 +53,22 @@ class OrderServiceTest {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @AfterEach
     void tearDown() {
         orderProductRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
         orderRepository.deleteAllInBatch();
         stockRepository.deleteAllInBatch();
+        dailySalesRepository.deleteAllInBatch();
     }
 
     @DisplayName("주문번호 리스트를 받아 주문을 생성한다.")
@@ -113,13 +132,12 @@ class OrderServiceTest {
         assertThat(orderResponse)
                 .extracting("registeredDateTime", "totalPrice")
                 .contains(registeredDateTime, 10000);
-        assertThat(orderResponse.getProducts()).hasSize(4)
-                .extracting("productNumber", "price")
+        assertThat(orderResponse.getProducts()).hasSize(3)
+                .extracting("productNumber", "price", "quantity")
                 .containsExactlyInAnyOrder(
-                        tuple("001", 1000),
-                        tuple("001", 1000),
-                        tuple("002", 3000),
-                        tuple("003", 5000)
+                        tuple("001", 1000, 2),
+                        tuple("002", 3000, 1),
+                        tuple("003", 5000, 1)
                 );
         assertThat(stocks).hasSize(2)
                 .extracting("productNumber", "quantity")
@@ -180,13 +198,230 @@ class OrderServiceTest {
         assertThat(orderResponse)
                 .extracting("registeredDateTime", "totalPrice")
                 .contains(now, 2000);
-        assertThat(orderResponse.getProducts()).hasSize(2)
-                .extracting("productNumber", "price")
+        assertThat(orderResponse.getProducts()).hasSize(1)
+                .extracting("productNumber", "price", "quantity")
+                .containsExactly(
+                        tuple("001", 1000, 2)
+                );
+
+    }
+
+    @DisplayName("여러 주문을 한 번에 생성할 때 재고가 부족한 주문만 실패하고 나머지 주문은 생성된다.")
+    @Test
+    void createOrders(){
+        // Given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        stockRepository.save(Stock.create("001", 2));
+
+        OrderBatchCreateServiceRequest request = OrderBatchCreateServiceRequest.builder()
+                .orders(List.of(
+                        createOrderRequest("001", "002"),
+                        createOrderRequest("001", "001"),
+                        createOrderRequest("002"),
+                        createOrderRequest("999")
+                ))
+                .build();
+
+        // When
+        OrderBatchResponse response = orderService.createOrders(request, registeredDateTime);
+
+        // Then
+        assertThat(response)
+                .extracting("successCount", "failureCount")
+                .contains(2, 2);
+        assertThat(response.getResults()).hasSize(4)
+                .extracting("index", "success", "message")
+                .containsExactly(
+                        tuple(0, true, null),
+                        tuple(1, false, "재고가 부족한 상품이 있습니다."),
+                        tuple(2, true, null),
+                        tuple(3, false, "존재하지 않는 상품이 있습니다.")
+                );
+        assertThat(orderRepository.findAll()).hasSize(2);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 1));
+    }
+
+    @DisplayName("주문을 조회할 때 주문 상품까지 쿼리 한 번으로 읽는다.")
+    @Test
+    void getOrder(){
+        // Given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        Product product3 = createProduct(HANDMADE, "003", 5000);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        OrderResponse savedOrder = orderService.createOrder(createOrderRequest("001", "002", "003", "003"), LocalDateTime.now());
+
+        // When
+        OrderResponse orderResponse = new StatementCountGuard(entityManagerFactory)
+                .assertStatementCountAtMost(1, () -> orderService.getOrder(savedOrder.getId()));
+
+        // Then
+        assertThat(orderResponse.getTotalPrice()).isEqualTo(14000);
+        assertThat(orderResponse.getProducts()).hasSize(3)
+                .extracting("productNumber", "price", "quantity")
                 .containsExactlyInAnyOrder(
-                        tuple("001", 1000),
-                        tuple("001", 1000)
+                        tuple("001", 1000, 1),
+                        tuple("002", 3000, 1),
+                        tuple("003", 5000, 2)
                 );
+    }
 
+    @DisplayName("여러 주문을 조회할 때 주문 수와 상관없이 쿼리 두 번으로 읽고, 요청한 주문 id 순서대로 돌려준다.")
+    @Test
+    void getOrders(){
+        // Given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        LocalDateTime now = LocalDateTime.now();
+        OrderResponse order1 = orderService.createOrder(createOrderRequest("001"), now);
+        OrderResponse order2 = orderService.createOrder(createOrderRequest("001", "002"), now);
+        OrderResponse order3 = orderService.createOrder(createOrderRequest("002", "002"), now);
+
+        // When
+        List<OrderResponse> orderResponses = new StatementCountGuard(entityManagerFactory)
+                .assertStatementCountAtMost(2, () -> orderService.getOrders(List.of(order3.getId(), order1.getId(), order2.getId())));
+
+        // Then
+        assertThat(orderResponses).hasSize(3)
+                .extracting("id", "totalPrice")
+                .containsExactly(
+                        tuple(order3.getId(), 6000),
+                        tuple(order1.getId(), 1000),
+                        tuple(order2.getId(), 4000)
+                );
+        assertThat(orderResponses)
+                .flatExtracting("products")
+                .hasSize(4);
+    }
+
+    @DisplayName("여러 주문을 조회할 때 없는 주문이 있으면 예외가 발생한다.")
+    @Test
+    void getOrdersWithUnknownOrderId(){
+        // Given
+        Product product = createProduct(HANDMADE, "001", 1000);
+        productRepository.save(product);
+
+        OrderResponse order = orderService.createOrder(createOrderRequest("001"), LocalDateTime.now());
+        long unknownOrderId = order.getId() + 1_000;
+
+        // When // Then
+        assertThatThrownBy(() -> orderService.getOrders(List.of(order.getId(), unknownOrderId)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않는 주문이 있습니다. [" + unknownOrderId + "]");
+    }
+
+    @DisplayName("주문을 결제완료하면 주문 일자의 매출 집계에 금액이 더해진다.")
+    @Test
+    void completePayment(){
+        // Given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        OrderResponse order1 = orderService.createOrder(createOrderRequest("001", "002"), registeredDateTime);
+        OrderResponse order2 = orderService.createOrder(createOrderRequest("002"), registeredDateTime);
+        orderService.createOrder(createOrderRequest("001"), registeredDateTime);
+
+        // When
+        OrderResponse orderResponse = orderService.completePayment(order1.getId());
+        orderService.completePayment(order2.getId());
+
+        // Then
+        assertThat(orderResponse.getId()).isEqualTo(order1.getId());
+        assertThat(orderRepository.findById(order1.getId()))
+                .get()
+                .extracting("orderStatus")
+                .isEqualTo(PAYMENT_COMPLETED);
+        assertThat(dailySalesRepository.findById(LocalDate.of(2023, 3, 5)))
+                .get()
+                .extracting("orderCount", "totalAmount")
+                .containsExactly(2L, 7000L);
+    }
+
+    @DisplayName("이미 결제완료된 주문을 다시 결제완료하면 예외가 발생하고 매출 집계는 바뀌지 않는다.")
+    @Test
+    void completePaymentTwice(){
+        // Given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        OrderResponse order = orderService.createOrder(createOrderRequest("001"), registeredDateTime);
+        orderService.completePayment(order.getId());
+
+        // When // Then
+        assertThatThrownBy(() -> orderService.completePayment(order.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("결제를 완료할 수 없는 주문 상태입니다.");
+        assertThat(dailySalesRepository.findById(LocalDate.of(2023, 3, 5)))
+                .get()
+                .extracting("orderCount", "totalAmount")
+                .containsExactly(1L, 1000L);
+    }
+
+    @DisplayName("매출 집계 행이 없는 일자에 결제완료하면 그 일자에 이미 결제완료된 주문까지 집계해서 행을 만든다.")
+    @Test
+    void completePaymentWithoutDailySales(){
+        // Given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        OrderResponse order1 = orderService.createOrder(createOrderRequest("001"), registeredDateTime);
+        OrderResponse order2 = orderService.createOrder(createOrderRequest("002"), registeredDateTime);
+
+        // 매출 집계 없이 결제완료된 주문 (집계 도입 전 주문)
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                orderRepository.findById(order1.getId()).orElseThrow().completePayment());
+
+        // When
+        orderService.completePayment(order2.getId());
+
+        // Then
+        assertThat(dailySalesRepository.findById(LocalDate.of(2023, 3, 5)))
+                .get()
+                .extracting("orderCount", "totalAmount")
+                .containsExactly(2L, 4000L);
+    }
+
+    @DisplayName("결제완료 트랜잭션이 롤백되면 매출 집계도 남지 않는다.")
+    @Test
+    void completePaymentWithRollback(){
+        // Given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        OrderResponse order = orderService.createOrder(createOrderRequest("001"), registeredDateTime);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderService.completePayment(order.getId());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(dailySalesRepository.findById(LocalDate.of(2023, 3, 5))).isEmpty();
+        assertThat(orderRepository.findById(order.getId()))
+                .get()
+                .extracting("orderStatus")
+                .isNotEqualTo(PAYMENT_COMPLETED);
+    }
+
+    private OrderCreateServiceRequest createOrderRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
     }
 
     private Product createProduct(ProductType type, String productNumber, int price){
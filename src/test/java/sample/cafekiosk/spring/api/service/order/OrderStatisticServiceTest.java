@@ -8,16 +8,20 @@ import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxDispatcher;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
 import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.history.mail.MailHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -29,6 +33,7 @@ import static org.mockito.Mockito.when;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.*;
 
+@ActiveProfiles("test")
 @SpringBootTest
 class OrderStatisticServiceTest {
 
@@ -47,6 +52,18 @@ class OrderStatisticServiceTest {
     @Autowired
     private MailSendHistoryRepository mailSendHistoryRepository;
 
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
     @MockBean
     private MailSendClient mailSendClient;
 
@@ -56,6 +73,8 @@ class OrderStatisticServiceTest {
         orderRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
         mailSendHistoryRepository.deleteAllInBatch();
+        dailySalesRepository.deleteAllInBatch();
+        mailOutboxRepository.deleteAllInBatch();
     }
 
     @DisplayName("결제완료 주문들을 조회하여 매충 통계 메일을 전송한다.")
@@ -80,6 +99,7 @@ class OrderStatisticServiceTest {
 
         // When
         boolean result = orderStatisticService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxDispatcher.dispatchPending();
 
         // Then
         assertThat(result).isTrue();
@@ -91,6 +111,37 @@ class OrderStatisticServiceTest {
 
     }
 
+    @DisplayName("일자별 매출 집계가 있으면 집계된 금액으로 매출 통계 메일을 전송한다.")
+    @Test
+    void sendOrderStatisticsMailWithDailySales(){
+        // Given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 2000);
+        List<Product> products = List.of(product1, product2);
+        productRepository.saveAll(products);
+
+        Order order1 = orderRepository.save(Order.create(products, LocalDateTime.of(2023, 3, 5, 10, 0)));
+        Order order2 = orderRepository.save(Order.create(List.of(product2), LocalDateTime.of(2023, 3, 5, 11, 0)));
+        orderRepository.save(Order.create(products, LocalDateTime.of(2023, 3, 5, 12, 0)));
+        orderService.completePayment(order1.getId());
+        orderService.completePayment(order2.getId());
+
+        when(mailSendClient.sendMail(any(String.class), any(String.class), any(String.class), any(String.class)))
+                .thenReturn(true);
+
+        // When
+        boolean result = orderStatisticService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxDispatcher.dispatchPending();
+
+        // Then
+        assertThat(result).isTrue();
+
+        List<MailHistory> histories = mailSendHistoryRepository.findAll();
+        assertThat(histories).hasSize(1)
+                .extracting("content")
+                .contains("총 매출 합계는 5000원 입니다.");
+    }
+
     private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
         Order order = Order.builder()
                 .products(products)
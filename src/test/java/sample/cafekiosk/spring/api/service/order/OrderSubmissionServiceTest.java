@@ -0,0 +1,190 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderSubmissionResponse;
+import sample.cafekiosk.spring.config.ExecutionMode;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderSubmissionServiceTest {
+
+    private static final long WAIT_MILLIS = 10_000;
+
+    @Autowired
+    private OrderSubmissionService orderSubmissionService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 접수하면 바로 접수 토큰을 돌려주고, 처리가 끝나면 토큰으로 주문 결과를 조회할 수 있다.")
+    @Test
+    void submit() {
+        // Given
+        saveProductWithStock("001", 1000, 5);
+
+        // When
+        OrderSubmissionResponse submitted = orderSubmissionService.submit(createOrderRequest("001", "001"));
+        OrderSubmissionResponse completed = orderSubmissionService.awaitSubmission(submitted.getToken(), WAIT_MILLIS);
+
+        // Then
+        assertThat(submitted.getToken()).isNotBlank();
+        assertThat(submitted.getStatus()).isEqualTo(OrderSubmissionStatus.QUEUED);
+        assertThat(completed.getStatus()).isEqualTo(OrderSubmissionStatus.COMPLETED);
+        assertThat(completed.getOrder().getTotalPrice()).isEqualTo(2000);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 3));
+    }
+
+    @DisplayName("재고보다 많이 접수되면 먼저 접수한 주문부터 처리하고, 나머지는 실패 사유와 함께 실패한다.")
+    @Test
+    void submitMoreThanStock() {
+        // Given
+        saveProductWithStock("001", 1000, 2);
+
+        // When
+        List<String> tokens = List.of(
+                orderSubmissionService.submit(createOrderRequest("001")).getToken(),
+                orderSubmissionService.submit(createOrderRequest("001")).getToken(),
+                orderSubmissionService.submit(createOrderRequest("001")).getToken()
+        );
+        List<OrderSubmissionResponse> results = tokens.stream()
+                .map(token -> orderSubmissionService.awaitSubmission(token, WAIT_MILLIS))
+                .toList();
+
+        // Then
+        assertThat(results)
+                .extracting("status", "message")
+                .containsExactly(
+                        tuple(OrderSubmissionStatus.COMPLETED, null),
+                        tuple(OrderSubmissionStatus.COMPLETED, null),
+                        tuple(OrderSubmissionStatus.FAILED, "재고가 부족한 상품이 있습니다.")
+                );
+        assertThat(orderRepository.count()).isEqualTo(2);
+    }
+
+    @DisplayName("구독하면 처리가 끝날 때까지 바뀌는 상태를 순서대로 받는다.")
+    @Test
+    void subscribe() throws InterruptedException {
+        // Given
+        saveProductWithStock("001", 1000, 5);
+        OrderSubmissionResponse submitted = orderSubmissionService.submit(createOrderRequest("001"));
+
+        List<OrderSubmissionStatus> statuses = new CopyOnWriteArrayList<>();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // When
+        orderSubmissionService.subscribe(submitted.getToken(), response -> {
+            statuses.add(response.getStatus());
+            if (response.getStatus().isTerminal()) {
+                terminated.countDown();
+            }
+        });
+
+        // Then
+        assertThat(terminated.await(WAIT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(statuses).isSorted().endsWith(OrderSubmissionStatus.COMPLETED);
+    }
+
+    @DisplayName("처리가 밀려 대기열이 가득 차면 주문을 접수하지 않는다.")
+    @Test
+    void submitWhenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        OrderService slowOrderService = mock(OrderService.class);
+        when(slowOrderService.createOrders(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return OrderBatchResponse.of(List.of());
+        });
+        OrderSubmissionService stalled = new OrderSubmissionService(slowOrderService, quantities -> {}, ExecutionMode.PLATFORM, 1, 10, 60_000, 1, 1_000);
+        stalled.start();
+
+        // When // Then
+        try {
+            // 처리 중 1묶음 + 다음 묶음으로 꺼낸 주문 + 대기열 1칸을 넘기면 거절된다.
+            assertThatThrownBy(() -> {
+                for (int i = 0; i < 10; i++) {
+                    stalled.submit(createOrderRequest("001"));
+                }
+            })
+                    .isInstanceOf(RejectedExecutionException.class)
+                    .hasMessage("주문 접수 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        } finally {
+            release.countDown();
+            stalled.shutdown();
+        }
+    }
+
+    @DisplayName("접수하지 않은 토큰으로 조회하면 예외가 발생한다.")
+    @Test
+    void getSubmissionWithUnknownToken() {
+        // When // Then
+        assertThatThrownBy(() -> orderSubmissionService.getSubmission("unknown"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("접수된 주문이 존재하지 않습니다.");
+    }
+
+    private void saveProductWithStock(String productNumber, int price, int quantity) {
+        productRepository.save(Product.builder()
+                .productNumber(productNumber)
+                .type(BOTTLE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build());
+        stockRepository.save(Stock.create(productNumber, quantity));
+    }
+
+    private OrderCreateServiceRequest createOrderRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+}
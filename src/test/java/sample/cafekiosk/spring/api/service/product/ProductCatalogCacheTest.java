@@ -0,0 +1,56 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+class ProductCatalogCacheTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductCatalogCache productCatalogCache = new ProductCatalogCache(
+            productRepository, new ObjectMapper(), 60_000, mock(PlatformTransactionManager.class));
+
+    @DisplayName("커밋 후 판매 상품 목록을 다시 읽다가 실패해도 예외를 넘기지 않고, 다음 조회에서 다시 읽는다.")
+    @Test
+    void onProductChangedWithReloadFailure() {
+        // Given
+        when(productRepository.findAllBySellingStatusIn(any()))
+                .thenReturn(List.of(createProduct("001")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(List.of(createProduct("001"), createProduct("002")));
+        productCatalogCache.get();
+
+        // When
+        assertThatCode(() -> productCatalogCache.onProductChanged(new ProductChangedEvent("002")))
+                .doesNotThrowAnyException();
+
+        // Then
+        assertThat(productCatalogCache.get().getProducts())
+                .extracting("productNumber")
+                .containsExactly("001", "002");
+    }
+
+    private Product createProduct(String productNumber) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("메뉴 " + productNumber)
+                .price(4000)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.domain.product.ProductNumberCounterRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.io.StringReader;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNumberCounterRepository productNumberCounterRepository;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNumberCounterRepository.deleteAllInBatch();
+        productNumberAllocator.reset();
+    }
+
+    @DisplayName("NDJSON 행을 읽어 상품을 등록하고, 잘못된 행은 줄 번호와 사유를 남긴다.")
+    @Test
+    void importProductsFromNdjson() throws Exception {
+        // Given
+        String body = String.join("\n",
+                "{\"type\":\"HANDMADE\",\"sellingStatus\":\"SELLING\",\"name\":\"아메리카노\",\"price\":4000}",
+                "{\"type\":\"HANDMADE\",\"sellingStatus\":\"SELLING\",\"name\":\"\",\"price\":4500}",
+                "",
+                "{\"type\":\"BAKERY\",\"sellingStatus\":\"HOLD\",\"name\":\"크루아상\",\"price\":3500}",
+                "{not json}"
+        );
+
+        // When
+        ProductImportResponse response = productImportService.importProducts(new StringReader(body), ProductImportFormat.NDJSON);
+
+        // Then
+        assertThat(response)
+                .extracting("totalCount", "successCount", "failureCount")
+                .contains(4, 2, 2);
+        assertThat(response.getErrors())
+                .extracting("lineNumber", "message")
+                .containsExactly(
+                        tuple(2, "상품 이름은 필수입니다."),
+                        tuple(5, "JSON 형식이 올바르지 않습니다.")
+                );
+        assertThat(productRepository.findAll())
+                .extracting("productNumber", "type", "sellingStatus", "name", "price")
+                .containsExactlyInAnyOrder(
+                        tuple("001", HANDMADE, SELLING, "아메리카노", 4000),
+                        tuple("002", BAKERY, HOLD, "크루아상", 3500)
+                );
+    }
+
+    @DisplayName("CSV 행을 읽어 상품을 등록한다. 첫 줄이 헤더면 건너뛴다.")
+    @Test
+    void importProductsFromCsv() throws Exception {
+        // Given
+        String body = String.join("\n",
+                "type,sellingStatus,name,price",
+                "HANDMADE,SELLING,\"아이스 아메리카노, 라지\",4500",
+                "HANDMADE,SOLD_OUT,카페라떼,4500",
+                "BOTTLE,SELLING,생수,0"
+        );
+
+        // When
+        ProductImportResponse response = productImportService.importProducts(new StringReader(body), ProductImportFormat.CSV);
+
+        // Then
+        assertThat(response)
+                .extracting("totalCount", "successCount", "failureCount")
+                .contains(3, 1, 2);
+        assertThat(response.getErrors())
+                .extracting("lineNumber", "message")
+                .containsExactly(
+                        tuple(3, "상품 판매상태가 올바르지 않습니다."),
+                        tuple(4, "상품 가격은 양수여야 합니다.")
+                );
+        assertThat(productRepository.findAll())
+                .extracting("name")
+                .containsExactly("아이스 아메리카노, 라지");
+    }
+
+    @DisplayName("여러 묶음에 걸친 행도 모두 등록한다.")
+    @Test
+    void importProductsOverSeveralChunks() throws Exception {
+        // Given
+        String body = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> "HANDMADE,SELLING,메뉴" + i + ",1000")
+                .collect(Collectors.joining("\n"));
+
+        // When
+        ProductImportResponse response = productImportService.importProducts(new StringReader(body), ProductImportFormat.CSV);
+
+        // Then
+        assertThat(response.getSuccessCount()).isEqualTo(120);
+        assertThat(productRepository.count()).isEqualTo(120);
+    }
+
+    @DisplayName("저장에 실패한 묶음만 롤백하고, 앞뒤 묶음은 커밋한 뒤 실패한 묶음의 행을 남긴다.")
+    @Test
+    void importProductsWithFailedChunk() throws Exception {
+        // Given
+        String tooLongName = "메".repeat(300);
+        String body = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> "HANDMADE,SELLING," + (i == 60 ? tooLongName : "메뉴" + i) + ",1000")
+                .collect(Collectors.joining("\n"));
+
+        // When
+        ProductImportResponse response = productImportService.importProducts(new StringReader(body), ProductImportFormat.CSV);
+
+        // Then
+        assertThat(response)
+                .extracting("totalCount", "successCount", "failureCount")
+                .contains(120, 70, 50);
+        assertThat(response.getErrors())
+                .hasSize(50)
+                .extracting("lineNumber")
+                .containsExactlyElementsOf(IntStream.rangeClosed(51, 100).boxed().collect(Collectors.toList()));
+        assertThat(response.getErrors())
+                .extracting("message")
+                .containsOnly("상품을 저장하지 못했습니다.");
+        assertThat(productRepository.count()).isEqualTo(70);
+    }
+}
@@ -0,0 +1,97 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.domain.product.ProductNumberCounterRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductNumberAllocatorTest {
+
+    @Autowired
+    private ProductNumberCounterRepository productNumberCounterRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productNumberCounterRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("상품번호는 예약한 구간 안에서 순서대로 발급한다.")
+    @Test
+    void allocate() {
+        // Given
+        ProductNumberAllocator allocator = createAllocator(2);
+
+        // When
+        List<String> productNumbers = allocator.allocate(5);
+
+        // Then
+        assertThat(productNumbers).containsExactly("001", "002", "003", "004", "005");
+        assertThat(productNumberCounterRepository.findAll())
+                .extracting("nextValue")
+                .containsExactly(7L);
+    }
+
+    @DisplayName("여러 인스턴스의 발급기가 동시에 번호를 발급해도 번호가 겹치지 않는다.")
+    @Test
+    void allocateConcurrentlyFromSeveralInstances() throws Exception {
+        // Given
+        List<ProductNumberAllocator> allocators = List.of(createAllocator(10), createAllocator(10));
+        int threadCount = 8;
+        int allocateCountPerThread = 100;
+
+        Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            ProductNumberAllocator allocator = allocators.get(i % allocators.size());
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < allocateCountPerThread; j++) {
+                    productNumbers.add(allocator.allocate());
+                }
+                return null;
+            }));
+        }
+
+        // When
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        // Then
+        assertThat(productNumbers).hasSize(threadCount * allocateCountPerThread);
+    }
+
+    private ProductNumberAllocator createAllocator(int blockSize) {
+        return new ProductNumberAllocator(productNumberCounterRepository, productRepository, transactionManager, blockSize, 3);
+    }
+}
@@ -0,0 +1,123 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SecondLevelCacheRegionResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberCounterRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 2차 캐시는 기본으로 꺼져 있으므로 second-level-cache 프로필로 켜고 확인한다. (캐시 provider 가 classpath 에 없으면 건너뛴다)
+ */
+@EnabledIf("sample.cafekiosk.spring.support.SecondLevelCacheCondition#isProviderPresent")
+@ActiveProfiles({"test", "second-level-cache"})
+@SpringBootTest
+class ProductSecondLevelCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ProductNumberCounterRepository productNumberCounterRepository;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNumberCounterRepository.deleteAllInBatch();
+        productNumberAllocator.reset();
+        productCatalogCache.invalidate();
+    }
+
+    @DisplayName("판매 상품 조회 결과는 2차 캐시에서 읽고, 상품을 등록하면 캐시된 결과가 무효화된다.")
+    @Test
+    void getSellingProductsFromSecondLevelCache(){
+        // Given
+        productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+        productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long queryCacheHitCountBefore = statistics.getQueryCacheHitCount();
+        long entityCacheHitCountBefore = statistics.getDomainDataRegionStatistics("product").getHitCount();
+
+        // When
+        List<Product> cachedProducts = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+
+        ProductResponse createdProduct = productService.createProduct(ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build());
+        List<Product> refreshedProducts = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+
+        // Then
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(queryCacheHitCountBefore);
+        assertThat(statistics.getDomainDataRegionStatistics("product").getHitCount()).isGreaterThan(entityCacheHitCountBefore);
+        assertThat(cachedProducts).hasSize(1);
+        assertThat(refreshedProducts).hasSize(2)
+                .extracting("productNumber")
+                .contains(createdProduct.getProductNumber());
+    }
+
+    @DisplayName("2차 캐시 영역별 통계를 조회한다.")
+    @Test
+    void getSecondLevelCacheStatistics(){
+        // Given
+        productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+        productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+        productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+
+        // When
+        List<SecondLevelCacheRegionResponse> statistics = productService.getSecondLevelCacheStatistics();
+
+        // Then
+        assertThat(statistics)
+                .extracting("regionName")
+                .contains("product", "product-natural-id", "product-selling-query", "default-update-timestamps-region");
+        assertThat(statistics)
+                .filteredOn(region -> region.getRegionName().equals("product-selling-query"))
+                .allSatisfy(region -> assertThat(region.getHitCount()).isPositive());
+    }
+
+    private Product createProduct(String productNumber, ProductType type, ProductSellingStatus sellingStatus, String name, int price) {
+        Product product = Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(sellingStatus)
+                .name(name)
+                .price(price)
+                .build();
+        return product;
+    }
+}
\ No newline at end of file
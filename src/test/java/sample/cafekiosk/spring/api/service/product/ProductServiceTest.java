@@ -10,6 +10,7 @@ import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateR
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberCounterRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
@@ -30,9 +31,21 @@ class ProductServiceTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ProductNumberCounterRepository productNumberCounterRepository;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
     @AfterEach
     void tearDown() {
         productRepository.deleteAllInBatch();
+        productNumberCounterRepository.deleteAllInBatch();
+        productNumberAllocator.reset();
+        productCatalogCache.invalidate();
     }
 
     @DisplayName("신규 상품을 등록한다. 상품번호는 가장 최근 상품의 상품번호에서 1 증가한 값이다.")
@@ -93,6 +106,58 @@ class ProductServiceTest {
                 );
     }
 
+    @DisplayName("상품번호가 세 자리를 넘어가도 다음 번호를 발급한다.")
+    @Test
+    void createProductOverThreeDigits(){
+        // Given
+        productRepository.save(createProduct("999", HANDMADE, SELLING, "아메리카노", 4000));
+
+        ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build();
+
+        // When
+        ProductResponse first = productService.createProduct(request);
+        ProductResponse second = productService.createProduct(request);
+
+        // Then
+        assertThat(first.getProductNumber()).isEqualTo("1000");
+        assertThat(second.getProductNumber()).isEqualTo("1001");
+    }
+
+    @DisplayName("판매 상품 목록은 캐시에서 읽고, 상품을 등록하면 커밋 후 새 목록으로 교체된다.")
+    @Test
+    void getSellingProductsFromCache(){
+        // Given
+        productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+        List<ProductResponse> firstProducts = productService.getSellingProducts();
+
+        productRepository.save(createProduct("002", HANDMADE, HOLD, "카페라떼", 4500));
+        long hitCountBefore = productCatalogCache.getStatistics().getHitCount();
+
+        // When
+        List<ProductResponse> cachedProducts = productService.getSellingProducts();
+
+        ProductResponse createdProduct = productService.createProduct(ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build());
+        List<ProductResponse> refreshedProducts = productService.getSellingProducts();
+
+        // Then
+        assertThat(firstProducts).hasSize(1);
+        assertThat(cachedProducts).hasSize(1);
+        assertThat(productCatalogCache.getStatistics().getHitCount()).isGreaterThan(hitCountBefore);
+        assertThat(refreshedProducts).hasSize(3)
+                .extracting("productNumber")
+                .contains(createdProduct.getProductNumber());
+    }
+
     private Product createProduct(String productNumber, ProductType type, ProductSellingStatus sellingStatus, String name, int price) {
         Product product = Product.builder()
                 .productNumber(productNumber)
@@ -0,0 +1,140 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OptimisticLockStockDeductorTest {
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockContentionMonitor stockContentionMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OptimisticLockStockDeductor stockDeductor;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        stockDeductor = new OptimisticLockStockDeductor(stockRepository, stockContentionMonitor, 3, 1);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockContentionMonitor.reset();
+    }
+
+    @DisplayName("읽은 version 이 그대로인 재고만 차감하고 version 을 올린다.")
+    @Test
+    void deduct() {
+        // Given
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> stockDeductor.deduct(Map.of("001", 2, "002", 1)));
+
+        // Then
+        assertThat(stockRepository.findVersionsByProductNumberIn(List.of("001", "002")))
+                .extracting("productNumber", "quantity", "version")
+                .containsExactly(
+                        tuple("001", 0, 1L),
+                        tuple("002", 0, 1L)
+                );
+    }
+
+    @DisplayName("차감은 주문 트랜잭션 안에서 실행되어 주문 트랜잭션이 롤백되면 함께 롤백된다.")
+    @Test
+    void deductRolledBackWithCaller() {
+        // Given
+        stockRepository.save(Stock.create("001", 2));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            stockDeductor.deduct(Map.of("001", 1));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(stockRepository.findVersionsByProductNumberIn(List.of("001")))
+                .extracting("quantity")
+                .containsExactly(2);
+    }
+
+    @DisplayName("재고가 부족하면 아무것도 차감하지 않고 예외가 발생한다.")
+    @Test
+    void deductWithNotEnoughStock() {
+        // Given
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+
+        // When // Then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                stockDeductor.deduct(Map.of("001", 1, "002", 2))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(StockDeductor.NOT_ENOUGH_STOCK_MESSAGE);
+        assertThat(stockRepository.findVersionsByProductNumberIn(List.of("001", "002")))
+                .extracting("quantity")
+                .containsExactly(2, 1);
+    }
+
+    @DisplayName("충돌로 롤백된 주문 트랜잭션은 트랜잭션이 끝난 뒤에 다시 실행한다.")
+    @Test
+    void retryOnConflict() {
+        // Given
+        stockRepository.save(Stock.create("001", 2));
+        AtomicInteger attemptCount = new AtomicInteger();
+
+        // When
+        stockDeductor.retryOnConflict(() -> transactionTemplate.execute(status -> {
+            stockDeductor.deduct(Map.of("001", 1));
+            if (attemptCount.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("재고 차감 중 다른 주문과 충돌했습니다.");
+            }
+            return null;
+        }));
+
+        // Then
+        assertThat(attemptCount.get()).isEqualTo(3);
+        assertThat(stockRepository.findVersionsByProductNumberIn(List.of("001")))
+                .extracting("quantity", "version")
+                .containsExactly(tuple(1, 1L));
+    }
+
+    @DisplayName("충돌이 max-attempts 번 반복되면 주문을 처리하지 않고 예외가 발생한다.")
+    @Test
+    void retryOnConflictWithRepeatedConflict() {
+        // Given
+        AtomicInteger attemptCount = new AtomicInteger();
+
+        // When // Then
+        assertThatThrownBy(() -> stockDeductor.retryOnConflict(() -> {
+            attemptCount.incrementAndGet();
+            throw new OptimisticLockingFailureException("재고 차감 중 다른 주문과 충돌했습니다.");
+        }))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessage("재고 차감 중 충돌이 반복되어 주문을 처리하지 못했습니다.");
+        assertThat(attemptCount.get()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,171 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShard;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ShardedStockDeductorTest {
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Autowired
+    private StockShardRegistry stockShardRegistry;
+
+    @Autowired
+    private StockContentionMonitor stockContentionMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ShardedStockDeductor stockDeductor;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        stockDeductor = new ShardedStockDeductor(stockRepository, stockShardRepository, stockShardRegistry, stockContentionMonitor);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockShardRepository.deleteAllInBatch();
+        stockShardRegistry.evictAll();
+        stockContentionMonitor.reset();
+    }
+
+    @DisplayName("분할된 상품은 분할 재고 중 하나에서 차감하고, 부족한 분할 재고는 건너뛴다.")
+    @Test
+    void deductFromShard() {
+        // Given
+        saveShardedStock("001", 0, 5, 0);
+
+        // When
+        deduct(Map.of("001", 3));
+
+        // Then
+        assertThat(stockShardRepository.findQuantities("001"))
+                .extracting("shardIndex", "quantity")
+                .containsExactly(
+                        tuple(0, 0),
+                        tuple(1, 2),
+                        tuple(2, 0)
+                );
+    }
+
+    @DisplayName("분할 재고 하나로는 부족하지만 합계가 충분하면 여러 분할 재고에서 나눠 차감한다.")
+    @Test
+    void deductAcrossShards() {
+        // Given
+        saveShardedStock("001", 2, 2, 2);
+
+        // When
+        deduct(Map.of("001", 5));
+
+        // Then
+        assertThat(totalQuantity("001")).isEqualTo(1);
+    }
+
+    @DisplayName("분할 재고가 바닥나면 재분배 전에 Stock 행으로 입고된 수량에서 차감한다.")
+    @Test
+    void deductFromRestockedStockRow() {
+        // Given
+        saveShardedStock("001", 1, 0);
+        stockRepository.addQuantity("001", 5);
+
+        // When
+        deduct(Map.of("001", 4));
+
+        // Then
+        assertThat(stockShardRepository.findQuantities("001"))
+                .extracting("quantity")
+                .containsExactly(0, 0);
+        assertThat(totalQuantity("001")).isEqualTo(2);
+    }
+
+    @DisplayName("분할 재고 개수 캐시가 오래되어도 Stock 행에서 차감하지 못하면 다시 세어 분할 재고에서 차감한다.")
+    @Test
+    void deductWithStaleShardCount() {
+        // Given
+        stockRepository.save(Stock.create("001", 0));
+        assertThat(stockShardRegistry.getShardCount("001")).isZero();
+        stockShardRepository.save(StockShard.create("001", 0, 3));
+
+        // When
+        deduct(Map.of("001", 2));
+
+        // Then
+        assertThat(stockShardRegistry.getShardCount("001")).isEqualTo(1);
+        assertThat(totalQuantity("001")).isEqualTo(1);
+    }
+
+    @DisplayName("한 상품이라도 재고가 부족하면 예외가 발생하고 먼저 차감한 상품도 되돌린다.")
+    @Test
+    void deductWithNotEnoughStock() {
+        // Given
+        saveShardedStock("001", 3, 3);
+        saveShardedStock("002", 1, 1);
+
+        // When // Then
+        assertThatThrownBy(() -> deduct(Map.of("001", 2, "002", 3)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(StockDeductor.NOT_ENOUGH_STOCK_MESSAGE);
+        assertThat(totalQuantity("001")).isEqualTo(6);
+        assertThat(totalQuantity("002")).isEqualTo(2);
+    }
+
+    @DisplayName("분할하지 않은 상품은 Stock 행에서 차감하고, 상품별 경합 지표를 남긴다.")
+    @Test
+    void deductUnshardedStock() {
+        // Given
+        stockRepository.save(Stock.create("001", 2));
+
+        // When
+        deduct(Map.of("001", 2));
+
+        // Then
+        assertThat(totalQuantity("001")).isZero();
+        assertThat(stockContentionMonitor.getStatistics())
+                .extracting("productNumber", "deductionCount")
+                .containsExactly(tuple("001", 1L));
+    }
+
+    private void deduct(Map<String, Integer> quantities) {
+        transactionTemplate.executeWithoutResult(status -> stockDeductor.deduct(quantities));
+    }
+
+    private void saveShardedStock(String productNumber, int... quantities) {
+        stockRepository.save(Stock.create(productNumber, 0));
+        for (int shardIndex = 0; shardIndex < quantities.length; shardIndex++) {
+            stockShardRepository.save(StockShard.create(productNumber, shardIndex, quantities[shardIndex]));
+        }
+    }
+
+    private long totalQuantity(String productNumber) {
+        return stockRepository.findQuantitiesByProductNumberIn(List.of(productNumber)).stream()
+                .mapToLong(StockQuantity::getQuantity)
+                .sum();
+    }
+}
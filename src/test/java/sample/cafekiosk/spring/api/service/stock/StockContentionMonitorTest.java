@@ -0,0 +1,55 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.stock.response.StockContentionResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StockContentionMonitorTest {
+
+    @DisplayName("대기 시간이 긴 상품부터 보여주고, 표본이 충분하면서 평균 대기 시간이 기준 이상이면 분할 후보로 표시한다.")
+    @Test
+    void getStatistics() {
+        // Given
+        StockContentionMonitor monitor = new StockContentionMonitor(5, 0.1, 10);
+        for (int i = 0; i < 10; i++) {
+            monitor.record("001", TimeUnit.MILLISECONDS.toNanos(8), 0);
+            monitor.record("002", TimeUnit.MILLISECONDS.toNanos(1), 0);
+        }
+        monitor.record("003", TimeUnit.MILLISECONDS.toNanos(50), 0);
+
+        // When
+        List<StockContentionResponse> statistics = monitor.getStatistics();
+
+        // Then
+        assertThat(statistics)
+                .extracting("productNumber", "deductionCount", "averageWaitMillis", "shardRecommended")
+                .containsExactly(
+                        tuple("001", 10L, 8.0, true),
+                        tuple("003", 1L, 50.0, false),
+                        tuple("002", 10L, 1.0, false)
+                );
+    }
+
+    @DisplayName("대기 시간이 짧아도 재시도 비율이 기준 이상이면 분할 후보로 표시한다.")
+    @Test
+    void shardRecommendedByRetryRatio() {
+        // Given
+        StockContentionMonitor monitor = new StockContentionMonitor(5, 0.1, 10);
+        for (int i = 0; i < 10; i++) {
+            monitor.record("001", TimeUnit.MILLISECONDS.toNanos(1), i < 2 ? 1 : 0);
+        }
+
+        // When
+        List<StockContentionResponse> statistics = monitor.getStatistics();
+
+        // Then
+        assertThat(statistics)
+                .extracting("productNumber", "retryCount", "shardRecommended")
+                .containsExactly(tuple("001", 2L, true));
+    }
+}
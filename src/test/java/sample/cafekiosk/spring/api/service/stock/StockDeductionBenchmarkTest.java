@@ -0,0 +1,213 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 같은 상품 하나에 주문이 몰릴 때 재고 차감 방식별 처리량과 초과 판매 여부를 비교한다.
+ * 오래 걸리므로 benchmark 태그로 분리해서 필요할 때만 실행한다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=sharded",
+        "cafekiosk.stock.sharded.rebalance-interval-ms=600000"
+})
+class StockDeductionBenchmarkTest {
+
+    private static final String PRODUCT_NUMBER = "001";
+    private static final int INITIAL_QUANTITY = 2_000;
+    private static final int THREAD_COUNT = 32;
+    private static final int REQUEST_COUNT_PER_THREAD = 100;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Autowired
+    private StockShardService stockShardService;
+
+    @Autowired
+    private StockShardRegistry stockShardRegistry;
+
+    @Autowired
+    private StockContentionMonitor stockContentionMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockShardRepository.deleteAllInBatch();
+        stockShardRegistry.evictAll();
+        stockContentionMonitor.reset();
+    }
+
+    /**
+     * 잠금 없이 읽은 수량에서 뺀 값을 덮어쓰므로 동시에 커밋된 차감은 사라진다. (lost update)
+     * 사라진 차감만큼 재고 행이 판매량보다 덜 줄어들 수는 있어도 더 줄어들 수는 없다.
+     */
+    @DisplayName("변경감지로 차감하면 동시에 커밋된 차감이 사라져 재고 행이 판매량만큼 줄지 않을 수 있다. (현재 방식)")
+    @Test
+    void dirtyChecking() throws Exception {
+        RunResult result = run("dirty-checking", new DirtyCheckingStockDeductor(stockRepository));
+
+        long lostUpdateCount = currentQuantity() - ((long) INITIAL_QUANTITY - result.successCount);
+        System.out.printf(">>> [dirty-checking] 사라진 차감 %d건%n", lostUpdateCount);
+        assertThat(lostUpdateCount).isNotNegative();
+    }
+
+    @DisplayName("조건부 UPDATE 로 차감하면 충돌 없이 재고를 모두 판매한다.")
+    @Test
+    void conditionalUpdate() throws Exception {
+        RunResult result = run("conditional-update", new ConditionalUpdateStockDeductor(stockRepository, stockContentionMonitor));
+
+        assertSoldOut(result);
+    }
+
+    @DisplayName("version 충돌 시 주문 트랜잭션을 다시 실행하면서 차감하면 판매량만큼 정확히 재고가 줄어든다.")
+    @Test
+    void optimistic() throws Exception {
+        RunResult result = run("optimistic", new OptimisticLockStockDeductor(stockRepository, stockContentionMonitor, 10, 5));
+
+        assertNotOversold(result);
+    }
+
+    @DisplayName("인메모리 재고 원장으로 차감하면 충돌 없이 재고를 모두 판매한다.")
+    @Test
+    void ledger() throws Exception {
+        StockLedger stockLedger = new StockLedger(stockRepository, transactionManager);
+        RunResult result = run("ledger", stockLedger);
+        stockLedger.flush();
+
+        assertSoldOut(result);
+    }
+
+    @DisplayName("재고를 8개로 분할해서 차감하면 충돌 없이 재고를 모두 판매한다.")
+    @Test
+    void sharded() throws Exception {
+        ShardedStockDeductor stockDeductor = new ShardedStockDeductor(stockRepository, stockShardRepository, stockShardRegistry, stockContentionMonitor);
+        RunResult result = run("sharded", stockDeductor, 8);
+
+        assertSoldOut(result);
+    }
+
+    private RunResult run(String mode, StockDeductor stockDeductor) throws Exception {
+        return run(mode, stockDeductor, 0);
+    }
+
+    private RunResult run(String mode, StockDeductor stockDeductor, int shardCount) throws Exception {
+        stockRepository.save(Stock.create(PRODUCT_NUMBER, INITIAL_QUANTITY));
+        if (shardCount > 0) {
+            stockShardService.shard(PRODUCT_NUMBER, shardCount);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger notEnoughStockCount = new AtomicInteger();
+        AtomicInteger conflictCount = new AtomicInteger();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < REQUEST_COUNT_PER_THREAD; j++) {
+                    try {
+                        stockDeductor.retryOnConflict(() -> transactionTemplate.execute(status -> {
+                            stockDeductor.deduct(Map.of(PRODUCT_NUMBER, 1));
+                            return null;
+                        }));
+                        successCount.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        notEnoughStockCount.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        conflictCount.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executorService.shutdown();
+
+        int requestCount = THREAD_COUNT * REQUEST_COUNT_PER_THREAD;
+        System.out.printf(">>> [%s] %d건 / %d ms (%.0f req/s) 성공 %d, 재고부족 %d, 충돌 %d%n",
+                mode,
+                requestCount,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                requestCount / (elapsedNanos / 1_000_000_000.0),
+                successCount.get(),
+                notEnoughStockCount.get(),
+                conflictCount.get());
+        stockContentionMonitor.getStatistics().forEach(statistic ->
+                System.out.printf(">>> [%s] 평균 대기 %.2f ms, 최대 대기 %.2f ms, 재시도 %d, 분할 권장 %s%n",
+                        mode,
+                        statistic.getAverageWaitMillis(),
+                        statistic.getMaxWaitMillis(),
+                        statistic.getRetryCount(),
+                        statistic.isShardRecommended()));
+        return new RunResult(successCount.get(), conflictCount.get());
+    }
+
+    private void assertNotOversold(RunResult result) {
+        assertThat(result.successCount).isLessThanOrEqualTo(INITIAL_QUANTITY);
+        assertThat(currentQuantity()).isEqualTo((long) INITIAL_QUANTITY - result.successCount);
+    }
+
+    /**
+     * 요청 수(3,200)가 재고(2,000)보다 많으므로 충돌로 버려지는 요청이 없다면 재고가 모두 팔려야 한다.
+     */
+    private void assertSoldOut(RunResult result) {
+        assertThat(result.conflictCount).isZero();
+        assertThat(result.successCount).isEqualTo(INITIAL_QUANTITY);
+        assertThat(currentQuantity()).isZero();
+    }
+
+    private long currentQuantity() {
+        return stockRepository.findQuantitiesByProductNumberIn(List.of(PRODUCT_NUMBER)).get(0).getQuantity();
+    }
+
+    private static class RunResult {
+
+        private final int successCount;
+        private final int conflictCount;
+
+        private RunResult(int successCount, int conflictCount) {
+            this.successCount = successCount;
+            this.conflictCount = conflictCount;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=ledger",
+        "cafekiosk.stock.ledger.flush-interval-ms=600000"
+})
+class StockLedgerTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockLedger.evictAll();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("원장에서 재고를 차감하고, flush 할 때 차감량을 재고 테이블에 반영한다.")
+    @Test
+    void deductAndFlush() {
+        // Given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 5)));
+
+        // When
+        stockLedger.deduct(Map.of("001", 2, "002", 1));
+
+        // Then
+        assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(3);
+        assertThat(stockLedger.getAvailableQuantity("002")).isEqualTo(4);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 5),
+                        tuple("002", 5)
+                );
+
+        stockLedger.flush();
+
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 3),
+                        tuple("002", 4)
+                );
+    }
+
+    @DisplayName("원장 밖에서 재고가 바뀌었어도 flush 할 때 상품별 차감량을 그대로 반영한다.")
+    @Test
+    void flushWithStockChangedOutsideLedger() {
+        // Given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 5)));
+        stockLedger.deduct(Map.of("001", 2, "002", 3));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                stockRepository.subtractQuantity("002", 4));
+
+        // When
+        stockLedger.flush();
+
+        // Then
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 3),
+                        tuple("002", -2)
+                );
+    }
+
+    @DisplayName("한 상품의 반영이 실패해도 다른 상품은 반영하고, 반영하지 못한 차감량이 남으면 원장을 비우지 않는다.")
+    @Test
+    void evictAllWithFailedFlush() {
+        // Given
+        StockRepository failingStockRepository = mock(StockRepository.class);
+        when(failingStockRepository.findAllByProductNumberIn(any()))
+                .thenReturn(List.of(Stock.create("001", 5), Stock.create("002", 5)));
+        when(failingStockRepository.subtractQuantity("001", 2)).thenReturn(1);
+        when(failingStockRepository.subtractQuantity("002", 1))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        StockLedger ledger = new StockLedger(failingStockRepository, transactionManager);
+        ledger.deduct(Map.of("001", 2, "002", 1));
+
+        // When & Then
+        assertThatThrownBy(ledger::evictAll)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("재고 원장을 반영하지 못해 원장을 비우지 않았습니다.");
+
+        verify(failingStockRepository).subtractQuantity("001", 2);
+        assertThat(ledger.getAvailableQuantity("001")).isEqualTo(3);
+        assertThat(ledger.getAvailableQuantity("002")).isEqualTo(4);
+    }
+
+    @DisplayName("재고가 부족한 상품이 하나라도 있으면 어떤 상품도 차감하지 않는다.")
+    @Test
+    void deductWithNotEnoughStock() {
+        // Given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 1)));
+
+        // When & Then
+        assertThatThrownBy(() -> stockLedger.deduct(Map.of("001", 2, "002", 2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+
+        assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(5);
+        assertThat(stockLedger.getAvailableQuantity("002")).isEqualTo(1);
+    }
+
+    @DisplayName("원장을 비울 때는 진행 중인 주문 트랜잭션이 끝나기를 기다리고, 롤백된 차감은 되돌린 뒤 다시 적재한다.")
+    @Test
+    void evictAllWaitsForInFlightDeduction() throws Exception {
+        // Given
+        stockRepository.save(Stock.create("001", 5));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch deducted = new CountDownLatch(1);
+        CountDownLatch rollback = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<?> order = executorService.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            stockLedger.deduct(Map.of("001", 2));
+            deducted.countDown();
+            await(rollback);
+            status.setRollbackOnly();
+        }));
+        deducted.await(10, TimeUnit.SECONDS);
+
+        // When
+        Future<?> eviction = executorService.submit(stockLedger::evictAll);
+        Thread.sleep(100);
+        boolean evictedBeforeRollback = eviction.isDone();
+        rollback.countDown();
+        order.get(10, TimeUnit.SECONDS);
+        eviction.get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // Then
+        assertThat(evictedBeforeRollback).isFalse();
+        assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(5);
+    }
+
+    @DisplayName("동시에 차감 요청이 몰려도 재고보다 많이 팔지 않는다.")
+    @Test
+    void deductConcurrently() throws Exception {
+        // Given
+        stockRepository.save(Stock.create("001", 100));
+        int threadCount = 16;
+        int requestCountPerThread = 20;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger successCount = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < requestCountPerThread; j++) {
+                    try {
+                        stockLedger.deduct(Map.of("001", 1));
+                        successCount.incrementAndGet();
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // When
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+        stockLedger.flush();
+
+        // Then
+        assertThat(successCount.get()).isEqualTo(100);
+        assertThat(stockLedger.getAvailableQuantity("001")).isZero();
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
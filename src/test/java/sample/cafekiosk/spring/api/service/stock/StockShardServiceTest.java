@@ -0,0 +1,121 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.stock.response.StockShardResponse;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShard;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=sharded",
+        "cafekiosk.stock.sharded.rebalance-interval-ms=600000"
+})
+class StockShardServiceTest {
+
+    @Autowired
+    private StockShardService stockShardService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Autowired
+    private StockShardRegistry stockShardRegistry;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockShardRepository.deleteAllInBatch();
+        stockShardRegistry.evictAll();
+    }
+
+    @DisplayName("재고를 분할하면 Stock 행의 수량을 분할 재고로 고르게 옮긴다.")
+    @Test
+    void shard() {
+        // Given
+        stockRepository.save(Stock.create("001", 10));
+
+        // When
+        List<StockShardResponse> shards = stockShardService.shard("001", 3);
+
+        // Then
+        assertThat(shards)
+                .extracting("shardIndex", "quantity")
+                .containsExactly(
+                        tuple(0, 4),
+                        tuple(1, 3),
+                        tuple(2, 3)
+                );
+        assertThat(stockRepository.findAllByProductNumberIn(List.of("001")))
+                .extracting("quantity")
+                .containsExactly(0);
+        assertThat(stockShardRegistry.getShardCount("001")).isEqualTo(3);
+    }
+
+    @DisplayName("이미 분할된 재고는 다시 분할할 수 없다.")
+    @Test
+    void shardTwice() {
+        // Given
+        stockRepository.save(Stock.create("001", 10));
+        stockShardService.shard("001", 2);
+
+        // When // Then
+        assertThatThrownBy(() -> stockShardService.shard("001", 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("이미 분할된 재고입니다.");
+    }
+
+    @DisplayName("치우친 분할 재고와 새로 입고된 Stock 행 수량을 합쳐 다시 고르게 나눈다.")
+    @Test
+    void rebalance() {
+        // Given
+        stockRepository.save(Stock.create("001", 2));
+        stockShardRepository.saveAll(List.of(
+                StockShard.create("001", 0, 0),
+                StockShard.create("001", 1, 9),
+                StockShard.create("001", 2, 1)
+        ));
+
+        // When
+        boolean rebalanced = stockShardService.rebalance("001");
+
+        // Then
+        assertThat(rebalanced).isTrue();
+        assertThat(stockShardRepository.findQuantities("001"))
+                .extracting("quantity")
+                .containsExactly(4, 4, 4);
+        assertThat(stockRepository.findAllByProductNumberIn(List.of("001")))
+                .extracting("quantity")
+                .containsExactly(0);
+    }
+
+    @DisplayName("고르게 나뉘어 있으면 재분배하지 않는다.")
+    @Test
+    void rebalanceWhenBalanced() {
+        // Given
+        stockRepository.save(Stock.create("001", 0));
+        stockShardRepository.saveAll(List.of(
+                StockShard.create("001", 0, 3),
+                StockShard.create("001", 1, 4)
+        ));
+
+        // When
+        boolean rebalanced = stockShardService.rebalance("001");
+
+        // Then
+        assertThat(rebalanced).isFalse();
+    }
+}
@@ -0,0 +1,64 @@
+package sample.cafekiosk.spring.client.mail;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 메일 전송 클라이언트
+ * 실제로 보내지 않고 받은 메일을 기록한다. 지연과 실패 횟수를 지정할 수 있다.
+ */
+public class FakeMailSendClient extends MailSendClient {
+
+    private final List<String> sentSubjects = new CopyOnWriteArrayList<>();
+    private final AtomicInteger remainingFailureCount = new AtomicInteger();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final AtomicInteger maxInFlightCount = new AtomicInteger();
+    private final long latencyMillis;
+
+    public FakeMailSendClient() {
+        this(0);
+    }
+
+    public FakeMailSendClient(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public boolean sendMail(String fromEmail, String email, String subject, String content) {
+        maxInFlightCount.accumulateAndGet(inFlightCount.incrementAndGet(), Math::max);
+        try {
+            sleep();
+            if (remainingFailureCount.getAndUpdate(count -> Math.max(count - 1, 0)) > 0) {
+                throw new IllegalStateException("메일 서버 응답 없음");
+            }
+            sentSubjects.add(subject);
+            return true;
+        } finally {
+            inFlightCount.decrementAndGet();
+        }
+    }
+
+    public void failNext(int count) {
+        remainingFailureCount.set(count);
+    }
+
+    public List<String> getSentSubjects() {
+        return sentSubjects;
+    }
+
+    public int getMaxInFlightCount() {
+        return maxInFlightCount.get();
+    }
+
+    private void sleep() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
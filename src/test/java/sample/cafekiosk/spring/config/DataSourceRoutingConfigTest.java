@@ -0,0 +1,147 @@
+package sample.cafekiosk.spring.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.product.ProductNumberAllocator;
+import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductNumberCounterRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * H2 인메모리 DB 두 개를 primary / replica 로 띄운다.
+ * 복제는 하지 않으므로, 어느 쪽에만 있는 행이 보이는지로 라우팅을 확인한다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routingPrimary;DB_CLOSE_DELAY=-1",
+        "cafekiosk.datasource.replica.url=jdbc:h2:mem:routingReplica;DB_CLOSE_DELAY=-1",
+        "cafekiosk.datasource.replica.max-lag-ms=1000"
+})
+class DataSourceRoutingConfigTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReadYourWritesPolicy readYourWritesPolicy;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNumberCounterRepository productNumberCounterRepository;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // replica 스키마를 primary 와 같게 맞춘다. (데이터는 복제하지 않는다)
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        replicaJdbcTemplate.execute("drop all objects");
+        new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class).stream()
+                .filter(sql -> !sql.startsWith("--"))
+                .forEach(replicaJdbcTemplate::execute);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNumberCounterRepository.deleteAllInBatch();
+        productNumberAllocator.reset();
+        productCatalogCache.invalidate();
+    }
+
+    @DisplayName("readOnly 트랜잭션은 replica 에서, 쓰기 트랜잭션은 primary 에서 읽는다.")
+    @Test
+    void routeByReadOnly() throws InterruptedException {
+        // Given
+        replicaJdbcTemplate.update("insert into product(id, product_number, type, selling_status, name, price) " +
+                "values (1, '001', 'HANDMADE', 'SELLING', '아메리카노', 4000)");
+        awaitLagWindow();
+
+        // When
+        long readOnlyCount = countProducts(true);
+        long writeCount = countProducts(false);
+
+        // Then
+        assertThat(readOnlyCount).isEqualTo(1);
+        assertThat(writeCount).isZero();
+    }
+
+    @DisplayName("상품을 등록하면 지연 허용 시간 동안은 readOnly 트랜잭션도 primary 에서 읽고, 지나면 replica 로 돌아간다.")
+    @Test
+    void readYourWritesAfterCreateProduct() throws InterruptedException {
+        // Given
+        awaitLagWindow();
+
+        // When
+        ProductResponse createdProduct = productService.createProduct(ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build());
+        List<ProductResponse> sellingProducts = productService.getSellingProducts();
+        long countWithinLag = countProducts(true);
+
+        awaitLagWindow();
+        long countAfterLag = countProducts(true);
+
+        // Then
+        assertThat(sellingProducts)
+                .extracting("productNumber")
+                .containsExactly(createdProduct.getProductNumber());
+        assertThat(countWithinLag).isEqualTo(1);
+        assertThat(countAfterLag).isZero();
+    }
+
+    private long countProducts(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> productRepository.count());
+    }
+
+    private void awaitLagWindow() throws InterruptedException {
+        for (int i = 0; i < 100 && readYourWritesPolicy.isPrimaryRequired(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(readYourWritesPolicy.isPrimaryRequired()).isFalse();
+    }
+}
@@ -0,0 +1,112 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.OrderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 상품 20개짜리 주문을 저장할 때 JDBC 배치 크기에 따른 초당 저장 행 수를 비교한다.
+ * 두 경우 모두 pooled 시퀀스로 id 를 받고, 배치 크기 1 은 INSERT 를 행마다 따로 실행한다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class OrderInsertBenchmarkTest {
+
+    private static final int LINE_ITEM_COUNT = 20;
+    private static final int ORDER_COUNT = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        products = productRepository.saveAll(IntStream.rangeClosed(1, LINE_ITEM_COUNT)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i))
+                        .type(HANDMADE)
+                        .sellingStatus(SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("JDBC 배치로 저장하면 행마다 INSERT 할 때보다 초당 저장 행 수가 많다.")
+    @Test
+    void insertWithBatching() {
+        // given - 워밍업
+        insertOrders(1);
+        insertOrders(50);
+
+        // when
+        double unbatchedRowsPerSecond = insertOrders(1);
+        double batchedRowsPerSecond = insertOrders(50);
+
+        // then
+        System.out.printf(">>> [batch_size=1] %.0f rows/s%n", unbatchedRowsPerSecond);
+        System.out.printf(">>> [batch_size=50] %.0f rows/s%n", batchedRowsPerSecond);
+        assertThat(batchedRowsPerSecond).isGreaterThan(unbatchedRowsPerSecond);
+    }
+
+    private double insertOrders(int jdbcBatchSize) {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                orderRepository.save(Order.create(products, LocalDateTime.now()));
+            });
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        assertThat(orderProductRepository.count()).isEqualTo((long) ORDER_COUNT * LINE_ITEM_COUNT);
+        long rowCount = (long) ORDER_COUNT * (LINE_ITEM_COUNT + 1);
+        return rowCount / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -3,10 +3,13 @@ package sample.cafekiosk.spring.domain.order;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.pricing.PricingRule;
+import sample.cafekiosk.spring.domain.pricing.PricingTable;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -66,6 +69,77 @@ class OrderTest {
         assertThat(order.getOrderStatus()).isEqualByComparingTo(INIT);
     }
 
+    @DisplayName("같은 상품을 여러 개 주문하면 수량을 가진 주문 상품 하나로 묶고, 주문 시점의 가격을 기록한다.")
+    @Test
+    void orderProductsWithQuantity(){
+        // Given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 2000);
+        List<Product> products = List.of(product1, product1, product2, product1);
+
+        // When
+        Order order = Order.create(products, LocalDateTime.now());
+
+        // Then
+        assertThat(order.getOrderProducts()).hasSize(2)
+                .extracting("productNumber", "productName", "price", "quantity")
+                .containsExactly(
+                        tuple("001", "메뉴 이름", 1000, 3),
+                        tuple("002", "메뉴 이름", 2000, 1)
+                );
+        assertThat(order.getTotalPrice()).isEqualTo(5000);
+    }
+
+    @DisplayName("할인 테이블을 주면 주문 등록 시각 기준으로 할인한 금액을 총 금액으로 하고, 주문 상품에는 정가를 기록한다.")
+    @Test
+    void calculateTotalPriceWithPricingTable(){
+        // Given
+        List<Product> products = List.of(
+                createProduct("001", 1000),
+                createProduct("002", 2000)
+        );
+        PricingTable pricingTable = PricingTable.compile(List.of(
+                PricingRule.productTypeDiscount(HANDMADE, 10).during(LocalTime.of(14, 0), LocalTime.of(16, 0))
+        ));
+
+        // When
+        Order discounted = Order.create(products, LocalDateTime.of(2023, 1, 1, 15, 0), pricingTable);
+        Order notDiscounted = Order.create(products, LocalDateTime.of(2023, 1, 1, 16, 0), pricingTable);
+
+        // Then
+        assertThat(discounted.getTotalPrice()).isEqualTo(2700);
+        assertThat(discounted.getOrderProducts())
+                .extracting("price")
+                .containsExactly(1000, 2000);
+        assertThat(notDiscounted.getTotalPrice()).isEqualTo(3000);
+    }
+
+    @DisplayName("생성된 주문을 결제완료 상태로 바꾼다.")
+    @Test
+    void completePayment(){
+        // Given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+
+        // When
+        order.completePayment();
+
+        // Then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(PAYMENT_COMPLETED);
+    }
+
+    @DisplayName("이미 결제완료된 주문은 다시 결제완료할 수 없다.")
+    @Test
+    void completePaymentTwice(){
+        // Given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+        order.completePayment();
+
+        // When // Then
+        assertThatThrownBy(order::completePayment)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("결제를 완료할 수 없는 주문 상태입니다.");
+    }
+
     private Product createProduct(String productNumber, int price){
         return Product.builder()
                 .productNumber(productNumber)
@@ -0,0 +1,168 @@
+package sample.cafekiosk.spring.domain.pricing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+
+/**
+ * 할인 규칙 500개가 걸린 상태에서 20개짜리 장바구니 금액 계산을 비교한다.
+ * 같은 횟수만큼 먼저 돌려 JIT 를 데운 뒤 한 번 계산하는 평균 시간을 재서 출력만 한다. (실행 환경마다 달라지므로 시간으로 판정하지 않는다)
+ * 규칙을 하나씩 대 보는 방식과 컴파일한 결정 테이블로 한 번 훑는 방식이 같은 금액을 내는지도 확인한다.
+ * 오래 걸리므로 benchmark 태그로 분리해서 필요할 때만 실행한다.
+ */
+@Tag("benchmark")
+class PricingTableBenchmarkTest {
+
+    private static final int MENU_SIZE = 300;
+    private static final int CART_SIZE = 20;
+    private static final LocalTime ORDER_TIME = LocalTime.of(15, 30);
+    private static final int ITERATIONS = 5_000;
+
+    private List<PricingRule> rules;
+    private PricingTable pricingTable;
+    private List<Product> cart;
+
+    // 계산 결과를 버리지 않도록 모아 둔다. (JIT 가 계산 자체를 없애지 않게)
+    private long sink;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        ProductType[] types = ProductType.values();
+
+        List<Product> menu = new ArrayList<>(MENU_SIZE);
+        for (int i = 1; i <= MENU_SIZE; i++) {
+            menu.add(Product.builder()
+                    .productNumber(String.format("%03d", i))
+                    .type(types[random.nextInt(types.length)])
+                    .sellingStatus(SELLING)
+                    .name("메뉴 " + i)
+                    .price(1000 + random.nextInt(50) * 100)
+                    .build());
+        }
+
+        rules = new ArrayList<>();
+        for (ProductType type : types) {
+            rules.add(PricingRule.productTypeDiscount(type, 5));
+        }
+        for (int i = 0; i < 200; i++) {
+            rules.add(PricingRule.productDiscount(randomProductNumber(random), 1 + random.nextInt(30)));
+        }
+        for (int i = 0; i < 147; i++) {
+            int startHour = 10 + random.nextInt(11);
+            rules.add(PricingRule.productDiscount(randomProductNumber(random), 1 + random.nextInt(50))
+                    .during(LocalTime.of(startHour, 0), LocalTime.of(startHour + 1 + random.nextInt(2), 0)));
+        }
+        for (int i = 0; i < 150; i++) {
+            rules.add(PricingRule.combo(List.of(randomProductNumber(random), randomProductNumber(random)), 100 + random.nextInt(20) * 50));
+        }
+        pricingTable = PricingTable.compile(rules);
+
+        // 세트가 맞춰지도록 메뉴 앞쪽 상품에 몰아서 담는다.
+        cart = new ArrayList<>(CART_SIZE);
+        for (int i = 0; i < CART_SIZE; i++) {
+            cart.add(menu.get(random.nextInt(MENU_SIZE / 10)));
+        }
+    }
+
+    private int ruleByRule() {
+        return calculateRuleByRule(rules, cart, ORDER_TIME);
+    }
+
+    private int compiledTable() {
+        return pricingTable.calculateTotalPrice(cart, ORDER_TIME);
+    }
+
+    @DisplayName("할인 규칙 500개를 하나씩 대 보는 계산과 결정 테이블 계산을 비교한다.")
+    @Test
+    void compareTotalPrice() {
+        assertThat(rules).hasSize(500);
+        assertThat(compiledTable()).isEqualTo(ruleByRule());
+
+        double ruleByRuleNanos = measureNanos(this::ruleByRule);
+        double compiledTableNanos = measureNanos(this::compiledTable);
+
+        System.out.printf(">>> [ruleByRule] %.0f ns/op%n", ruleByRuleNanos);
+        System.out.printf(">>> [compiledTable] %.0f ns/op%n", compiledTableNanos);
+        assertThat(sink).isPositive();
+    }
+
+    private double measureNanos(IntSupplier totalPrice) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += totalPrice.getAsInt();
+        }
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += totalPrice.getAsInt();
+        }
+        return (double) (System.nanoTime() - startNanos) / ITERATIONS;
+    }
+
+    private static String randomProductNumber(Random random) {
+        // 규칙도 메뉴 앞쪽 30개에 몰아서 건다.
+        return String.format("%03d", 1 + random.nextInt(MENU_SIZE / 10));
+    }
+
+    /**
+     * 컴파일 없이 상품마다 모든 규칙을 대 보는 계산 (PricingTable 과 같은 할인 정책)
+     */
+    private static int calculateRuleByRule(List<PricingRule> rules, List<Product> products, LocalTime time) {
+        long totalPrice = 0;
+        Map<String, Integer> quantities = new HashMap<>();
+        for (Product product : products) {
+            int discountPercent = 0;
+            for (PricingRule rule : rules) {
+                if (!rule.isActiveAt(time)) {
+                    continue;
+                }
+                boolean matched = switch (rule.getType()) {
+                    case PRODUCT_TYPE -> rule.getProductType() == product.getType();
+                    case PRODUCT -> rule.getProductNumbers().get(0).equals(product.getProductNumber());
+                    case COMBO -> false;
+                };
+                if (matched) {
+                    discountPercent = Math.max(discountPercent, rule.getDiscountPercent());
+                }
+            }
+            long price = product.getPrice();
+            totalPrice += price - price * discountPercent / 100;
+            quantities.merge(product.getProductNumber(), 1, Integer::sum);
+        }
+
+        List<PricingRule> combos = rules.stream()
+                .filter(rule -> rule.getType() == PricingRuleType.COMBO && rule.isActiveAt(time))
+                .sorted(Comparator.comparingInt(PricingRule::getDiscountAmount).reversed())
+                .collect(Collectors.toList());
+        for (PricingRule combo : combos) {
+            Map<String, Integer> required = new HashMap<>();
+            combo.getProductNumbers().forEach(productNumber -> required.merge(productNumber, 1, Integer::sum));
+
+            int setCount = required.entrySet().stream()
+                    .mapToInt(entry -> quantities.getOrDefault(entry.getKey(), 0) / entry.getValue())
+                    .min()
+                    .orElse(0);
+            if (setCount > 0) {
+                required.forEach((productNumber, quantity) -> quantities.merge(productNumber, -setCount * quantity, Integer::sum));
+                totalPrice -= (long) setCount * combo.getDiscountAmount();
+            }
+        }
+        return (int) Math.max(totalPrice, 0);
+    }
+}
@@ -0,0 +1,118 @@
+package sample.cafekiosk.spring.domain.pricing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+class PricingTableTest {
+
+    private static final LocalTime NOON = LocalTime.of(12, 0);
+
+    @DisplayName("할인 규칙이 없으면 정가 합계를 계산한다.")
+    @Test
+    void calculateListPrice() {
+        // Given
+        List<Product> products = List.of(
+                createProduct("001", HANDMADE, 4000),
+                createProduct("002", BAKERY, 3000)
+        );
+
+        // When
+        int totalPrice = PricingTable.LIST_PRICE.calculateTotalPrice(products, NOON);
+
+        // Then
+        assertThat(totalPrice).isEqualTo(7000);
+    }
+
+    @DisplayName("상품 유형 할인과 상품 할인이 같이 걸리면 큰 할인율 하나만 적용한다.")
+    @Test
+    void calculateWithLargestDiscountPercent() {
+        // Given
+        PricingTable pricingTable = PricingTable.compile(List.of(
+                PricingRule.productTypeDiscount(HANDMADE, 10),
+                PricingRule.productDiscount("001", 20),
+                PricingRule.productDiscount("002", 5)
+        ));
+        List<Product> products = List.of(
+                createProduct("001", HANDMADE, 4000),
+                createProduct("002", HANDMADE, 5000),
+                createProduct("003", BAKERY, 3000)
+        );
+
+        // When
+        int totalPrice = pricingTable.calculateTotalPrice(products, NOON);
+
+        // Then
+        assertThat(totalPrice).isEqualTo(3200 + 4500 + 3000);
+    }
+
+    @DisplayName("시간대 할인은 시작 시각부터 끝 시각 전까지만 적용하고, 자정을 넘기는 시간대도 적용할 수 있다.")
+    @Test
+    void calculateWithTimeOfDayDiscount() {
+        // Given
+        PricingTable pricingTable = PricingTable.compile(List.of(
+                PricingRule.productTypeDiscount(BAKERY, 50).during(LocalTime.of(21, 0), LocalTime.of(1, 0)),
+                PricingRule.productTypeDiscount(HANDMADE, 10).during(LocalTime.of(10, 0), LocalTime.of(11, 0))
+        ));
+        List<Product> products = List.of(
+                createProduct("001", HANDMADE, 4000),
+                createProduct("002", BAKERY, 3000)
+        );
+
+        // When // Then
+        assertThat(pricingTable.getSegmentCount()).isEqualTo(5);
+        assertThat(pricingTable.calculateTotalPrice(products, LocalTime.of(0, 30))).isEqualTo(4000 + 1500);
+        assertThat(pricingTable.calculateTotalPrice(products, LocalTime.of(10, 0))).isEqualTo(3600 + 3000);
+        assertThat(pricingTable.calculateTotalPrice(products, LocalTime.of(11, 0))).isEqualTo(7000);
+        assertThat(pricingTable.calculateTotalPrice(products, LocalTime.of(20, 59, 59))).isEqualTo(7000);
+        assertThat(pricingTable.calculateTotalPrice(products, LocalTime.of(21, 0))).isEqualTo(4000 + 1500);
+    }
+
+    @DisplayName("세트는 할인 금액이 큰 것부터 맞추고, 한 상품은 세트 하나에만 쓰인다.")
+    @Test
+    void calculateWithCombo() {
+        // Given
+        PricingTable pricingTable = PricingTable.compile(List.of(
+                PricingRule.combo(List.of("001", "002"), 500),
+                PricingRule.combo(List.of("001", "001", "003"), 1000)
+        ));
+        Product americano = createProduct("001", HANDMADE, 4000);
+        Product latte = createProduct("002", HANDMADE, 4500);
+        Product croissant = createProduct("003", BAKERY, 3000);
+        List<Product> products = List.of(americano, croissant, americano, latte, americano, latte);
+
+        // When
+        int totalPrice = pricingTable.calculateTotalPrice(products, NOON);
+
+        // Then
+        // 아메리카노 2 + 크루아상 세트 1번(-1000), 남은 아메리카노 1 + 라떼 세트 1번(-500)
+        assertThat(totalPrice).isEqualTo(4000 * 3 + 4500 * 2 + 3000 - 1000 - 500);
+    }
+
+    @DisplayName("세트 할인은 상품이 2개 이상이어야 한다.")
+    @Test
+    void comboWithSingleProduct() {
+        // When // Then
+        assertThatThrownBy(() -> PricingRule.combo(List.of("001"), 500))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("세트 할인은 상품이 2개 이상 필요합니다.");
+    }
+
+    private Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build();
+    }
+}
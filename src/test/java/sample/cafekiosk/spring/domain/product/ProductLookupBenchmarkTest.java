@@ -0,0 +1,150 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 상품 100,000 개 중에서 주문 한 건 분량(5개)의 상품을 상품번호로 찾을 때 조회 지연을 비교한다.
+ * 조회마다 트랜잭션(영속성 컨텍스트)을 새로 연다. 주문은 90% 확률로 인기 상품 1,000 개 안에서 고른다.
+ */
+@Tag("benchmark")
+@EnabledIf("sample.cafekiosk.spring.support.SecondLevelCacheCondition#isProviderPresent")
+@ActiveProfiles({"test", "second-level-cache"})
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ProductLookupBenchmarkTest {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int LOOKUP_COUNT = 5_000;
+    private static final int PRODUCTS_PER_LOOKUP = 5;
+    private static final int HOT_PRODUCT_COUNT = 1_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = IntStream.rangeClosed(1, PRODUCT_COUNT)
+                .mapToObj(i -> new Object[]{String.format("%06d", i), "메뉴 " + i, 1000 + i % 50 * 100})
+                .toList();
+
+        jdbcTemplate.batchUpdate("insert into product(id, product_number, type, selling_status, name, price) " +
+                "values (next value for product_seq, ?, 'HANDMADE', 'SELLING', ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("product_number 인덱스 없이 IN 조회한다. (변경 전)")
+    @Test
+    void findAllByProductNumberInWithoutIndex() {
+        jdbcTemplate.execute("alter table product drop constraint uk_product_product_number");
+        try {
+            run("in-query / no index", productRepository::findAllByProductNumberIn);
+        } finally {
+            jdbcTemplate.execute("alter table product add constraint uk_product_product_number unique (product_number)");
+        }
+    }
+
+    @DisplayName("product_number unique 인덱스로 IN 조회한다.")
+    @Test
+    void findAllByProductNumberIn() {
+        run("in-query / unique index", productRepository::findAllByProductNumberIn);
+    }
+
+    @DisplayName("natural-id 캐시로 상품번호 -> id 를 찾고 id 로 조회한다.")
+    @Test
+    void findAllByNaturalIds() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        run("natural-id cache", productRepository::findAllByNaturalIds);
+
+        System.out.printf(">>> [natural-id cache] hit %d, miss %d, put %d%n",
+                statistics.getNaturalIdCacheHitCount(),
+                statistics.getNaturalIdCacheMissCount(),
+                statistics.getNaturalIdCachePutCount());
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+    }
+
+    private void run(String label, Function<List<String>, List<Product>> lookup) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        // 캐시와 JIT 를 데우기 위해 같은 만큼 먼저 한 번 돌린다.
+        lookup(transactionTemplate, lookup);
+        long[] latencyNanos = lookup(transactionTemplate, lookup);
+
+        Arrays.sort(latencyNanos);
+        long totalNanos = Arrays.stream(latencyNanos).sum();
+        System.out.printf(">>> [%s] 상품 %d개, 조회 %d회 / p50 %d µs, p99 %d µs, max %d µs (%.0f lookups/s)%n",
+                label,
+                PRODUCT_COUNT,
+                LOOKUP_COUNT,
+                TimeUnit.NANOSECONDS.toMicros(latencyNanos[LOOKUP_COUNT / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencyNanos[LOOKUP_COUNT * 99 / 100]),
+                TimeUnit.NANOSECONDS.toMicros(latencyNanos[LOOKUP_COUNT - 1]),
+                LOOKUP_COUNT / (totalNanos / 1_000_000_000.0));
+    }
+
+    private long[] lookup(TransactionTemplate transactionTemplate, Function<List<String>, List<Product>> lookup) {
+        long[] latencyNanos = new long[LOOKUP_COUNT];
+
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            List<String> productNumbers = randomProductNumbers();
+
+            long startNanos = System.nanoTime();
+            List<Product> products = transactionTemplate.execute(status -> lookup.apply(productNumbers));
+            latencyNanos[i] = System.nanoTime() - startNanos;
+
+            assertThat(products).hasSize(productNumbers.size());
+        }
+        return latencyNanos;
+    }
+
+    private List<String> randomProductNumbers() {
+        List<String> productNumbers = new ArrayList<>(PRODUCTS_PER_LOOKUP);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (productNumbers.size() < PRODUCTS_PER_LOOKUP) {
+            int bound = random.nextInt(10) == 0 ? PRODUCT_COUNT : HOT_PRODUCT_COUNT;
+            String productNumber = String.format("%06d", random.nextInt(1, bound + 1));
+            if (!productNumbers.contains(productNumber)) {
+                productNumbers.add(productNumber);
+            }
+        }
+        return productNumbers;
+    }
+}
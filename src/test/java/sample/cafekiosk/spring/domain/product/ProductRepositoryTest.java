@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -72,6 +73,41 @@ class ProductRepositoryTest {
 
     }
 
+    @DisplayName("상품번호(natural id)로 요청한 순서대로 상품들을 조회하고, 없는 상품번호는 건너뛴다.")
+    @Test
+    void findAllByNaturalIds(){
+        // Given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+
+        Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
+
+        Product product3 = createProduct("003", HANDMADE, STOP_SELLING, "팥빙수", 7000);
+
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        // When
+        List<Product> products = productRepository.findAllByNaturalIds(List.of("002", "999", "001", "002"));
+
+        // Then
+        assertThat(products)
+                .extracting("productNumber", "name")
+                .containsExactly(
+                        tuple("002", "카페라떼"),
+                        tuple("001", "아메리카노")
+                );
+    }
+
+    @DisplayName("같은 상품번호로 상품을 두 번 저장할 수 없다.")
+    @Test
+    void saveDuplicatedProductNumber(){
+        // Given
+        productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+
+        // When // Then
+        assertThatThrownBy(() -> productRepository.saveAndFlush(createProduct("001", HANDMADE, SELLING, "카페라떼", 4500)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @DisplayName("가장 마지막으로 저장한 상품의 상품번를 읽어온다.")
     @Test
     void findLastProduct(){
@@ -1,10 +1,13 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,6 +20,18 @@ class StockRepositoryTest {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockShardRepository.deleteAllInBatch();
+    }
+
     @DisplayName("상품번호 리스트로 재고를 조회한다.")
     @Test
     void findAllByProductNumberIn(){
@@ -38,4 +53,82 @@ class StockRepositoryTest {
                         tuple("002", 2)
                 );
     }
-}
\ No newline at end of file
+
+    @DisplayName("상품번호(natural id)로 재고를 조회한다.")
+    @Test
+    void findAllByNaturalIds(){
+        // Given
+        stockRepository.saveAll(List.of(Stock.create("001", 1), Stock.create("002", 2), Stock.create("003", 3)));
+
+        // When
+        List<Stock> stocks = stockRepository.findAllByNaturalIds(List.of("003", "001"));
+
+        // Then
+        assertThat(stocks)
+                .extracting("productNumber", "quantity")
+                .containsExactly(
+                        tuple("003", 3),
+                        tuple("001", 1)
+                );
+    }
+
+    @DisplayName("재고가 충분하면 조건부 UPDATE 로 재고를 차감한다.")
+    @Transactional
+    @Test
+    void deductQuantity(){
+        // Given
+        Stock stock = stockRepository.save(Stock.create("001", 2));
+
+        // When
+        int updatedCount = stockRepository.deductQuantity("001", 2);
+        entityManager.clear();
+
+        // Then
+        assertThat(updatedCount).isEqualTo(1);
+        assertThat(stockRepository.findById(stock.getId()))
+                .get()
+                .extracting("quantity")
+                .isEqualTo(0);
+    }
+
+    @DisplayName("재고가 부족하면 조건부 UPDATE 는 아무 행도 변경하지 않는다.")
+    @Transactional
+    @Test
+    void deductQuantityWithNotEnoughStock(){
+        // Given
+        Stock stock = stockRepository.save(Stock.create("001", 1));
+
+        // When
+        int updatedCount = stockRepository.deductQuantity("001", 2);
+        entityManager.clear();
+
+        // Then
+        assertThat(updatedCount).isZero();
+        assertThat(stockRepository.findById(stock.getId()))
+                .get()
+                .extracting("quantity")
+                .isEqualTo(1);
+    }
+
+    @DisplayName("상품별 재고 합계는 Stock 행 수량과 분할 재고 수량을 더한 값이다.")
+    @Test
+    void findQuantitiesByProductNumberIn(){
+        // Given
+        stockRepository.saveAll(List.of(Stock.create("001", 1), Stock.create("002", 5)));
+        stockShardRepository.saveAll(List.of(
+                StockShard.create("001", 0, 3),
+                StockShard.create("001", 1, 4)
+        ));
+
+        // When
+        List<StockQuantity> quantities = stockRepository.findQuantitiesByProductNumberIn(List.of("001", "002"));
+
+        // Then
+        assertThat(quantities).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 8L),
+                        tuple("002", 5L)
+                );
+    }
+}
@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.support;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * second-level-cache 프로필은 hibernate-jcache 와 ehcache 가 classpath 에 있어야 뜬다.
+ * 없는 환경에서는 @EnabledIf 로 그 프로필을 쓰는 테스트를 건너뛴다.
+ */
+public final class SecondLevelCacheCondition {
+
+    private static final String REGION_FACTORY_CLASS = "org.hibernate.cache.jcache.internal.JCacheRegionFactory";
+    private static final String CACHING_PROVIDER_CLASS = "org.ehcache.jsr107.EhcacheCachingProvider";
+
+    private SecondLevelCacheCondition() {
+    }
+
+    public static boolean isProviderPresent() {
+        ClassLoader classLoader = SecondLevelCacheCondition.class.getClassLoader();
+        return ClassUtils.isPresent(REGION_FACTORY_CLASS, classLoader)
+                && ClassUtils.isPresent(CACHING_PROVIDER_CLASS, classLoader);
+    }
+}
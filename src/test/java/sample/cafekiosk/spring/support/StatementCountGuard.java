@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Hibernate 통계로 실행된 SQL 수를 세서, 정해둔 개수를 넘으면 테스트를 실패시킨다. (N+1 감지용)
+ */
+public class StatementCountGuard {
+
+    private final Statistics statistics;
+
+    public StatementCountGuard(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public <T> T assertStatementCountAtMost(long maxStatementCount, Supplier<T> action) {
+        statistics.clear();
+
+        T result = action.get();
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("실행된 SQL 수")
+                .isLessThanOrEqualTo(maxStatementCount);
+        return result;
+    }
+}
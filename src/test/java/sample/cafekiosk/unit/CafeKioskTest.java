@@ -100,4 +100,76 @@ class CafeKioskTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("주문 시간이 아닙니다. 관리자에게 문의하세요");
     }
-}
\ No newline at end of file
+
+    @Test
+    void addManyBeverages(){
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        Americano americano = new Americano();
+        Latte latte = new Latte();
+
+        cafeKiosk.add(americano, 300);
+        cafeKiosk.add(latte, 200);
+        cafeKiosk.add(americano, 100);
+
+        assertThat(cafeKiosk.getLines()).hasSize(2)
+                .extracting("beverage", "quantity")
+                .containsExactly(
+                        tuple(americano, 400),
+                        tuple(latte, 200)
+                );
+        assertThat(cafeKiosk.getBeverages()).hasSize(600);
+        assertThat(cafeKiosk.getBeverages().get(399)).isEqualTo(americano);
+        assertThat(cafeKiosk.getBeverages().get(400)).isEqualTo(latte);
+    }
+
+    @Test
+    void removeSeveralBeverages(){
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        Americano americano = new Americano();
+        Latte latte = new Latte();
+        cafeKiosk.add(americano, 3);
+        cafeKiosk.add(latte);
+
+        cafeKiosk.remove(americano, 2);
+        assertThat(cafeKiosk.getQuantity(americano)).isEqualTo(1);
+
+        cafeKiosk.remove(americano, 5);
+        assertThat(cafeKiosk.getQuantity(americano)).isZero();
+        assertThat(cafeKiosk.getLines()).hasSize(1);
+        assertThat(cafeKiosk.calculateTotalPrice()).isEqualTo(4500);
+    }
+
+    @Test
+    void calculateTotalPrice(){
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        Americano americano = new Americano();
+        Latte latte = new Latte();
+
+        cafeKiosk.add(americano, 2);
+        cafeKiosk.add(latte);
+        cafeKiosk.remove(americano);
+
+        assertThat(cafeKiosk.calculateTotalPrice()).isEqualTo(8500);
+
+        cafeKiosk.clear();
+        assertThat(cafeKiosk.calculateTotalPrice()).isZero();
+    }
+
+    @Test
+    void createOrderIsSnapshot(){
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        Americano americano = new Americano();
+        cafeKiosk.add(americano, 2);
+
+        Order order = cafeKiosk.createOrder(LocalDateTime.of(2023, 1, 17, 10, 0));
+        cafeKiosk.add(new Latte());
+        cafeKiosk.remove(americano);
+
+        assertThat(order.getLines()).hasSize(1)
+                .extracting("beverage", "quantity")
+                .containsExactly(tuple(americano, 2));
+        assertThat(order.calculateTotalPrice()).isEqualTo(8000);
+        assertThatThrownBy(() -> order.getLines().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
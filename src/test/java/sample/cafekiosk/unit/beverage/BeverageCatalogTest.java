@@ -0,0 +1,63 @@
+package sample.cafekiosk.unit.beverage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BeverageCatalogTest {
+
+    @Test
+    void intern(){
+        BeverageCatalog catalog = new BeverageCatalog();
+
+        int americanoId = catalog.intern(new Americano());
+        int latteId = catalog.intern(new Latte());
+
+        assertThat(catalog.intern(new Americano())).isEqualTo(americanoId);
+        assertThat(catalog.intern(catalog.get(latteId))).isEqualTo(latteId);
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.get(americanoId))
+                .extracting("id", "name", "price")
+                .containsExactly(americanoId, "아메리카노", 4000);
+    }
+
+    @Test
+    void internWithDifferentPrice(){
+        BeverageCatalog catalog = BeverageCatalog.of(new Americano());
+        Beverage expensiveAmericano = new Beverage() {
+            @Override
+            public String getName() {
+                return "아메리카노";
+            }
+
+            @Override
+            public int getPrice() {
+                return 5000;
+            }
+        };
+
+        assertThatThrownBy(() -> catalog.intern(expensiveAmericano))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("이미 다른 가격으로 등록된 음료입니다. name=아메리카노");
+    }
+
+    @Test
+    void calculateTotalPrice(){
+        BeverageCatalog catalog = new BeverageCatalog();
+        int[] beverageIds = catalog.intern(List.of(new Americano(), new Latte(), new Americano()));
+
+        assertThat(catalog.calculateTotalPrice(beverageIds)).isEqualTo(12500);
+        assertThat(catalog.calculateTotalPrice(beverageIds, 2)).isEqualTo(8500);
+    }
+
+    @Test
+    void calculateTotalPriceWithQuantities(){
+        BeverageCatalog catalog = BeverageCatalog.of(new Americano(), new Latte());
+        int[] beverageIds = {0, 1};
+        int[] quantities = {300, 200};
+
+        assertThat(catalog.calculateTotalPrice(beverageIds, quantities, 2)).isEqualTo(2_100_000);
+    }
+}
@@ -0,0 +1,86 @@
+package sample.cafekiosk.unit.beverage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.unit.CafeKiosk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 10,000 잔을 장바구니에 담고 합계를 구하는 시간을 비교한다. 같은 횟수만큼 먼저 돌려 JIT 를 데운 뒤 한 번 처리하는 평균 시간을 잰다.
+ * 현재 방식은 CafeKiosk 에 한 잔씩 담는다. (음료별 잔 수 Map + 담을 때마다 더하는 합계, 합계 조회는 O(1))
+ * 카탈로그 방식은 음료를 id 로 바꿔 int 배열에 담고 가격 배열로 더한다.
+ * 오래 걸리므로 benchmark 태그로 분리해서 필요할 때만 실행한다.
+ */
+@Tag("benchmark")
+class BeverageTotalPriceBenchmarkTest {
+
+    private static final int CART_SIZE = 10_000;
+    private static final int ITERATIONS = 20_000;
+
+    private List<Beverage> beverages;
+    private BeverageCatalog catalog;
+
+    // 계산 결과를 버리지 않도록 모아 둔다. (JIT 가 계산 자체를 없애지 않게)
+    private long sink;
+
+    @BeforeEach
+    void setUp() {
+        List<Beverage> menu = List.of(new Americano(), new Latte());
+        Random random = new Random(42);
+
+        beverages = new ArrayList<>(CART_SIZE);
+        for (int i = 0; i < CART_SIZE; i++) {
+            beverages.add(menu.get(random.nextInt(menu.size())));
+        }
+        catalog = BeverageCatalog.of(new Americano(), new Latte());
+    }
+
+    private int cafeKiosk() {
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        for (Beverage beverage : beverages) {
+            cafeKiosk.add(beverage);
+        }
+        return cafeKiosk.calculateTotalPrice();
+    }
+
+    private int catalogIdArray() {
+        int[] beverageIds = new int[beverages.size()];
+        for (int i = 0; i < beverageIds.length; i++) {
+            beverageIds[i] = catalog.intern(beverages.get(i));
+        }
+        return catalog.calculateTotalPrice(beverageIds);
+    }
+
+    @DisplayName("CafeKiosk 장바구니 합계와 카탈로그 id 배열 합계를 비교한다.")
+    @Test
+    void compareTotalPrice() {
+        assertThat(catalogIdArray()).isEqualTo(cafeKiosk());
+
+        double cafeKioskMicros = measureMicros(this::cafeKiosk);
+        double catalogIdArrayMicros = measureMicros(this::catalogIdArray);
+
+        System.out.printf(">>> [cafeKiosk] %.2f us/op%n", cafeKioskMicros);
+        System.out.printf(">>> [catalogIdArray] %.2f us/op%n", catalogIdArrayMicros);
+        assertThat(sink).isPositive();
+    }
+
+    private double measureMicros(IntSupplier totalPrice) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += totalPrice.getAsInt();
+        }
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += totalPrice.getAsInt();
+        }
+        return (System.nanoTime() - startNanos) / 1_000.0 / ITERATIONS;
+    }
+}
@@ -0,0 +1,236 @@
+package sample.cafekiosk.unit.journal;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sample.cafekiosk.unit.beverage.Americano;
+import sample.cafekiosk.unit.beverage.Latte;
+import sample.cafekiosk.unit.order.Order;
+import sample.cafekiosk.unit.order.OrderLine;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주문 API 대신 로컬 HTTP 서버를 띄운다.
+ * 서버는 Idempotency-Key 별로 처음 한 번만 주문을 만든 것으로 친다. (IdempotentOrderService 와 같은 동작)
+ */
+class OrderJournalReplayerTest {
+
+    private static final Map<String, String> PRODUCT_NUMBERS = Map.of("아메리카노", "001", "라떼", "002");
+    private static final LocalDateTime ORDER_DATE_TIME = LocalDateTime.of(2023, 1, 17, 10, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private OrderJournal journal;
+
+    private final ConcurrentMap<String, String> createdOrders = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger lostResponseCount = new AtomicInteger();
+    private volatile int statusCode = 200;
+    private volatile String unavailableKey;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/orders/new", this::handle);
+        server.start();
+        journal = OrderJournal.open(tempDir.resolve("orders.journal"), 64 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        journal.close();
+    }
+
+    @DisplayName("쌓인 주문을 batch-size 개씩 보내고 저널을 비운다.")
+    @Test
+    void replay() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            journal.append(createOrder(2, 1));
+        }
+
+        // When
+        ReplayResult result = createReplayer(2).replay();
+
+        // Then
+        assertThat(result)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(5, 0, 0);
+        assertThat(createdOrders).hasSize(5);
+        assertThat(createdOrders.get(journal.getJournalId() + "-1"))
+                .isEqualTo("{\"productNumbers\":[\"001\",\"001\",\"002\"],\"registeredDateTime\":\"2023-01-17T10:00\"}");
+    }
+
+    @DisplayName("서버가 주문을 만들고 응답을 잃어버려도, 같은 키로 다시 보내서 주문은 한 번만 만들어진다.")
+    @Test
+    void replayAfterLostResponse() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            journal.append(createOrder(1, 0));
+        }
+        lostResponseCount.set(2);
+        OrderJournalReplayer replayer = createReplayer(3);
+
+        // When
+        ReplayResult first = replayer.replay();
+        ReplayResult second = replayer.replay();
+
+        // Then
+        assertThat(first.getPendingCount()).isPositive();
+        assertThat(second.getPendingCount()).isZero();
+        assertThat(first.getDeliveredCount() + second.getDeliveredCount()).isEqualTo(3);
+        assertThat(requestCount.get()).isGreaterThan(3);
+        assertThat(createdOrders).hasSize(3);
+    }
+
+    @DisplayName("서버에 연결할 수 없으면 저널을 그대로 두고, 다시 연결되면 보낸다.")
+    @Test
+    void replayWhenOffline() throws IOException {
+        // Given
+        journal.append(createOrder(1, 1));
+        int port = server.getAddress().getPort();
+        server.stop(0);
+
+        // When
+        ReplayResult offline = createReplayer(10).replay();
+
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/api/v1/orders/new", this::handle);
+        server.start();
+        ReplayResult online = createReplayer(10).replay();
+
+        // Then
+        assertThat(offline)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(0, 0, 1);
+        assertThat(online)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(1, 0, 0);
+    }
+
+    @DisplayName("서버가 거절한 주문(4xx)은 다시 보내지 않고 건너뛴다.")
+    @Test
+    void replayRejectedOrder() {
+        // Given
+        journal.append(createOrder(1, 0));
+        statusCode = 400;
+
+        // When
+        ReplayResult result = createReplayer(10).replay();
+
+        // Then
+        assertThat(result)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(0, 1, 0);
+        assertThat(journal.getCheckpoint()).isEqualTo(1);
+    }
+
+    @DisplayName("서버 오류(5xx)가 난 주문은 버리지 않고 저널에 두었다가 다음 재전송 때 다시 보낸다.")
+    @Test
+    void replayAfterServerError() {
+        // Given
+        journal.append(createOrder(1, 0));
+        journal.append(createOrder(0, 1));
+        statusCode = 503;
+        OrderJournalReplayer replayer = createReplayer(10);
+
+        // When
+        ReplayResult failed = replayer.replay();
+        statusCode = 200;
+        ReplayResult recovered = replayer.replay();
+
+        // Then
+        assertThat(failed)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(0, 0, 2);
+        assertThat(recovered)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(2, 0, 0);
+        assertThat(createdOrders).hasSize(2);
+        assertThat(journal.getCheckpoint()).isEqualTo(2);
+    }
+
+    @DisplayName("다시 보낼 주문이 있어도 뒤 주문은 계속 보내고, checkpoint 는 그 주문 앞에서 멈춘다.")
+    @Test
+    void replayBehindServerError() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            journal.append(createOrder(1, 0));
+        }
+        unavailableKey = journal.getJournalId() + "-1";
+        OrderJournalReplayer replayer = createReplayer(1);
+
+        // When
+        ReplayResult failed = replayer.replay();
+        unavailableKey = null;
+        ReplayResult recovered = replayer.replay();
+
+        // Then
+        assertThat(failed)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(2, 0, 1);
+        assertThat(recovered)
+                .extracting("deliveredCount", "rejectedCount", "pendingCount")
+                .containsExactly(1, 0, 0);
+        assertThat(requestCount.get()).isEqualTo(4);
+        assertThat(journal.getCheckpoint()).isEqualTo(3);
+    }
+
+    private OrderJournalReplayer createReplayer(int batchSize) {
+        URI baseUri = URI.create("http://localhost:" + server.getAddress().getPort());
+        return new OrderJournalReplayer(journal, HttpClient.newHttpClient(), baseUri, PRODUCT_NUMBERS, batchSize, Duration.ZERO);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+        int status = idempotencyKey.equals(unavailableKey) ? 503 : statusCode;
+        if (status == 200) {
+            createdOrders.putIfAbsent(idempotencyKey, body);
+            if (lostResponseCount.getAndDecrement() > 0) {
+                status = 503;
+            }
+        }
+
+        byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, response.length);
+        exchange.getResponseBody().write(response);
+        exchange.close();
+    }
+
+    private Order createOrder(int americanoCount, int latteCount) {
+        List<OrderLine> lines = new ArrayList<>();
+        if (americanoCount > 0) {
+            lines.add(new OrderLine(new Americano(), americanoCount));
+        }
+        if (latteCount > 0) {
+            lines.add(new OrderLine(new Latte(), latteCount));
+        }
+        return new Order(ORDER_DATE_TIME, lines);
+    }
+}
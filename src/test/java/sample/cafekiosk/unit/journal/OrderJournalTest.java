@@ -0,0 +1,145 @@
+package sample.cafekiosk.unit.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sample.cafekiosk.unit.beverage.Americano;
+import sample.cafekiosk.unit.beverage.Latte;
+import sample.cafekiosk.unit.order.Order;
+import sample.cafekiosk.unit.order.OrderLine;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderJournalTest {
+
+    private static final int CAPACITY = 64 * 1024;
+    private static final LocalDateTime ORDER_DATE_TIME = LocalDateTime.of(2023, 1, 17, 10, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("기록한 주문은 다시 열어도 남아 있고, 전송한 순번 이후만 읽는다.")
+    @Test
+    void reopen() throws IOException {
+        // Given
+        Path path = tempDir.resolve("orders.journal");
+        String journalId;
+        try (OrderJournal journal = OrderJournal.open(path, CAPACITY)) {
+            journalId = journal.getJournalId();
+            journal.append(createOrder(2, 1));
+            journal.append(createOrder(1, 0));
+            journal.append(createOrder(0, 3));
+            journal.checkpoint(1);
+        }
+
+        // When
+        try (OrderJournal journal = OrderJournal.open(path, CAPACITY)) {
+            List<JournalEntry> entries = journal.readPending(10);
+
+            // Then
+            assertThat(journal.getJournalId()).isEqualTo(journalId);
+            assertThat(journal.getCheckpoint()).isEqualTo(1);
+            assertThat(entries).extracting("sequence").containsExactly(2L, 3L);
+            assertThat(entries.get(1).getIdempotencyKey()).isEqualTo(journalId + "-3");
+            assertThat(entries.get(1).getOrder().getOrderDateTime()).isEqualTo(ORDER_DATE_TIME);
+            assertThat(entries.get(1).getOrder().getLines())
+                    .extracting(line -> line.getBeverage().getName(), line -> line.getBeverage().getPrice(), OrderLine::getQuantity)
+                    .containsExactly(tuple("라떼", 4500, 3));
+        }
+    }
+
+    @DisplayName("쓰다가 죽은 마지막 항목은 다시 열 때 버리고, 그 자리부터 이어서 기록한다.")
+    @Test
+    void recoverTornWrite() throws IOException {
+        // Given
+        Path path = tempDir.resolve("orders.journal");
+        try (OrderJournal journal = OrderJournal.open(path, CAPACITY)) {
+            journal.append(createOrder(1, 0));
+            journal.append(createOrder(0, 1));
+        }
+        corruptSecondEntryPayload(path);
+
+        // When
+        try (OrderJournal journal = OrderJournal.open(path, CAPACITY)) {
+            long sequence = journal.append(createOrder(2, 0));
+
+            // Then
+            assertThat(sequence).isEqualTo(2);
+            assertThat(journal.readPending(10))
+                    .extracting(entry -> entry.getOrder().calculateTotalPrice())
+                    .containsExactly(4000, 8000);
+        }
+    }
+
+    @DisplayName("모두 전송하면 저널을 비우고, 순번은 이어서 발급한다.")
+    @Test
+    void checkpointAll() throws IOException {
+        // Given
+        Path path = tempDir.resolve("orders.journal");
+        try (OrderJournal journal = OrderJournal.open(path, CAPACITY)) {
+            journal.append(createOrder(1, 0));
+            journal.append(createOrder(0, 1));
+
+            // When
+            journal.checkpoint(2);
+        }
+
+        // Then
+        try (OrderJournal journal = OrderJournal.open(path, CAPACITY)) {
+            assertThat(journal.getPendingCount()).isZero();
+            assertThat(journal.readPending(10)).isEmpty();
+            assertThat(journal.append(createOrder(1, 1))).isEqualTo(3);
+            assertThat(journal.readPending(10)).extracting("sequence").containsExactly(3L);
+        }
+    }
+
+    @DisplayName("저널이 가득 차면 기록하지 않는다.")
+    @Test
+    void appendWhenFull() throws IOException {
+        // Given
+        try (OrderJournal journal = OrderJournal.open(tempDir.resolve("orders.journal"), 256)) {
+            journal.append(createOrder(1, 0));
+            journal.append(createOrder(1, 0));
+
+            // When // Then
+            assertThatThrownBy(() -> journal.append(createOrder(1, 0)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("주문 저널이 가득 찼습니다.");
+            assertThat(journal.getPendingCount()).isEqualTo(2);
+        }
+    }
+
+    private Order createOrder(int americanoCount, int latteCount) {
+        List<OrderLine> lines = new ArrayList<>();
+        if (americanoCount > 0) {
+            lines.add(new OrderLine(new Americano(), americanoCount));
+        }
+        if (latteCount > 0) {
+            lines.add(new OrderLine(new Latte(), latteCount));
+        }
+        return new Order(ORDER_DATE_TIME, lines);
+    }
+
+    /**
+     * 헤더 64 byte 뒤 첫 항목(길이 4 + CRC 4 + 순번 8 + payload) 다음 항목의 payload 한 byte 를 바꾼다.
+     */
+    private void corruptSecondEntryPayload(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(64);
+            int firstLength = file.readInt();
+            long secondPayloadPosition = 64 + 16 + firstLength + 16;
+
+            file.seek(secondPayloadPosition);
+            int value = file.read();
+            file.seek(secondPayloadPosition);
+            file.write(value ^ 0xFF);
+        }
+    }
+}
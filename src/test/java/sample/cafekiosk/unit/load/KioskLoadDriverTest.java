@@ -0,0 +1,190 @@
+package sample.cafekiosk.unit.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주문 / 메뉴 API 대신 로컬 HTTP 서버를 띄운다.
+ * 상품번호 003 이 들어간 주문은 재고 부족처럼 400 으로 거절한다.
+ */
+class KioskLoadDriverTest {
+
+    static {
+        // 응답 헤더와 본문이 따로 나가면서 Nagle + delayed ACK 로 요청마다 40ms 씩 늦어지는 것을 막는다.
+        // (이 JVM 에서 HttpServer 를 처음 띄우기 전에만 적용된다)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServer server;
+
+    private final AtomicInteger menuRequestCount = new AtomicInteger();
+    private final AtomicInteger orderRequestCount = new AtomicInteger();
+    private final AtomicInteger rejectedOrderCount = new AtomicInteger();
+    private volatile int stallAtMenuRequest = -1;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/products/selling", this::handleMenu);
+        server.createContext("/api/v1/orders/new", this::handleOrder);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @DisplayName("open-loop 는 응답과 상관없이 정해진 시각마다 보낸다. (초당 200건 x 0.5초)")
+    @Test
+    void openLoop() throws InterruptedException {
+        // Given
+        LoadProfile profile = createProfile(ArrivalModel.OPEN)
+                .kioskCount(2)
+                .requestsPerSecond(200)
+                .duration(Duration.ofMillis(500))
+                .build();
+
+        // When
+        LoadReport report = new KioskLoadDriver(profile, HttpClient.newHttpClient()).run();
+
+        // Then
+        EndpointReport menu = report.getEndpoint(Endpoint.PRODUCTS_SELLING);
+        EndpointReport order = report.getEndpoint(Endpoint.ORDERS_NEW);
+        assertThat(menu.getRequestCount() + order.getRequestCount()).isEqualTo(100);
+        assertThat(menu.getRequestCount()).isEqualTo(menuRequestCount.get());
+        assertThat(order.getRequestCount()).isEqualTo(orderRequestCount.get());
+        assertThat(order.getClientErrorCount()).isEqualTo(rejectedOrderCount.get());
+        assertThat(order.getSuccessCount() + order.getClientErrorCount()).isEqualTo(order.getRequestCount());
+    }
+
+    @DisplayName("closed-loop 는 키오스크마다 응답을 받고 쉰 뒤 다음 요청을 보낸다.")
+    @Test
+    void closedLoop() throws InterruptedException {
+        // Given
+        LoadProfile profile = createProfile(ArrivalModel.CLOSED)
+                .kioskCount(3)
+                .thinkTime(Duration.ofMillis(10))
+                .duration(Duration.ofMillis(300))
+                .build();
+
+        // When
+        LoadReport report = new KioskLoadDriver(profile, HttpClient.newHttpClient()).run();
+
+        // Then
+        EndpointReport menu = report.getEndpoint(Endpoint.PRODUCTS_SELLING);
+        EndpointReport order = report.getEndpoint(Endpoint.ORDERS_NEW);
+        assertThat(menu.getRequestCount()).isEqualTo(menuRequestCount.get());
+        assertThat(order.getRequestCount()).isEqualTo(orderRequestCount.get());
+        // 키오스크 3대가 300ms 동안 10ms 이상 간격으로 보낸다.
+        assertThat(menu.getRequestCount() + order.getRequestCount()).isBetween(3L, 3L * 30);
+        assertThat(report.getMeasuredDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+    }
+
+    @DisplayName("서버가 멈춘 동안 밀린 요청은 보내려던 시각부터 잰 응답시간으로 기록한다.")
+    @Test
+    void correctCoordinatedOmission() throws InterruptedException {
+        // Given
+        stallAtMenuRequest = 10;
+        LoadProfile profile = createProfile(ArrivalModel.OPEN)
+                .kioskCount(1)
+                .requestsPerSecond(100)
+                .duration(Duration.ofSeconds(1))
+                .menuRatio(1)
+                .build();
+
+        // When
+        LoadReport report = new KioskLoadDriver(profile, HttpClient.newHttpClient()).run();
+
+        // Then
+        EndpointReport menu = report.getEndpoint(Endpoint.PRODUCTS_SELLING);
+        assertThat(menu.getRequestCount()).isEqualTo(100);
+        // 멈춘 요청 하나만 느렸던 것이 아니라, 뒤에 밀린 요청 30개도 같이 기다렸다.
+        assertThat(menu.getUncorrectedP99Micros()).isLessThan(100_000);
+        assertThat(menu.getP99Micros()).isGreaterThanOrEqualTo(200_000);
+        assertThat(menu.getMaxMicros()).isGreaterThanOrEqualTo(300_000);
+    }
+
+    @DisplayName("타임아웃된 요청은 연결 실패와 따로 세고, 타임아웃까지 기다린 시간을 응답시간으로 기록한다.")
+    @Test
+    void recordTimeout() throws InterruptedException {
+        // Given
+        stallAtMenuRequest = 10;
+        LoadProfile profile = createProfile(ArrivalModel.OPEN)
+                .kioskCount(1)
+                .requestsPerSecond(100)
+                .duration(Duration.ofSeconds(1))
+                .menuRatio(1)
+                .requestTimeout(Duration.ofMillis(100))
+                .build();
+
+        // When
+        LoadReport report = new KioskLoadDriver(profile, HttpClient.newHttpClient()).run();
+
+        // Then
+        EndpointReport menu = report.getEndpoint(Endpoint.PRODUCTS_SELLING);
+        assertThat(menu.getRequestCount()).isEqualTo(100);
+        assertThat(menu.getTimeoutCount()).isPositive();
+        assertThat(menu.getConnectionErrorCount()).isZero();
+        assertThat(menu.getSuccessCount() + menu.getTimeoutCount()).isEqualTo(menu.getRequestCount());
+        assertThat(menu.getMaxMicros()).isGreaterThanOrEqualTo(100_000);
+    }
+
+    private LoadProfile.LoadProfileBuilder createProfile(ArrivalModel arrivalModel) {
+        return LoadProfile.builder()
+                .baseUri(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .arrivalModel(arrivalModel)
+                .warmup(Duration.ZERO)
+                .menuRatio(0.5)
+                .productNumbers(List.of("001", "002", "003"));
+    }
+
+    private void handleMenu(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (menuRequestCount.incrementAndGet() == stallAtMenuRequest) {
+            sleep(300);
+        }
+        respond(exchange, 200, "{\"code\":200,\"data\":[]}");
+    }
+
+    private void handleOrder(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        orderRequestCount.incrementAndGet();
+        if (body.contains("\"003\"")) {
+            rejectedOrderCount.incrementAndGet();
+            respond(exchange, 400, "{\"code\":400}");
+            return;
+        }
+        respond(exchange, 200, "{\"code\":200}");
+    }
+
+    private void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package sample.cafekiosk.unit.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @DisplayName("백분위는 실제 값보다 작지 않고 3.2% 안쪽으로 돌려준다.")
+    @Test
+    void percentile() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        // Then
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(histogram.percentile(50)).isBetween(5_000L, 5_160L);
+        assertThat(histogram.percentile(99)).isBetween(9_900L, 10_000L);
+        assertThat(histogram.percentile(99.9)).isBetween(9_990L, 10_000L);
+        assertThat(histogram.getMax()).isEqualTo(10_000);
+    }
+
+    @DisplayName("응답이 기대 간격보다 늦으면 그동안 보내지 못한 요청을 기대 간격만큼씩 줄여서 같이 기록한다.")
+    @Test
+    void recordCorrected() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        histogram.recordCorrected(1_000, 100);
+
+        // Then
+        // 1000, 900, ..., 100
+        assertThat(histogram.getCount()).isEqualTo(10);
+        assertThat(histogram.percentile(50)).isBetween(500L, 516L);
+        assertThat(histogram.getMax()).isEqualTo(1_000);
+    }
+
+    @DisplayName("기대 간격이 0 이면 보정하지 않는다.")
+    @Test
+    void recordCorrectedWithoutInterval() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        histogram.recordCorrected(1_000, 0);
+
+        // Then
+        assertThat(histogram.getCount()).isEqualTo(1);
+    }
+}
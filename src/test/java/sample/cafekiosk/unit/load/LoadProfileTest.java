@@ -0,0 +1,35 @@
+package sample.cafekiosk.unit.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoadProfileTest {
+
+    @DisplayName("인자로 받은 값을 쓰고, 없는 값은 기본값을 쓴다.")
+    @Test
+    void parse() {
+        // When
+        LoadProfile profile = LoadProfile.parse(new String[]{"--kiosks=16", "--model=open", "--rate=300", "--products=001, 002,003"});
+
+        // Then
+        assertThat(profile)
+                .extracting("baseUri", "kioskCount", "arrivalModel", "requestsPerSecond", "duration", "menuRatio")
+                .containsExactly(URI.create("http://localhost:8080"), 16, ArrivalModel.OPEN, 300, Duration.ofSeconds(30), 0.5);
+        assertThat(profile.getProductNumbers()).containsExactly("001", "002", "003");
+        assertThat(profile.getRequestTimeout()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @DisplayName("모르는 옵션이 있으면 부하를 주지 않는다.")
+    @Test
+    void parseUnknownOption() {
+        // When // Then
+        assertThatThrownBy(() -> LoadProfile.parse(new String[]{"--kiosk=16", "--rps=300"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("알 수 없는 옵션입니다. options=[kiosk, rps]");
+    }
+}
@@ -0,0 +1,149 @@
+package sample.cafekiosk.unit.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.unit.beverage.Americano;
+import sample.cafekiosk.unit.beverage.Latte;
+import sample.cafekiosk.unit.order.Order;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class KioskSessionManagerTest {
+
+    private static final LocalDateTime ORDER_DATE_TIME = LocalDateTime.of(2023, 1, 17, 10, 0);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @DisplayName("단말기마다 장바구니가 따로 있고, 모든 단말기의 장바구니를 함께 볼 수 있다.")
+    @Test
+    void sessionsPerTerminal() {
+        // Given
+        KioskSessionManager manager = createManager(new KioskOrderQueue(10));
+        Americano americano = new Americano();
+        Latte latte = new Latte();
+
+        // When
+        manager.add("kiosk-1", americano, 2);
+        manager.add("kiosk-2", latte, 1);
+
+        // Then
+        assertThat(manager.getSessions())
+                .extracting("terminalId", "totalPrice")
+                .containsExactly(
+                        tuple("kiosk-1", 8000),
+                        tuple("kiosk-2", 4500)
+                );
+        assertThat(manager.calculateTotalPrice("kiosk-3")).isZero();
+        assertThat(manager.getSessionCount()).isEqualTo(2);
+    }
+
+    @DisplayName("주문하면 공용 대기열에 넣고 그 단말기의 장바구니를 비운다.")
+    @Test
+    void createOrder() throws InterruptedException {
+        // Given
+        KioskOrderQueue orderQueue = new KioskOrderQueue(10);
+        KioskSessionManager manager = createManager(orderQueue);
+        manager.add("kiosk-1", new Americano(), 2);
+
+        // When
+        Order order = manager.createOrder("kiosk-1", ORDER_DATE_TIME);
+
+        // Then
+        KioskOrder kioskOrder = orderQueue.poll(1, TimeUnit.SECONDS);
+        assertThat(kioskOrder.getTerminalId()).isEqualTo("kiosk-1");
+        assertThat(kioskOrder.getOrder()).isSameAs(order);
+        assertThat(order.calculateTotalPrice()).isEqualTo(8000);
+        assertThat(manager.calculateTotalPrice("kiosk-1")).isZero();
+    }
+
+    @DisplayName("주문 대기열이 가득 차면 주문을 거절하고 장바구니는 그대로 둔다.")
+    @Test
+    void createOrderWhenQueueIsFull() {
+        // Given
+        KioskSessionManager manager = createManager(new KioskOrderQueue(1));
+        manager.add("kiosk-1", new Americano(), 1);
+        manager.createOrder("kiosk-1", ORDER_DATE_TIME);
+        manager.add("kiosk-1", new Latte(), 1);
+
+        // When // Then
+        assertThatThrownBy(() -> manager.createOrder("kiosk-1", ORDER_DATE_TIME))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("주문 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        assertThat(manager.calculateTotalPrice("kiosk-1")).isEqualTo(4500);
+    }
+
+    @DisplayName("idle-timeout 동안 쓰지 않은 세션만 닫는다.")
+    @Test
+    void expireIdleSessions() {
+        // Given
+        KioskSessionManager manager = createManager(new KioskOrderQueue(10));
+        manager.add("kiosk-1", new Americano(), 1);
+        manager.add("kiosk-2", new Latte(), 1);
+
+        clock.addAndGet(40_000);
+        manager.add("kiosk-2", new Latte(), 1);
+
+        // When
+        clock.addAndGet(30_000);
+        manager.expireIdleSessions();
+
+        // Then
+        assertThat(manager.getSessions())
+                .extracting("terminalId", "totalPrice")
+                .containsExactly(tuple("kiosk-2", 9000));
+
+        clock.addAndGet(40_000);
+        manager.expireIdleSessions();
+        assertThat(manager.getSessionCount()).isZero();
+    }
+
+    @DisplayName("여러 스레드가 같은 단말기에 동시에 담아도 잔 수가 맞다.")
+    @Test
+    void addConcurrently() throws Exception {
+        // Given
+        KioskSessionManager manager = createManager(new KioskOrderQueue(10));
+        Americano americano = new Americano();
+        int threadCount = 8;
+        int addCountPerThread = 1000;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < addCountPerThread; j++) {
+                    manager.add("kiosk-1", americano, 1);
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        // Then
+        assertThat(manager.getSession("kiosk-1").getLines())
+                .extracting("quantity")
+                .containsExactly(threadCount * addCountPerThread);
+    }
+
+    private KioskSessionManager createManager(KioskOrderQueue orderQueue) {
+        return new KioskSessionManager(orderQueue, Duration.ofMinutes(1), Duration.ofSeconds(1), clock::get);
+    }
+}